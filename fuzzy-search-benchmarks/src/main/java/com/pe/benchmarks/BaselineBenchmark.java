@@ -0,0 +1,74 @@
+package com.pe.benchmarks;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import org.apache.commons.text.similarity.LevenshteinDistance;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Baseline of the fuzzy search by the commons-text {@link LevenshteinDistance} with the threshold,
+ * applied to every window of the pattern length in the text, compared with the same search by the {@link FuzzyPattern}.
+ * The baseline is quadratic, so the workloads are smaller than in the {@link SinglePatternBenchmark}.
+ * Default parameters are the quick subset, the full matrix is
+ * {@code -p alphabet=ASCII,LATIN,CJK -p patternLength=8,32 -p maxDistance=1,3 -p textSize=1K,64K}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class BaselineBenchmark {
+
+    @Param({"ASCII"})
+    public OcrNoiseCorpus.Alphabet alphabet;
+
+    @Param({"32"})
+    public int patternLength;
+
+    @Param({"1", "3"})
+    public int maxDistance;
+
+    @Param({"64K"})
+    public String textSize;
+
+    private String patternText;
+    private FuzzyPattern pattern;
+    private LevenshteinDistance levenshtein;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SinglePatternBenchmark.SEED, alphabet);
+        patternText = corpus.words(patternLength);
+        pattern = FuzzyPattern.compile(patternText, maxDistance);
+        levenshtein = new LevenshteinDistance(maxDistance);
+        text = corpus.text(OcrNoiseCorpus.parseSize(textSize), Collections.singletonList(patternText), 0.01, maxDistance);
+    }
+
+    @Benchmark
+    public int commonsTextLevenshtein() {
+        int count = 0;
+        for (int end = patternLength; end <= text.length(); ) {
+            // threshold variant returns -1 if the distance exceeds it
+            if (levenshtein.apply(patternText, text.subSequence(end - patternLength, end)) >= 0) {
+                count++;
+                end += patternLength;
+            } else {
+                end++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int fuzzyPattern() {
+        final FuzzyMatcher matcher = pattern.matcher(text);
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+}
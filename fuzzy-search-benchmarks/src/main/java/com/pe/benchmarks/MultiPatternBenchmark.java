@@ -0,0 +1,98 @@
+package com.pe.benchmarks;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyMatcherProvider;
+import com.pe.text.FuzzyPattern;
+import com.pe.text.FuzzyPatterns;
+import com.pe.text.PatternStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning of the synthetic OCR-ed text by the set of keywords combined into {@link FuzzyPatterns},
+ * compared with the scanning by every keyword one-by-one.
+ * Default parameters are the quick subset (2 combinations per benchmark), the full matrix is
+ * <pre>
+ * -p alphabet=ASCII,LATIN,CJK -p patternsCount=2,10,100,300 -p caseInsensitive=false,true
+ * -p density=0.01,0.1 -p textSize=1K,1M
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class MultiPatternBenchmark {
+
+    @Param({"ASCII"})
+    public OcrNoiseCorpus.Alphabet alphabet;
+
+    @Param({"10", "100"})
+    public int patternsCount;
+
+    @Param({"false"})
+    public boolean caseInsensitive;
+
+    /**
+     * fraction of the text covered by the distorted occurrences of the patterns
+     */
+    @Param({"0.01"})
+    public double density;
+
+    @Param({"1M"})
+    public String textSize;
+
+    private FuzzyPattern[] patterns;
+    private FuzzyPatterns combined;
+    private PatternStatistics statistics;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SinglePatternBenchmark.SEED, alphabet);
+        final Random random = new Random(SinglePatternBenchmark.SEED);
+        final List<String> keywords = new ArrayList<>(patternsCount);
+        patterns = new FuzzyPattern[patternsCount];
+        for (int i = 0; i < patternsCount; i++) {
+            // keywords and phrases of the forms, one OCR error per 6 characters is allowed
+            final String keyword = corpus.words(4 + random.nextInt(28));
+            keywords.add(keyword);
+            patterns[i] = FuzzyPattern.compile(keyword, keyword.length() / 6, caseInsensitive);
+        }
+        combined = FuzzyPatterns.combine(patterns[0], patterns[1],
+                Arrays.copyOfRange(patterns, 2, patterns.length, FuzzyMatcherProvider[].class));
+        statistics = new PatternStatistics(patternsCount);
+        text = corpus.text(OcrNoiseCorpus.parseSize(textSize), keywords, density, 1);
+    }
+
+    @Benchmark
+    public int findAllCombined() {
+        final FuzzyMatcher matcher = combined.matcher(text);
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int aggregateCombined() {
+        statistics.clear();
+        combined.aggregate(text, 0, text.length(), statistics);
+        return statistics.totalCount();
+    }
+
+    @Benchmark
+    public int findAllOneByOne() {
+        int count = 0;
+        for (FuzzyPattern pattern : patterns) {
+            final FuzzyMatcher matcher = pattern.matcher(text);
+            while (matcher.find()) count++;
+        }
+        return count;
+    }
+}
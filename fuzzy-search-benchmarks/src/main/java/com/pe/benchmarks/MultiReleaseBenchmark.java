@@ -0,0 +1,145 @@
+package com.pe.benchmarks;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import com.pe.text.TracebackStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Java 8 classes of the library compared with the versioned classes of the multi-release jar on the same JVM:
+ * forks of the {@code java8Classes*} benchmarks disable the multi-release jars
+ * by {@code -Djdk.util.jar.enableMultiRelease=false}.
+ * <ul>
+ *     <li>{@code *LongPattern} - {@code BitVector} of the patterns longer than 64 characters
+ *     on the Vector API (JDK 17+, the module is added to the forks of the versioned classes)</li>
+ *     <li>{@code *VirtualThreads} - {@code contains} of the keywords on the new virtual thread per call (JDK 21+),
+ *     which don't keep the thread-local state buffers</li>
+ * </ul>
+ * Default parameters are the quick subset, the full matrix is
+ * {@code -p alphabet=ASCII,CJK -p patternLength=256,1024,4096 -p tracebackStrategy=HISTORY,CHECKPOINTS
+ * -p keywordLength=8,32,128}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@State(Scope.Benchmark)
+public class MultiReleaseBenchmark {
+
+    private static final int VIRTUAL_THREAD_CALLS = 1_000;
+
+    @Param({"ASCII"})
+    public OcrNoiseCorpus.Alphabet alphabet;
+
+    @Param({"4096"})
+    public int patternLength;
+
+    @Param({"HISTORY", "CHECKPOINTS"})
+    public TracebackStrategy tracebackStrategy;
+
+    @Param({"64K"})
+    public String textSize;
+
+    private FuzzyPattern pattern;
+    private String text;
+
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SinglePatternBenchmark.SEED, alphabet);
+        final String patternText = corpus.words(patternLength);
+        final int k = patternLength / 64;
+        pattern = FuzzyPattern.compile(patternText, k, false, tracebackStrategy);
+        text = corpus.text(OcrNoiseCorpus.parseSize(textSize), Collections.singletonList(patternText), 0.01, k);
+    }
+
+    /**
+     * Calls JDK 21+ API, the benchmarks are built for Java 8
+     */
+    private static ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    private int findAll() {
+        final FuzzyMatcher matcher = pattern.matcher(text);
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    /**
+     * Short keywords searched in the short texts (e.g. the fields of the requests),
+     * so the state buffers of the {@code contains} take the noticeable part of the call
+     */
+    @State(Scope.Benchmark)
+    public static class Calls {
+
+        @Param({"32"})
+        public int keywordLength;
+
+        private FuzzyPattern keyword;
+        private String[] texts;
+        private ExecutorService virtualThreads;
+
+        @Setup
+        public void setUp() throws ReflectiveOperationException {
+            final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SinglePatternBenchmark.SEED, OcrNoiseCorpus.Alphabet.ASCII);
+            final String keywordText = corpus.words(keywordLength);
+            keyword = FuzzyPattern.compile(keywordText, 1 + keywordLength / 16);
+            texts = new String[VIRTUAL_THREAD_CALLS];
+            for (int i = 0; i < texts.length; i++)
+                texts[i] = corpus.text(keywordLength * 4, Collections.singletonList(keywordText), 0.25, 1);
+            virtualThreads = newVirtualThreadPerTaskExecutor();
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (virtualThreads != null) virtualThreads.shutdown();
+        }
+
+        int containsOnVirtualThreads() throws Exception {
+            if (virtualThreads == null) throw new IllegalStateException("virtual threads require JDK 21+");
+            final Future<?>[] calls = new Future<?>[texts.length];
+            for (int i = 0; i < calls.length; i++) {
+                final String text = texts[i];
+                calls[i] = virtualThreads.submit(() -> keyword.contains(text));
+            }
+            int count = 0;
+            for (Future<?> call : calls) if ((Boolean) call.get()) count++;
+            return count;
+        }
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Djdk.util.jar.enableMultiRelease=false"})
+    public int java8ClassesLongPattern() {
+        return findAll();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "--add-modules", "jdk.incubator.vector"})
+    public int versionedClassesLongPattern() {
+        return findAll();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g", "-Djdk.util.jar.enableMultiRelease=false"})
+    public int java8ClassesVirtualThreads(Calls calls) throws Exception {
+        return calls.containsOnVirtualThreads();
+    }
+
+    @Benchmark
+    @Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+    public int versionedClassesVirtualThreads(Calls calls) throws Exception {
+        return calls.containsOnVirtualThreads();
+    }
+}
@@ -0,0 +1,149 @@
+package com.pe.benchmarks;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeded generator of the synthetic OCR-ed texts: words of the chosen alphabet with occurrences of the patterns
+ * distorted the way OCR engines do it (confused glyphs, lost and doubled characters).
+ * The same seed and arguments always produce the same text, so results of the benchmarks are comparable between releases.
+ */
+public final class OcrNoiseCorpus {
+
+    /**
+     * Alphabets of the generated texts
+     */
+    public enum Alphabet {
+        /**
+         * Printable ASCII letters, digits and punctuation
+         */
+        ASCII("abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789.,;:-()", " "),
+        /**
+         * Latin-1 and Latin Extended-A letters, i.e. European languages with diacritics
+         */
+        LATIN("abcdefghijklmnopqrstuvwxyzàáâäçèéêëìíîïñòóôöùúûüýÿąćęłńśźżčďěňřšťůž", " "),
+        /**
+         * The most frequent CJK Unified Ideographs, the text has no spaces between the words
+         */
+        CJK("的一是不了人我在有他这中大来上国个到说们为子和你地出道也时年得就那要下以生会自着去之过家学对可", "");
+
+        final String letters;
+        final String separator;
+
+        Alphabet(String letters, String separator) {
+            this.letters = letters;
+            this.separator = separator;
+        }
+    }
+
+    /**
+     * Groups of glyphs which OCR engines confuse with each other
+     */
+    private static final String[] CONFUSABLES = {"Il1|!i", "O0oQD", "S5$s", "B8", "Z2z", "G6", "cée", "uùüv", "aàáä", "nñ", "rt", ",.;:"};
+
+    private final Alphabet alphabet;
+    private final Random random;
+
+    /**
+     * Creates generator of the texts.
+     *
+     * @param seed     seed of the pseudo-random sequence
+     * @param alphabet alphabet of the words
+     */
+    public OcrNoiseCorpus(long seed, Alphabet alphabet) {
+        this.alphabet = alphabet;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates clean words of the alphabet with the specified total length.
+     *
+     * @param length length of the text
+     * @return generated text
+     */
+    public String words(int length) {
+        final StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            if (sb.length() > 0) sb.append(alphabet.separator);
+            for (int i = 2 + random.nextInt(9); i > 0 && sb.length() < length; i--)
+                sb.append(alphabet.letters.charAt(random.nextInt(alphabet.letters.length())));
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    /**
+     * Applies the specified amount of OCR errors to the text: glyph confusions, lost characters and doubled ones.
+     * Every error is one edit operation, so the Levenshtein distance between the text and the result
+     * is at most the amount of errors.
+     *
+     * @param text   text to distort
+     * @param errors amount of errors
+     * @return distorted text
+     */
+    public String distort(CharSequence text, int errors) {
+        final StringBuilder sb = new StringBuilder(text);
+        for (int i = 0; i < errors && sb.length() > 1; i++) {
+            final int position = random.nextInt(sb.length());
+            final int kind = random.nextInt(4);
+            if (kind == 0) {
+                sb.deleteCharAt(position);
+            } else if (kind == 1) {
+                sb.insert(position, sb.charAt(position));
+            } else {
+                sb.setCharAt(position, confuse(sb.charAt(position)));
+            }
+        }
+        return sb.toString();
+    }
+
+    private char confuse(char c) {
+        for (String group : CONFUSABLES) {
+            if (group.indexOf(c) >= 0) {
+                final char result = group.charAt(random.nextInt(group.length()));
+                if (result != c) return result;
+            }
+        }
+        return alphabet.letters.charAt(random.nextInt(alphabet.letters.length()));
+    }
+
+    /**
+     * Generates text of the specified length with occurrences of the patterns distorted by up to {@code maxErrors}
+     * OCR errors each, separated by the random words.
+     *
+     * @param length    length of the text
+     * @param patterns  patterns to put into the text
+     * @param density   fraction of the text covered by the occurrences of the patterns, from 0 to 1
+     * @param maxErrors maximal amount of the OCR errors in every occurrence
+     * @return generated text
+     */
+    public String text(int length, List<String> patterns, double density, int maxErrors) {
+        final StringBuilder sb = new StringBuilder(length);
+        int covered = 0;
+        while (sb.length() < length) {
+            if (!patterns.isEmpty() && covered < density * sb.length()) {
+                final String occurrence = distort(patterns.get(random.nextInt(patterns.size())), random.nextInt(maxErrors + 1));
+                sb.append(occurrence);
+                covered += occurrence.length();
+            } else {
+                sb.append(words(16 + random.nextInt(256)));
+            }
+            sb.append(alphabet.separator.isEmpty() ? "。" : alphabet.separator);
+        }
+        sb.setLength(length);
+        return sb.toString();
+    }
+
+    /**
+     * Parses the size with optional binary suffix, e.g. {@code 100}, {@code 1K} or {@code 100M}
+     *
+     * @param size text of the size
+     * @return amount of characters
+     */
+    public static int parseSize(String size) {
+        final char suffix = Character.toUpperCase(size.charAt(size.length() - 1));
+        if (suffix == 'K') return Integer.parseInt(size.substring(0, size.length() - 1)) << 10;
+        if (suffix == 'M') return Integer.parseInt(size.substring(0, size.length() - 1)) << 20;
+        return Integer.parseInt(size);
+    }
+}
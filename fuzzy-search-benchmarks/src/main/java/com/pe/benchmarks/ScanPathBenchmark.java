@@ -0,0 +1,152 @@
+package com.pe.benchmarks;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.CharBuffer;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scan of the same text passed as different {@code CharSequence} classes.
+ * If {@code polluted} is true, the setup scans texts of all classes before the measurement, as a service does
+ * which gets texts as {@code String}, {@code StringBuilder} and custom sequences, so the {@code CharSequence.charAt}
+ * call site of the scan loop sees more than two classes and is not inlined by the JIT (it is megamorphic).
+ * <ul>
+ *     <li>{@code STRING}, {@code STRING_BUILDER} and {@code CHAR_ARRAY} ({@code pattern.matcher(char[], from, to)})
+ *     have their own loops of the matcher selected on its reset, so they are not affected by the pollution</li>
+ *     <li>{@code CUSTOM} goes through the generic {@code CharSequence.charAt}, so its polluted runs show
+ *     the megamorphic penalty</li>
+ *     <li>{@link #contains()} scans arrays in place and copies other texts by blocks into the array
+ *     ({@code getChars} of {@code String} and {@code StringBuilder}, {@code charAt} of the custom class),
+ *     so the loop of the pattern reads the array only</li>
+ * </ul>
+ * Pattern of 256 characters (the {@code BitVector} engine) can be added by {@code -p patternLength=16,256}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class ScanPathBenchmark {
+
+    /**
+     * amount of scans of every text class by the polluting setup, enough for the C2 compilation of the scan loop
+     */
+    private static final int POLLUTING_SCANS = 200;
+
+    public enum TextType {
+        STRING, CHAR_ARRAY, STRING_BUILDER, CUSTOM
+    }
+
+    @Param({"STRING", "CHAR_ARRAY", "STRING_BUILDER", "CUSTOM"})
+    public TextType textType;
+
+    @Param({"false", "true"})
+    public boolean polluted;
+
+    @Param({"16"})
+    public int patternLength;
+
+    @Param({"1M"})
+    public String textSize;
+
+    private FuzzyPattern pattern;
+    /**
+     * pattern of the same length, which is not in the text
+     */
+    private FuzzyPattern absent;
+    private String text;
+    private char[] chars;
+    private CharSequence sequence;
+
+    @Setup
+    public void setUp() {
+        final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SinglePatternBenchmark.SEED, OcrNoiseCorpus.Alphabet.ASCII);
+        final String patternText = corpus.words(patternLength);
+        final int k = 1 + patternLength / 16;
+        pattern = FuzzyPattern.compile(patternText, k);
+        absent = FuzzyPattern.compile(new String(new char[patternLength]).replace('\0', '#'), k);
+        text = corpus.text(OcrNoiseCorpus.parseSize(textSize), Collections.singletonList(patternText), 0.01, k);
+        chars = text.toCharArray();
+        sequence = textType == TextType.CUSTOM ? new CustomText(text) : new StringBuilder(text);
+        if (polluted) {
+            final String sample = text.substring(0, Math.min(text.length(), 16 * 1024));
+            // the read-only buffer over the String is the third class of the generic path
+            final CharSequence[] samples = {sample, new StringBuilder(sample), new CustomText(sample), CharBuffer.wrap(sample)};
+            for (int i = 0; i < POLLUTING_SCANS; i++) {
+                for (CharSequence s : samples) {
+                    findAll(pattern.matcher(s));
+                    absent.contains(s);
+                }
+                findAll(pattern.matcher(sample.toCharArray(), 0, sample.length()));
+            }
+        }
+    }
+
+    private static int findAll(FuzzyMatcher matcher) {
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int findAll() {
+        switch (textType) {
+            case STRING:
+                return findAll(pattern.matcher(text));
+            case CHAR_ARRAY:
+                return findAll(pattern.matcher(chars, 0, chars.length));
+            default:
+                return findAll(pattern.matcher(sequence));
+        }
+    }
+
+    /**
+     * Checks the text without the pattern, so the whole text is scanned
+     */
+    @Benchmark
+    public boolean contains() {
+        switch (textType) {
+            case STRING:
+                return absent.contains(text);
+            case CHAR_ARRAY:
+                return absent.contains(CharBuffer.wrap(chars));
+            default:
+                return absent.contains(sequence);
+        }
+    }
+
+    /**
+     * Text of the application-specific class, e.g. a rope or a view of the document
+     */
+    static final class CustomText implements CharSequence {
+        private final String text;
+
+        CustomText(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+}
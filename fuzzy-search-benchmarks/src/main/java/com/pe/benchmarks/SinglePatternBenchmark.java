@@ -0,0 +1,83 @@
+package com.pe.benchmarks;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import com.pe.text.FuzzyResult;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scanning of the synthetic OCR-ed text by the single pattern.
+ * Default parameters are the quick subset (4 combinations per benchmark), the full matrix takes hours:
+ * <pre>
+ * -p alphabet=ASCII,LATIN,CJK -p patternLength=4,16,64,256,4096 -p maxDistance=1,3,8
+ * -p caseInsensitive=false,true -p density=0,0.01,0.1 -p textSize=1K,1M
+ * </pre>
+ * Larger texts can be requested from the command line, e.g. {@code -p textSize=100M}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@State(Scope.Benchmark)
+public class SinglePatternBenchmark {
+
+    static final long SEED = 20240601L;
+
+    @Param({"ASCII"})
+    public OcrNoiseCorpus.Alphabet alphabet;
+
+    @Param({"16", "256"})
+    public int patternLength;
+
+    /**
+     * maximal Levenshtein distance, limited by the pattern length minus one
+     */
+    @Param({"1", "3"})
+    public int maxDistance;
+
+    @Param({"false"})
+    public boolean caseInsensitive;
+
+    /**
+     * fraction of the text covered by the distorted occurrences of the pattern
+     */
+    @Param({"0.01"})
+    public double density;
+
+    @Param({"1M"})
+    public String textSize;
+
+    private FuzzyPattern pattern;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        final OcrNoiseCorpus corpus = new OcrNoiseCorpus(SEED, alphabet);
+        final String patternText = corpus.words(patternLength);
+        final int k = Math.min(maxDistance, patternLength - 1);
+        pattern = FuzzyPattern.compile(patternText, k, caseInsensitive);
+        text = corpus.text(OcrNoiseCorpus.parseSize(textSize), Collections.singletonList(patternText), density, k);
+    }
+
+    @Benchmark
+    public int findAll() {
+        final FuzzyMatcher matcher = pattern.matcher(text);
+        int count = 0;
+        while (matcher.find()) count++;
+        return count;
+    }
+
+    @Benchmark
+    public int findTheBest() {
+        return pattern.matcher(text).findTheBest().map(FuzzyResult::distance).orElse(-1);
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return pattern.contains(text);
+    }
+}
@@ -23,4 +23,13 @@ public final class Char2IntMap {
         final int index = hash.indexOf(key);
         return index < 0 ? defaultValue : values[index];
     }
+
+    /**
+     * Returns name of the {@link FixedCharTable} implementation chosen for the keys, e.g. for diagnostics
+     *
+     * @return simple class name of the hash table strategy
+     */
+    public String tableStrategy() {
+        return hash.getClass().getSimpleName();
+    }
 }
@@ -32,4 +32,13 @@ public final class Char2ObjMap<T> {
             values[index] = producer.apply(key);
         return values[index];
     }
+
+    /**
+     * Returns name of the {@link FixedCharTable} implementation chosen for the keys, e.g. for diagnostics
+     *
+     * @return simple class name of the hash table strategy
+     */
+    public String tableStrategy() {
+        return hash.getClass().getSimpleName();
+    }
 }
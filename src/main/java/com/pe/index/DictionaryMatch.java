@@ -0,0 +1,58 @@
+package com.pe.index;
+
+import java.util.Comparator;
+
+/**
+ * Dictionary entry found by the fuzzy lookup together with its Levenshtein distance to the query.
+ */
+public final class DictionaryMatch {
+
+    /**
+     * Orders matches from the closest to the farthest, ties are kept in the order they are found
+     */
+    static final Comparator<DictionaryMatch> CLOSEST_FIRST = Comparator.comparingInt(DictionaryMatch::distance);
+
+    private final CharSequence entry;
+    private final int distance;
+
+    DictionaryMatch(CharSequence entry, int distance) {
+        this.entry = entry;
+        this.distance = distance;
+    }
+
+    /**
+     * Returns the found dictionary entry.
+     *
+     * @return the found dictionary entry
+     */
+    public CharSequence entry() {
+        return entry;
+    }
+
+    /**
+     * Returns Levenshtein distance between the query and the found entry.
+     *
+     * @return the Levenshtein distance between the query and the found entry
+     */
+    public int distance() {
+        return distance;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DictionaryMatch)) return false;
+        final DictionaryMatch that = (DictionaryMatch) o;
+        return distance == that.distance && entry.toString().contentEquals(that.entry);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * entry.toString().hashCode() + distance;
+    }
+
+    @Override
+    public String toString() {
+        return "DictionaryMatch{entry=\"" + entry + "\", distance=" + distance + '}';
+    }
+}
@@ -0,0 +1,249 @@
+package com.pe.index;
+
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Immutable dictionary index which finds all entries within the specified Levenshtein distance of a query,
+ * e.g. to look up an OCR'd token in a vocabulary:
+ * <pre>{@code
+ *     FuzzyDictionary dictionary = FuzzyDictionary.build(vocabulary.stream(), 2);
+ *     for (DictionaryMatch match : dictionary.lookup("recieve"))
+ *         System.out.println(match.entry() + " " + match.distance());
+ * }</pre>
+ * The index is a BK-tree (Burkhard-Keller tree) over the Levenshtein distance capped at {@code 2 * maxDistance + 1},
+ * which is still a metric, so the triangle inequality prunes subtrees which can not contain entries close to the query.
+ * Distances are computed by the anchored matching ({@link FuzzyMatcher#matches()}) of the compiled bitap patterns,
+ * so every visited entry costs a single pass over its characters.
+ * <p>
+ * The tree is built in bulk: every node is compiled once as a pattern to split all the entries of its subtree by
+ * the distance to it, and nodes are laid out in the breadth-first order, so children of a node are stored next to
+ * each other in the flat arrays sorted by their distance to the parent.
+ * <p>
+ * Empty entries are ignored and duplicated entries are stored only once.
+ * Instances of this class are immutable and can be queried by multiple concurrent threads without any locking.
+ */
+public final class FuzzyDictionary {
+
+    /**
+     * Maximal supported distance of the lookup, limited by the width of the bitap engine words
+     * used to compute the capped metric.
+     */
+    public static final int MAX_DISTANCE = 15;
+
+    private final int maxDistance;
+    private final boolean caseInsensitive;
+    /**
+     * Distance cap of the metric, distances above it are considered equal to it
+     */
+    private final int cap;
+    /**
+     * Entries of the tree nodes in the breadth-first order, node 0 is the root
+     */
+    private final CharSequence[] entries;
+    /**
+     * Capped distance of the node to its parent
+     */
+    private final int[] parentDistances;
+    /**
+     * Children of the node {@code i} are nodes in range {@code [firstChild[i], firstChild[i + 1])}
+     */
+    private final int[] firstChild;
+
+    private FuzzyDictionary(int maxDistance, boolean caseInsensitive,
+                            CharSequence[] entries, int[] parentDistances, int[] firstChild) {
+        this.maxDistance = maxDistance;
+        this.caseInsensitive = caseInsensitive;
+        this.cap = cap(maxDistance);
+        this.entries = entries;
+        this.parentDistances = parentDistances;
+        this.firstChild = firstChild;
+    }
+
+    private static int cap(int maxDistance) {
+        return 2 * maxDistance + 1;
+    }
+
+    /**
+     * Builds case-sensitive dictionary index from the specified entries.
+     *
+     * @param entries     entries of the dictionary
+     * @param maxDistance maximal Levenshtein distance supported by the lookup of this index
+     * @return built dictionary index
+     * @throws IllegalArgumentException if maxDistance is negative or greater than {@link #MAX_DISTANCE}
+     */
+    public static FuzzyDictionary build(Stream<? extends CharSequence> entries, int maxDistance) {
+        return build(entries, maxDistance, false);
+    }
+
+    /**
+     * Builds dictionary index from the specified entries.
+     *
+     * @param entries         entries of the dictionary
+     * @param maxDistance     maximal Levenshtein distance supported by the lookup of this index
+     * @param caseInsensitive if {@code true} - characters are compared ignoring their case
+     * @return built dictionary index
+     * @throws IllegalArgumentException if maxDistance is negative or greater than {@link #MAX_DISTANCE}
+     */
+    public static FuzzyDictionary build(Stream<? extends CharSequence> entries, int maxDistance, boolean caseInsensitive) {
+        if (maxDistance < 0 || maxDistance > MAX_DISTANCE)
+            throw new IllegalArgumentException("maxDistance must be in range [0, " + MAX_DISTANCE + "], but was " + maxDistance);
+        final CharSequence[] source = entries.filter(entry -> entry.length() > 0).toArray(CharSequence[]::new);
+        final int n = source.length;
+        final int cap = cap(maxDistance);
+        final CharSequence[] nodes = new CharSequence[n];
+        final int[] parentDistances = new int[n];
+        final int[] firstChild = new int[n + 1];
+        if (n == 0)
+            return new FuzzyDictionary(maxDistance, caseInsensitive, nodes, parentDistances, firstChild);
+
+        // items[lo, hi) of every group are entries of the subtree, where items[lo] is the root of the subtree
+        final int[] items = new int[n];
+        for (int i = 0; i < n; i++) items[i] = i;
+        final int[] distances = new int[n];
+        final int[] sorted = new int[n];
+        final int[] counts = new int[cap + 2];
+        // groups are processed in FIFO order, so the node id is the order of the group
+        final int[] groupLo = new int[n];
+        final int[] groupHi = new int[n];
+        groupHi[0] = n;
+        int groups = 1;
+        for (int node = 0; node < groups; node++) {
+            final int lo = groupLo[node];
+            final int hi = groupHi[node];
+            final CharSequence pivot = source[items[lo]];
+            nodes[node] = pivot;
+            firstChild[node] = groups;
+            if (hi - lo == 1) continue;
+
+            final FuzzyMatcher matcher = FuzzyPattern.compile(pivot, cap - 1, caseInsensitive).matcher("");
+            Arrays.fill(counts, 0);
+            for (int i = lo + 1; i < hi; i++) {
+                matcher.reset(source[items[i]]);
+                final int distance = distances[i] = matcher.matches() ? matcher.distance() : cap;
+                counts[distance + 1]++;
+            }
+            // counting sort of the subtree entries by the distance, duplicates (distance 0) are dropped
+            final int duplicates = counts[1];
+            for (int d = 1; d <= cap; d++) counts[d + 1] += counts[d];
+            for (int i = lo + 1; i < hi; i++) {
+                if (distances[i] > 0) sorted[lo + 1 + counts[distances[i]]++ - duplicates] = items[i];
+            }
+            int start = lo + 1;
+            for (int d = 1; d <= cap; d++) {
+                // counts[d] is moved to the end of the entries with distance d
+                final int end = lo + 1 + counts[d] - duplicates;
+                if (end > start) {
+                    System.arraycopy(sorted, start, items, start, end - start);
+                    groupLo[groups] = start;
+                    groupHi[groups] = end;
+                    parentDistances[groups] = d;
+                    groups++;
+                }
+                start = end;
+            }
+        }
+        firstChild[groups] = groups;
+        return new FuzzyDictionary(maxDistance, caseInsensitive,
+                Arrays.copyOf(nodes, groups), Arrays.copyOf(parentDistances, groups), Arrays.copyOf(firstChild, groups + 1));
+    }
+
+    /**
+     * Returns amount of the distinct entries in this dictionary.
+     *
+     * @return amount of the distinct entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Returns maximal Levenshtein distance supported by the lookup of this index.
+     *
+     * @return the maximal Levenshtein distance
+     */
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Indicates case sensitivity of this dictionary
+     *
+     * @return {@code false} if the dictionary is case-sensitive, otherwise - {@code true}
+     */
+    public boolean caseInsensitive() {
+        return caseInsensitive;
+    }
+
+    /**
+     * Finds all entries within the {@link #maxDistance()} of the specified query.
+     *
+     * @param query text to look up
+     * @return found entries ordered by the distance to the query
+     * @throws IllegalArgumentException if the query is null or empty
+     */
+    public List<DictionaryMatch> lookup(CharSequence query) {
+        return lookup(query, maxDistance);
+    }
+
+    /**
+     * Finds all entries within the specified Levenshtein distance of the specified query.
+     *
+     * @param query       text to look up
+     * @param maxDistance maximal Levenshtein distance of the found entries,
+     *                    it can not be greater than the {@link #maxDistance()} of this index
+     * @return found entries ordered by the distance to the query
+     * @throws IllegalArgumentException if the query is null or empty, or the maxDistance is out of the supported range
+     */
+    public List<DictionaryMatch> lookup(CharSequence query, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > this.maxDistance)
+            throw new IllegalArgumentException("maxDistance must be in range [0, " + this.maxDistance + "], but was " + maxDistance);
+        final FuzzyMatcher matcher = FuzzyPattern.compile(query, cap - 1, caseInsensitive).matcher("");
+        if (entries.length == 0) return Collections.emptyList();
+        final List<DictionaryMatch> result = new ArrayList<>();
+        int[] stack = new int[16];
+        int size = 1;
+        while (size > 0) {
+            final int node = stack[--size];
+            final CharSequence entry = entries[node];
+            matcher.reset(entry);
+            final int distance = matcher.matches() ? matcher.distance() : cap;
+            if (distance <= maxDistance) result.add(new DictionaryMatch(entry, distance));
+            // children ordered by the distance to the node, only [distance - maxDistance, distance + maxDistance] can match
+            final int end = firstChild[node + 1];
+            for (int child = lowerBound(firstChild[node], end, distance - maxDistance);
+                 child < end && parentDistances[child] <= distance + maxDistance; child++) {
+                if (size == stack.length) stack = Arrays.copyOf(stack, size << 1);
+                stack[size++] = child;
+            }
+        }
+        result.sort(DictionaryMatch.CLOSEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Finds the first child in the range with distance to the parent not less than the specified one
+     */
+    private int lowerBound(int from, int to, int distance) {
+        while (from < to) {
+            final int middle = (from + to) >>> 1;
+            if (parentDistances[middle] < distance) from = middle + 1;
+            else to = middle;
+        }
+        return from;
+    }
+
+    @Override
+    public String toString() {
+        return "FuzzyDictionary{size=" + entries.length +
+                ", maxDistance=" + maxDistance +
+                ", caseInsensitive=" + caseInsensitive +
+                '}';
+    }
+}
@@ -0,0 +1,309 @@
+package com.pe.index;
+
+import com.pe.hash.Char2IntMap;
+import com.pe.text.FuzzyPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic Levenshtein automaton of the {@link FuzzyPattern}: it accepts terms within the
+ * {@link FuzzyPattern#maxLevenshteinDistance()} of the pattern text, taking {@link FuzzyPattern#caseInsensitive()} into account.
+ * <p>
+ * States of the automaton are the rows of the anchored bitap (bit {@code j} of the row {@code d} is set if the pattern
+ * prefix of length {@code j} is within distance {@code d} of the consumed characters), enumerated once by the
+ * breadth-first search. Characters are mapped to the classes (distinct pattern characters and all other characters),
+ * so transitions are stored in a single compact table {@code [state * classes + class]}.
+ * The state {@link #DEAD} can not lead to any accepted term, which allows to skip all terms sharing such prefix:
+ * <pre>{@code
+ *     LevenshteinAutomaton automaton = LevenshteinAutomaton.compile(FuzzyPattern.compile("normalization", 2));
+ *     List<DictionaryMatch> candidates = automaton.intersect(sortedTerms);
+ * }</pre>
+ * For other term structures (e.g. tries) use {@link #initialState()}, {@link #step(int, char)}, {@link #isDead(int)}
+ * and {@link #distance(int)} directly, descending only into children with not dead states.
+ * <p>
+ * Instances of this class are immutable and thread-safe.
+ */
+public final class LevenshteinAutomaton {
+
+    /**
+     * State which doesn't lead to any accepted term, all its transitions lead to itself
+     */
+    public static final int DEAD = 0;
+
+    /**
+     * Maximal supported amount of states, so every transition fits into a {@code char}
+     */
+    public static final int MAX_STATES = 1 << 16;
+
+    private final FuzzyPattern pattern;
+    /**
+     * class of every pattern character, other characters have class 0
+     */
+    private final Char2IntMap classes;
+    private final int classesCount;
+    /**
+     * next state of the state and the character class at {@code [state * classesCount + class]}
+     */
+    private final char[] transitions;
+    /**
+     * Levenshtein distance of the accepting state, or -1 for the not accepting one
+     */
+    private final byte[] distances;
+
+    private LevenshteinAutomaton(FuzzyPattern pattern, Char2IntMap classes, int classesCount,
+                                 char[] transitions, byte[] distances) {
+        this.pattern = pattern;
+        this.classes = classes;
+        this.classesCount = classesCount;
+        this.transitions = transitions;
+        this.distances = distances;
+    }
+
+    /**
+     * Builds deterministic automaton which accepts terms within the maximal Levenshtein distance of the pattern.
+     *
+     * @param pattern pattern to compile
+     * @return built automaton
+     * @throws IllegalArgumentException if the pattern is longer than 63 characters,
+     *                                  or the automaton exceeds {@link #MAX_STATES} states
+     */
+    public static LevenshteinAutomaton compile(FuzzyPattern pattern) {
+        final CharSequence text = pattern.text();
+        final int m = text.length();
+        if (m > 63)
+            throw new IllegalArgumentException("Pattern length exceeded allowed maximum in 63 characters");
+        final int k = pattern.maxLevenshteinDistance();
+        final boolean caseInsensitive = pattern.caseInsensitive();
+
+        // character classes and their masks of the matched pattern prefixes (bit j + 1 for the pattern character j)
+        final String keys = caseInsensitive ? text.toString().toLowerCase() + text.toString().toUpperCase() : text.toString();
+        final Char2IntMap classes = new Char2IntMap(keys, 0);
+        final List<Long> masks = new ArrayList<>();
+        masks.add(0L);
+        for (int j = 0; j < m; j++) {
+            final char c = caseInsensitive ? Character.toLowerCase(text.charAt(j)) : text.charAt(j);
+            int cls = classes.get(c);
+            if (cls == 0) {
+                cls = masks.size();
+                masks.add(0L);
+                classes.put(c, cls);
+                if (caseInsensitive) classes.put(Character.toUpperCase(c), cls);
+            }
+            masks.set(cls, masks.get(cls) | (1L << (j + 1)));
+        }
+        final int classesCount = masks.size();
+        final long all = m == 63 ? -1L : (1L << (m + 1)) - 1;
+        final long acceptBit = 1L << m;
+
+        final Map<State, Integer> ids = new HashMap<>();
+        final List<long[]> states = new ArrayList<>();
+        states.add(new long[k + 1]);
+        ids.put(new State(states.get(DEAD)), DEAD);
+        final long[] initial = new long[k + 1];
+        for (int d = 0; d <= k; d++) initial[d] = d >= m ? all : (1L << (d + 1)) - 1;
+        states.add(initial);
+        ids.put(new State(initial), 1);
+
+        char[] transitions = new char[16 * classesCount];
+        for (int state = 0; state < states.size(); state++) {
+            final long[] rows = states.get(state);
+            if (transitions.length < (state + 1) * classesCount)
+                transitions = Arrays.copyOf(transitions, Math.max(transitions.length << 1, (state + 1) * classesCount));
+            for (int cls = 0; cls < classesCount; cls++) {
+                final long match = masks.get(cls);
+                final long[] next = new long[k + 1];
+                next[0] = (rows[0] << 1) & match & all;
+                for (int d = 1; d <= k; d++) {
+                    next[d] = ((rows[d] << 1) & match // matching
+                            | rows[d - 1] // deletion of the term character
+                            | rows[d - 1] << 1 // replacement
+                            | next[d - 1] << 1 // insertion of the pattern character
+                    ) & all;
+                }
+                final State key = new State(next[k] == 0 ? states.get(DEAD) : next);
+                Integer id = ids.get(key);
+                if (id == null) {
+                    id = states.size();
+                    if (id >= MAX_STATES)
+                        throw new IllegalArgumentException("Levenshtein automaton exceeded " + MAX_STATES + " states");
+                    states.add(key.rows);
+                    ids.put(key, id);
+                }
+                transitions[state * classesCount + cls] = (char) (int) id;
+            }
+        }
+
+        final byte[] distances = new byte[states.size()];
+        for (int state = 0; state < states.size(); state++) {
+            final long[] rows = states.get(state);
+            int distance = -1;
+            for (int d = 0; d <= k && distance < 0; d++) if ((rows[d] & acceptBit) != 0) distance = d;
+            distances[state] = (byte) distance;
+        }
+        return new LevenshteinAutomaton(pattern, classes, classesCount,
+                Arrays.copyOf(transitions, states.size() * classesCount), distances);
+    }
+
+    /**
+     * Returns the compiled pattern.
+     *
+     * @return the compiled pattern
+     */
+    public FuzzyPattern pattern() {
+        return pattern;
+    }
+
+    /**
+     * Returns amount of states of this automaton including the {@link #DEAD} one.
+     *
+     * @return amount of states
+     */
+    public int statesCount() {
+        return distances.length;
+    }
+
+    /**
+     * Returns state of the automaton before consuming any character.
+     *
+     * @return the initial state
+     */
+    public int initialState() {
+        return 1;
+    }
+
+    /**
+     * Returns the next state of the automaton after consuming the specified character.
+     *
+     * @param state current state
+     * @param c     consumed character
+     * @return the next state
+     */
+    public int step(int state, char c) {
+        return transitions[state * classesCount + classes.get(c)];
+    }
+
+    /**
+     * Checks whether the state can not lead to any accepted term.
+     *
+     * @param state state to check
+     * @return {@code true} if no term with the consumed prefix can be accepted
+     */
+    public boolean isDead(int state) {
+        return state == DEAD;
+    }
+
+    /**
+     * Returns Levenshtein distance between the pattern and the consumed characters if the state is accepting.
+     *
+     * @param state state to check
+     * @return Levenshtein distance of the accepting state, or {@code -1} if the state is not accepting
+     */
+    public int distance(int state) {
+        return distances[state];
+    }
+
+    /**
+     * Returns Levenshtein distance between the pattern and the term if the term is accepted.
+     *
+     * @param term term to check
+     * @return Levenshtein distance between the pattern and the term, or {@code -1} if the term is not accepted
+     */
+    public int distance(CharSequence term) {
+        int state = initialState();
+        for (int i = 0, l = term.length(); i < l && state != DEAD; i++) state = step(state, term.charAt(i));
+        return distances[state];
+    }
+
+    /**
+     * Finds all accepted terms in the list sorted by the natural order of the {@link String}s (by the character values).
+     * Terms sharing the consumed prefix with the previous term continue from its state,
+     * and all terms sharing a prefix which leads to the {@link #DEAD} state are skipped by the binary search.
+     *
+     * @param sortedTerms sorted list with fast random access
+     * @return accepted terms with their distances in the order of the list
+     */
+    public List<DictionaryMatch> intersect(List<? extends CharSequence> sortedTerms) {
+        final List<DictionaryMatch> result = new ArrayList<>();
+        int[] states = new int[32];
+        states[0] = initialState();
+        CharSequence previous = "";
+        // amount of characters of the previous term with computed states
+        int computed = 0;
+        for (int i = 0, n = sortedTerms.size(); i < n; ) {
+            final CharSequence term = sortedTerms.get(i);
+            final int length = term.length();
+            if (states.length <= length) states = Arrays.copyOf(states, Math.max(length + 1, states.length << 1));
+            int depth = 0;
+            while (depth < computed && depth < length && term.charAt(depth) == previous.charAt(depth)) depth++;
+            int state = states[depth];
+            while (depth < length && state != DEAD) {
+                state = step(state, term.charAt(depth++));
+                states[depth] = state;
+            }
+            previous = term;
+            computed = depth;
+            if (state == DEAD) {
+                // skip all following terms with the same dead prefix
+                i = skipPrefix(sortedTerms, i + 1, n, term, depth);
+                computed = depth - 1;
+                continue;
+            }
+            if (distances[state] >= 0) result.add(new DictionaryMatch(term, distances[state]));
+            i++;
+        }
+        return result;
+    }
+
+    /**
+     * Finds index of the first term not starting with the prefix in the sorted range, where terms with the prefix go first
+     */
+    private static int skipPrefix(List<? extends CharSequence> terms, int from, int to, CharSequence term, int prefixLength) {
+        while (from < to) {
+            final int middle = (from + to) >>> 1;
+            if (startsWith(terms.get(middle), term, prefixLength)) from = middle + 1;
+            else to = middle;
+        }
+        return from;
+    }
+
+    private static boolean startsWith(CharSequence text, CharSequence prefix, int prefixLength) {
+        if (text.length() < prefixLength) return false;
+        for (int i = 0; i < prefixLength; i++) if (text.charAt(i) != prefix.charAt(i)) return false;
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "LevenshteinAutomaton{pattern=" + pattern +
+                ", states=" + distances.length +
+                ", classes=" + classesCount +
+                '}';
+    }
+
+    /**
+     * Rows of the state as hash map key
+     */
+    private static final class State {
+        final long[] rows;
+        final int hash;
+
+        State(long[] rows) {
+            this.rows = rows;
+            this.hash = Arrays.hashCode(rows);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof State && Arrays.equals(rows, ((State) o).rows);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.pe.index;
+
+import java.util.Arrays;
+
+/**
+ * Minimal open addressing hash map of primitive {@code long} keys to {@code int} values with linear probing,
+ * used to group q-grams without boxing.
+ */
+final class LongIntHashMap {
+
+    private static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private boolean[] used;
+    private int mask;
+    private int size;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize) * 2 - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        used = new boolean[capacity];
+        mask = capacity - 1;
+    }
+
+    private static int hash(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private int slot(long key) {
+        int slot = hash(key) & mask;
+        while (used[slot] && keys[slot] != key) slot = (slot + 1) & mask;
+        return slot;
+    }
+
+    /**
+     * Returns value of the key or {@code -1} if there is no such key
+     */
+    int get(long key) {
+        final int slot = slot(key);
+        return used[slot] ? values[slot] : MISSING;
+    }
+
+    void put(long key, int value) {
+        final int slot = slot(key);
+        if (!used[slot]) {
+            used[slot] = true;
+            keys[slot] = key;
+            if (++size * 2 > keys.length) {
+                values[slot] = value;
+                grow();
+                return;
+            }
+        }
+        values[slot] = value;
+    }
+
+    /**
+     * Increments value of the key, missing key is added with value 1
+     */
+    void increment(long key) {
+        final int slot = slot(key);
+        if (used[slot]) {
+            values[slot]++;
+        } else {
+            put(key, 1);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns all keys of this map in ascending order
+     */
+    long[] sortedKeys() {
+        final long[] result = new long[size];
+        int i = 0;
+        for (int slot = 0; slot < keys.length; slot++) if (used[slot]) result[i++] = keys[slot];
+        Arrays.sort(result);
+        return result;
+    }
+
+    private void grow() {
+        final long[] oldKeys = keys;
+        final int[] oldValues = values;
+        final boolean[] oldUsed = used;
+        keys = new long[oldKeys.length << 1];
+        values = new int[oldKeys.length << 1];
+        used = new boolean[oldKeys.length << 1];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                final int slot = slot(oldKeys[i]);
+                used[slot] = true;
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pe.index;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive {@code long} values
+ */
+final class LongList {
+
+    private long[] values = new long[64];
+    private int size;
+
+    void add(long value) {
+        if (size == values.length) values = Arrays.copyOf(values, size << 1);
+        values[size++] = value;
+    }
+
+    long get(int index) {
+        return values[index];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void sort() {
+        Arrays.sort(values, 0, size);
+    }
+
+    void clear() {
+        size = 0;
+    }
+}
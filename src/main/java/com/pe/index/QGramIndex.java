@@ -0,0 +1,388 @@
+package com.pe.index;
+
+import com.pe.text.DocumentFuzzyResult;
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Q-gram inverted index over a stable corpus of texts (documents) to repeat fuzzy searches without scanning the whole corpus:
+ * <pre>{@code
+ *     QGramIndex index = QGramIndex.open(Paths.get("archive-index"));
+ *     index.append(pages);
+ *     for (DocumentFuzzyResult result : index.findAll(FuzzyPattern.compile("Medical Record", 2)))
+ *         System.out.println(result.documentIndex() + ": " + result.foundText());
+ * }</pre>
+ * Every occurrence of a pattern of length {@code m} with at most {@code k} edits contains at least
+ * {@code m - q + 1 - k * q} of the pattern q-grams (q-gram lemma), so the index counts hits of the pattern q-grams
+ * in the sliding window of the occurrence length {@code m + k} and runs the {@link FuzzyMatcher} only on regions
+ * around the windows with enough hits. If the lemma threshold is not positive (short pattern or too many edits)
+ * the documents are scanned entirely.
+ * <p>
+ * The index consists of immutable segments, every {@link #append(List)} adds a new segment.
+ * Segments of the index opened on a directory are stored as files and memory-mapped,
+ * so neither posting lists nor texts of the documents are kept in the heap.
+ * Q-grams are indexed with characters folded to lower case, so the same index serves case-sensitive
+ * and case-insensitive patterns.
+ * <p>
+ * Searches are lock-free and can run concurrently with each other and with appends, which are serialized.
+ * {@link #close()} releases the memory mappings of the segment files once the searches running at that moment complete.
+ * Documents and found texts returned by the index are copied into the heap, so they stay readable after it is closed.
+ */
+public final class QGramIndex implements Closeable {
+
+    /**
+     * Default length of the q-grams
+     */
+    public static final int DEFAULT_Q = 3;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".qgi";
+
+    private final int q;
+    /**
+     * directory of the segment files or null for in-memory index
+     */
+    private final Path directory;
+    /**
+     * current segments
+     */
+    private volatile Segments segments;
+    /**
+     * amount of the running reads of the {@link #segments} plus one for the open index, or 0 if the index is closed,
+     * the segments are released by the last reader
+     */
+    private final AtomicInteger references = new AtomicInteger(1);
+    /**
+     * true once the {@link #close()} released the reference of the open index
+     */
+    private boolean closed;
+
+    private QGramIndex(int q, Path directory, Segments segments) {
+        if (q < 1 || q > 4)
+            throw new IllegalArgumentException("q must be in range [1, 4], but was " + q);
+        this.q = q;
+        this.directory = directory;
+        this.segments = segments;
+    }
+
+    /**
+     * Creates empty in-memory index with the {@link #DEFAULT_Q} q-grams.
+     *
+     * @return empty in-memory index
+     */
+    public static QGramIndex inMemory() {
+        return inMemory(DEFAULT_Q);
+    }
+
+    /**
+     * Creates empty in-memory index.
+     *
+     * @param q length of the q-grams, from 1 to 4
+     * @return empty in-memory index
+     * @throws IllegalArgumentException if q is out of range
+     */
+    public static QGramIndex inMemory(int q) {
+        return new QGramIndex(q, null, Segments.EMPTY);
+    }
+
+    /**
+     * Opens (or creates) index stored in the specified directory with the {@link #DEFAULT_Q} q-grams.
+     *
+     * @param directory directory of the segment files
+     * @return index with all segments found in the directory
+     * @throws IOException if segments can not be read
+     */
+    public static QGramIndex open(Path directory) throws IOException {
+        return open(directory, DEFAULT_Q);
+    }
+
+    /**
+     * Opens (or creates) index stored in the specified directory.
+     *
+     * @param directory directory of the segment files
+     * @param q         length of the q-grams, from 1 to 4, it must be the same as in the existing segments
+     * @return index with all segments found in the directory
+     * @throws IOException              if segments can not be read
+     * @throws IllegalArgumentException if q is out of range or differs from the q of the existing segments
+     */
+    public static QGramIndex open(Path directory, int q) throws IOException {
+        Files.createDirectories(directory);
+        final List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path file : stream) files.add(file);
+        }
+        files.sort(null);
+        Segments segments = Segments.EMPTY;
+        try {
+            for (Path file : files) {
+                final QGramSegment segment = QGramSegment.map(file);
+                segments = segments.append(segment);
+                if (segment.q() != q)
+                    throw new IllegalArgumentException("Segment " + file + " has q=" + segment.q() + ", but expected " + q);
+            }
+            return new QGramIndex(q, directory, segments);
+        } catch (IOException | RuntimeException e) {
+            segments.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Appends the specified documents as a new segment, indices of the documents continue indices of the existing ones.
+     * Segment of the index stored in a directory is written into a new file and memory-mapped.
+     *
+     * @param documents documents to append
+     * @throws UncheckedIOException     if the segment file can not be written
+     * @throws IllegalArgumentException if the documents exceed the segment size limit of 2GB
+     * @throws IllegalStateException    if the index is closed
+     */
+    public synchronized void append(List<? extends CharSequence> documents) {
+        final Segments current = acquire();
+        try {
+            append(current, documents);
+        } finally {
+            release();
+        }
+    }
+
+    private void append(Segments current, List<? extends CharSequence> documents) {
+        if (documents.isEmpty()) return;
+        QGramSegment segment = QGramSegment.build(documents, q);
+        if (directory != null) {
+            try {
+                final Path file = directory.resolve(String.format("%s%08d%s",
+                        SEGMENT_PREFIX, current.segments.length, SEGMENT_SUFFIX));
+                final Path temporary = directory.resolve(file.getFileName() + ".tmp");
+                Files.deleteIfExists(temporary);
+                segment.write(temporary);
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE);
+                segment = QGramSegment.map(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        segments = current.append(segment);
+    }
+
+    /**
+     * Releases the memory mappings of the segment files without waiting for the garbage collection of their buffers,
+     * so the files can be deleted or replaced afterwards. Searches running at the moment complete normally
+     * and the mappings are released by the last of them, the next calls of the index throw {@link IllegalStateException}.
+     * Closing the closed index has no effect.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) return;
+        closed = true;
+        release();
+    }
+
+    /**
+     * Returns current segments of the index, which are not released till the matching {@link #release()}
+     *
+     * @throws IllegalStateException if the index is closed
+     */
+    private Segments acquire() {
+        while (true) {
+            final int count = references.get();
+            if (count == 0) throw new IllegalStateException("Index is closed");
+            if (references.compareAndSet(count, count + 1)) return segments;
+        }
+    }
+
+    /**
+     * Ends the read of the segments, the last one after the {@link #close()} unmaps them
+     */
+    private void release() {
+        // segments of the last append contain all earlier ones
+        if (references.decrementAndGet() == 0) segments.close();
+    }
+
+    /**
+     * Returns length of the indexed q-grams.
+     *
+     * @return length of the q-grams
+     */
+    public int q() {
+        return q;
+    }
+
+    /**
+     * Returns total amount of the indexed documents.
+     *
+     * @return amount of the documents
+     * @throws IllegalStateException if the index is closed
+     */
+    public int documentsCount() {
+        final Segments current = acquire();
+        release();
+        return current.documentsCount;
+    }
+
+    /**
+     * Returns text of the indexed document.
+     *
+     * @param index index of the document
+     * @return text of the document copied into the heap
+     * @throws IndexOutOfBoundsException if there is no document with such index
+     * @throws IllegalStateException     if the index is closed
+     */
+    public CharSequence document(int index) {
+        final Segments current = acquire();
+        try {
+            if (index < 0 || index >= current.documentsCount)
+                throw new IndexOutOfBoundsException("Document index " + index + " is out of range [0, " + current.documentsCount + ")");
+            final int s = current.segmentOf(index);
+            return current.segments[s].document(index - current.firstDocuments[s]).toString();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Finds all matchings of the pattern in the indexed documents.
+     * Results are ordered by the document index and then by the position in the document,
+     * and positions are relative to the document. Found texts of the results are copied into the heap.
+     *
+     * @param pattern pattern to search
+     * @return all found matchings
+     * @throws IllegalStateException if the index is closed
+     */
+    public List<DocumentFuzzyResult> findAll(FuzzyPattern pattern) {
+        final Segments current = acquire();
+        try {
+            return findAll(current, pattern);
+        } finally {
+            release();
+        }
+    }
+
+    private List<DocumentFuzzyResult> findAll(Segments current, FuzzyPattern pattern) {
+        final List<DocumentFuzzyResult> results = new ArrayList<>();
+        final int length = pattern.text().length();
+        final int maxDistance = pattern.maxLevenshteinDistance();
+        final int threshold = length - q + 1 - maxDistance * q;
+        final FuzzyMatcher matcher = pattern.matcher("");
+        if (threshold <= 0) {
+            for (int s = 0; s < current.segments.length; s++) {
+                final QGramSegment segment = current.segments[s];
+                for (int d = 0; d < segment.documentsCount(); d++)
+                    collect(matcher, segment.document(d), 0, Integer.MAX_VALUE, current.firstDocuments[s] + d, results);
+            }
+            return results;
+        }
+
+        final long[] keys = new long[length - q + 1];
+        for (int i = 0; i < keys.length; i++) keys[i] = QGramSegment.key(pattern.text(), i, q);
+        Arrays.sort(keys);
+        final LongList hits = new LongList();
+        // maximal length of the occurrence
+        final int span = length + maxDistance;
+        for (int s = 0; s < current.segments.length; s++) {
+            final QGramSegment segment = current.segments[s];
+            hits.clear();
+            for (int i = 0; i < keys.length; i++)
+                if (i == 0 || keys[i] != keys[i - 1]) segment.collect(keys[i], hits);
+            hits.sort();
+
+            int document = -1;
+            CharSequence text = null;
+            int regionStart = 0;
+            int regionEnd = -1;
+            for (int i = 0, j = 0, size = hits.size(); i < size; i++) {
+                final long hit = hits.get(i);
+                final int position = (int) hit;
+                // hits of the same document within the occurrence length, starting at the current one
+                j = Math.max(j, i);
+                while (j < size && (hits.get(j) >>> 32) == (hit >>> 32) && (int) hits.get(j) <= position + span - q) j++;
+                if (j - i < threshold) continue;
+                final int hitDocument = (int) (hit >>> 32);
+                // occurrence containing the hit starts not before position - span and ends before position + span,
+                // and its traceback and improvement look up to span characters further
+                final int start = Math.max(0, position - 2 * span);
+                final int end = position + 2 * span;
+                if (hitDocument == document && start <= regionEnd) {
+                    regionEnd = end;
+                    continue;
+                }
+                if (document >= 0)
+                    collect(matcher, text, regionStart, regionEnd, current.firstDocuments[s] + document, results);
+                if (hitDocument != document) {
+                    document = hitDocument;
+                    text = segment.document(document);
+                }
+                regionStart = start;
+                regionEnd = end;
+            }
+            if (document >= 0)
+                collect(matcher, text, regionStart, regionEnd, current.firstDocuments[s] + document, results);
+        }
+        return results;
+    }
+
+    private static void collect(FuzzyMatcher matcher, CharSequence text, int from, int to,
+                                int documentIndex, List<DocumentFuzzyResult> results) {
+        matcher.reset(text, from, to);
+        while (matcher.find()) results.add(new DocumentFuzzyResult(documentIndex, matcher));
+    }
+
+    @Override
+    public String toString() {
+        final Segments current = segments;
+        return "QGramIndex{q=" + q +
+                (references.get() == 0 ? ", closed" : ", segments=" + current.segments.length +
+                        ", documents=" + current.documentsCount) +
+                (directory == null ? "" : ", directory=" + directory) +
+                '}';
+    }
+
+    /**
+     * Immutable snapshot of the index segments, replaced as a whole by the appends
+     */
+    private static final class Segments {
+        static final Segments EMPTY = new Segments(new QGramSegment[0], new int[1]);
+
+        final QGramSegment[] segments;
+        /**
+         * Index of the first document of every segment, the last element is the total amount of documents
+         */
+        final int[] firstDocuments;
+        final int documentsCount;
+
+        private Segments(QGramSegment[] segments, int[] firstDocuments) {
+            this.segments = segments;
+            this.firstDocuments = firstDocuments;
+            this.documentsCount = firstDocuments[segments.length];
+        }
+
+        Segments append(QGramSegment segment) {
+            final QGramSegment[] appended = Arrays.copyOf(segments, segments.length + 1);
+            appended[segments.length] = segment;
+            final int[] starts = Arrays.copyOf(firstDocuments, firstDocuments.length + 1);
+            starts[segments.length + 1] = Math.addExact(documentsCount, segment.documentsCount());
+            return new Segments(appended, starts);
+        }
+
+        void close() {
+            for (QGramSegment segment : segments) segment.close();
+        }
+
+        int segmentOf(int document) {
+            // segments are never empty, so first documents are distinct
+            final int index = Arrays.binarySearch(firstDocuments, 0, segments.length, document);
+            return index < 0 ? -index - 2 : index;
+        }
+    }
+}
@@ -0,0 +1,294 @@
+package com.pe.index;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Immutable segment of the {@link QGramIndex}: documents appended together and their q-gram posting lists.
+ * The segment is stored in a single {@link ByteBuffer}, which is either allocated in heap when the segment is built,
+ * or memory-mapped from the segment file, with the layout:
+ * <pre>
+ *     header:     int magic, int version, int q, int documentsCount, int keysCount, int textLength, int postingsLength
+ *     documents:  int[documentsCount + 1] start offsets of the documents in the text
+ *     keys:       long[keysCount] sorted q-grams (characters folded to lower case, 16 bits per character)
+ *     offsets:    int[keysCount + 1] start offsets of the posting lists of the keys
+ *     text:       char[textLength] concatenated documents
+ *     postings:   byte[postingsLength] posting lists
+ * </pre>
+ * Every posting list is a sequence of the (document, position) pairs in ascending order,
+ * encoded as variable-length (7 bits per byte) deltas:
+ * delta of the document index, then position delta if the document is the same, or absolute position otherwise.
+ */
+final class QGramSegment {
+
+    private static final int MAGIC = 0x51474958; // "QGIX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 7 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int q;
+    private final int documentsCount;
+    private final int keysCount;
+    private final int documentsOffset;
+    private final int keysOffset;
+    private final int offsetsOffset;
+    private final int textOffset;
+    private final int postingsOffset;
+
+    private QGramSegment(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION)
+            throw new IllegalArgumentException("Not a q-gram index segment");
+        this.q = buffer.getInt(8);
+        this.documentsCount = buffer.getInt(12);
+        this.keysCount = buffer.getInt(16);
+        final int textLength = buffer.getInt(20);
+        this.documentsOffset = HEADER_SIZE;
+        this.keysOffset = documentsOffset + (documentsCount + 1) * Integer.BYTES;
+        this.offsetsOffset = keysOffset + keysCount * Long.BYTES;
+        this.textOffset = offsetsOffset + (keysCount + 1) * Integer.BYTES;
+        this.postingsOffset = textOffset + textLength * Character.BYTES;
+    }
+
+    /**
+     * Returns q-gram of the folded characters starting at the specified position
+     */
+    static long key(CharSequence text, int position, int q) {
+        long key = 0;
+        for (int i = 0; i < q; i++) key = (key << 16) | Character.toLowerCase(text.charAt(position + i));
+        return key;
+    }
+
+    /**
+     * Builds heap segment of the specified documents.
+     */
+    static QGramSegment build(List<? extends CharSequence> documents, int q) {
+        long textLength = 0;
+        for (CharSequence document : documents) textLength += document.length();
+        if (textLength * Character.BYTES > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Segment exceeds 2GB, documents have to be appended in smaller batches");
+        // every position is counted once, q-grams are grouped by key in two passes
+        final LongIntHashMap counts = new LongIntHashMap((int) Math.min(textLength, 1 << 20));
+        for (CharSequence document : documents)
+            for (int p = 0, last = document.length() - q; p <= last; p++) counts.increment(key(document, p, q));
+        final long[] keys = counts.sortedKeys();
+        final int[] offsets = new int[keys.length + 1];
+        for (int i = 0; i < keys.length; i++) {
+            offsets[i + 1] = offsets[i] + counts.get(keys[i]);
+            counts.put(keys[i], i);
+        }
+        // global positions (document start + position) grouped by key, ascending within the group
+        final int[] positions = new int[offsets[keys.length]];
+        final int[] fill = offsets.clone();
+        final int[] documentStarts = new int[documents.size() + 1];
+        for (int d = 0; d < documents.size(); d++) {
+            final CharSequence document = documents.get(d);
+            for (int p = 0, last = document.length() - q; p <= last; p++)
+                positions[fill[counts.get(key(document, p, q))]++] = documentStarts[d] + p;
+            documentStarts[d + 1] = documentStarts[d] + document.length();
+        }
+
+        final VarIntWriter postings = new VarIntWriter(positions.length * 2);
+        final int[] postingOffsets = new int[keys.length + 1];
+        for (int k = 0; k < keys.length; k++) {
+            int previousDocument = -1;
+            int previousPosition = 0;
+            int document = 0;
+            for (int i = offsets[k]; i < offsets[k + 1]; i++) {
+                final int global = positions[i];
+                while (documentStarts[document + 1] <= global) document++;
+                final int position = global - documentStarts[document];
+                postings.write(document - previousDocument);
+                postings.write(document == previousDocument ? position - previousPosition : position);
+                previousDocument = document;
+                previousPosition = position;
+            }
+            postingOffsets[k + 1] = postings.size();
+        }
+
+        final long size = HEADER_SIZE + (documents.size() + 1L) * Integer.BYTES + keys.length * (long) Long.BYTES
+                + (keys.length + 1L) * Integer.BYTES + textLength * Character.BYTES + postings.size();
+        if (size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("Segment exceeds 2GB, documents have to be appended in smaller batches");
+        final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(q).putInt(documents.size()).putInt(keys.length)
+                .putInt((int) textLength).putInt(postings.size());
+        for (int start : documentStarts) buffer.putInt(start);
+        for (long key : keys) buffer.putLong(key);
+        for (int offset : postingOffsets) buffer.putInt(offset);
+        for (CharSequence document : documents)
+            for (int i = 0; i < document.length(); i++) buffer.putChar(document.charAt(i));
+        buffer.put(postings.bytes(), 0, postings.size());
+        ((Buffer) buffer).flip();
+        return new QGramSegment(buffer);
+    }
+
+    /**
+     * Maps the segment file into memory
+     */
+    static QGramSegment map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new QGramSegment(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Releases the mapping of the segment file, the segment must not be used afterwards.
+     * Heap segments have nothing to release.
+     */
+    void close() {
+        if (buffer.isDirect()) Unmapper.UNMAP.accept(buffer);
+    }
+
+    /**
+     * Writes this segment into the specified file
+     */
+    void write(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            final ByteBuffer source = buffer.duplicate();
+            ((Buffer) source).clear();
+            while (source.hasRemaining()) channel.write(source);
+            channel.force(true);
+        }
+    }
+
+    int q() {
+        return q;
+    }
+
+    int documentsCount() {
+        return documentsCount;
+    }
+
+    /**
+     * Returns view of the document text without copying it into the heap
+     */
+    CharSequence document(int index) {
+        final int start = buffer.getInt(documentsOffset + index * Integer.BYTES);
+        final int end = buffer.getInt(documentsOffset + (index + 1) * Integer.BYTES);
+        final ByteBuffer view = buffer.duplicate();
+        ((Buffer) view).limit(textOffset + end * Character.BYTES).position(textOffset + start * Character.BYTES);
+        return view.slice().asCharBuffer();
+    }
+
+    /**
+     * Appends hits of the specified q-gram as {@code (document << 32) | position} values
+     */
+    void collect(long key, LongList hits) {
+        int low = 0;
+        int high = keysCount - 1;
+        while (low <= high) {
+            final int middle = (low + high) >>> 1;
+            final long value = buffer.getLong(keysOffset + middle * Long.BYTES);
+            if (value < key) low = middle + 1;
+            else if (value > key) high = middle - 1;
+            else {
+                final ByteBuffer postings = buffer.duplicate();
+                ((Buffer) postings)
+                        .limit(postingsOffset + buffer.getInt(offsetsOffset + (middle + 1) * Integer.BYTES))
+                        .position(postingsOffset + buffer.getInt(offsetsOffset + middle * Integer.BYTES));
+                int document = -1;
+                int position = 0;
+                while (postings.hasRemaining()) {
+                    final int documentDelta = readVarInt(postings);
+                    if (documentDelta == 0) {
+                        position += readVarInt(postings);
+                    } else {
+                        document += documentDelta;
+                        position = readVarInt(postings);
+                    }
+                    hits.add(((long) document << 32) | position);
+                }
+                return;
+            }
+        }
+    }
+
+    private static int readVarInt(ByteBuffer buffer) {
+        int result = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            result |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return result;
+    }
+
+    /**
+     * Releases mapped buffers without waiting for their garbage collection. There is no public API for it,
+     * so it uses {@code sun.misc.Unsafe.invokeCleaner} since Java 9 and the cleaner of the buffer at Java 8.
+     * If neither is accessible, the mapping is released when the buffer is collected.
+     */
+    private static final class Unmapper {
+        static final Consumer<ByteBuffer> UNMAP = lookup();
+
+        private static Consumer<ByteBuffer> lookup() {
+            try {
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+                final Field field = unsafeClass.getDeclaredField("theUnsafe");
+                field.setAccessible(true);
+                final Object unsafe = field.get(null);
+                return buffer -> invoke(invokeCleaner, unsafe, buffer);
+            } catch (ReflectiveOperationException | RuntimeException java8) {
+                try {
+                    final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+                    final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+                    return buffer -> invoke(clean, invoke(cleaner, buffer));
+                } catch (ReflectiveOperationException | RuntimeException unsupported) {
+                    return buffer -> {
+                    };
+                }
+            }
+        }
+
+        private static Object invoke(Method method, Object target, Object... arguments) {
+            try {
+                return method.invoke(target, arguments);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Mapped buffer can not be released", e);
+            }
+        }
+    }
+
+    /**
+     * Growable buffer of the variable-length encoded non-negative integers
+     */
+    private static final class VarIntWriter {
+        private byte[] bytes;
+        private int size;
+
+        VarIntWriter(int capacity) {
+            bytes = new byte[Math.max(16, capacity)];
+        }
+
+        void write(int value) {
+            if (size + 5 > bytes.length) bytes = Arrays.copyOf(bytes, bytes.length << 1);
+            while ((value & ~0x7F) != 0) {
+                bytes[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            bytes[size++] = (byte) value;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+
+        int size() {
+            return size;
+        }
+    }
+}
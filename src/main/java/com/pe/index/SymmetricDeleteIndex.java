@@ -0,0 +1,277 @@
+package com.pe.index;
+
+import com.pe.text.DocumentFuzzyResult;
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Symmetric delete (SymSpell-like) index for the correction of short tokens with few edits:
+ * <pre>{@code
+ *     SymmetricDeleteIndex index = SymmetricDeleteIndex.build(vocabulary.stream(), 2, 7, false);
+ *     for (DocumentFuzzyResult suggestion : index.lookup("recieve", 2))
+ *         System.out.println(suggestion.foundText() + " " + suggestion.distance());
+ * }</pre>
+ * If two strings are within Levenshtein distance {@code k}, then their prefixes of the same length can be turned
+ * into the same string by deleting at most {@code k} characters from each of them.
+ * So every entry prefix is indexed with all its variants with up to {@code maxDeleteDepth} deleted characters,
+ * and a lookup collects entries sharing a variant with the query prefix.
+ * The variants are stored as 64-bit hashes in a primitive open addressing table of the posting lists,
+ * and candidates are verified by the anchored matching ({@link FuzzyMatcher#matches()}) of the query pattern,
+ * so the distance and the edit operations of the results are exactly the same as for the {@link FuzzyPattern}.
+ * Candidates whose length differs from the query by more than the distance are rejected before the verification,
+ * and the query pattern is compiled only if some candidate is left. Patterns of the recent queries are cached,
+ * so the repeated tokens of the text are not compiled again.
+ * <p>
+ * Memory of the index is bounded by the amount of variants per entry: {@code sum(C(prefixLength, d))}
+ * for {@code d} from 0 to {@code maxDeleteDepth}.
+ * Instances of this class are immutable (except of the cache of the patterns, which is updated atomically)
+ * and can be queried by multiple concurrent threads without any locking.
+ */
+public final class SymmetricDeleteIndex {
+
+    private static final Comparator<DocumentFuzzyResult> CLOSEST_FIRST =
+            Comparator.comparingInt(DocumentFuzzyResult::distance).thenComparingInt(DocumentFuzzyResult::documentIndex);
+    /**
+     * amount of the cached query patterns, power of two
+     */
+    private static final int PATTERNS_CACHE_SIZE = 256;
+
+    private final String[] entries;
+    private final int maxDeleteDepth;
+    private final int prefixLength;
+    private final boolean caseInsensitive;
+    /**
+     * hash of the variant to the first posting of the variant
+     */
+    private final LongIntHashMap heads;
+    /**
+     * entry index of the posting
+     */
+    private final int[] postingEntries;
+    /**
+     * next posting of the same variant or -1
+     */
+    private final int[] postingNext;
+    /**
+     * direct mapped cache of the recent query patterns, slot is selected by the hash of the query and the distance
+     */
+    private final AtomicReferenceArray<FuzzyPattern> patterns = new AtomicReferenceArray<>(PATTERNS_CACHE_SIZE);
+
+    private SymmetricDeleteIndex(String[] entries, int maxDeleteDepth, int prefixLength, boolean caseInsensitive,
+                                 LongIntHashMap heads, int[] postingEntries, int[] postingNext) {
+        this.entries = entries;
+        this.maxDeleteDepth = maxDeleteDepth;
+        this.prefixLength = prefixLength;
+        this.caseInsensitive = caseInsensitive;
+        this.heads = heads;
+        this.postingEntries = postingEntries;
+        this.postingNext = postingNext;
+    }
+
+    /**
+     * Builds index of the distinct non-empty entries.
+     *
+     * @param entries         entries of the dictionary
+     * @param maxDeleteDepth  maximal amount of deleted characters of the indexed variants,
+     *                        which is the maximal Levenshtein distance of the lookup
+     * @param prefixLength    length of the entry prefixes used to generate variants, it has to be greater than maxDeleteDepth
+     * @param caseInsensitive if {@code true} - characters are compared ignoring their case
+     * @return built index
+     * @throws IllegalArgumentException if maxDeleteDepth is negative or prefixLength is not greater than it
+     */
+    public static SymmetricDeleteIndex build(Stream<? extends CharSequence> entries, int maxDeleteDepth,
+                                             int prefixLength, boolean caseInsensitive) {
+        if (maxDeleteDepth < 0)
+            throw new IllegalArgumentException("maxDeleteDepth can not be negative, but was " + maxDeleteDepth);
+        if (prefixLength <= maxDeleteDepth)
+            throw new IllegalArgumentException("prefixLength must be greater than maxDeleteDepth, but was " + prefixLength);
+        final String[] distinct = entries.map(CharSequence::toString).filter(entry -> !entry.isEmpty())
+                .distinct().toArray(String[]::new);
+        final LongIntHashMap heads = new LongIntHashMap(distinct.length * 4);
+        int[] postingEntries = new int[Math.max(16, distinct.length * 4)];
+        int[] postingNext = new int[postingEntries.length];
+        int size = 0;
+        final Variants variants = new Variants(prefixLength);
+        for (int entry = 0; entry < distinct.length; entry++) {
+            final LongList hashes = variants.of(distinct[entry], maxDeleteDepth, caseInsensitive);
+            for (int i = 0; i < hashes.size(); i++) {
+                final long hash = hashes.get(i);
+                final int head = heads.get(hash);
+                // variants of the same entry are added consecutively, so duplicated variant is always the head
+                if (head >= 0 && postingEntries[head] == entry) continue;
+                if (size == postingEntries.length) {
+                    postingEntries = Arrays.copyOf(postingEntries, size << 1);
+                    postingNext = Arrays.copyOf(postingNext, size << 1);
+                }
+                postingEntries[size] = entry;
+                postingNext[size] = head;
+                heads.put(hash, size++);
+            }
+        }
+        return new SymmetricDeleteIndex(distinct, maxDeleteDepth, prefixLength, caseInsensitive, heads,
+                Arrays.copyOf(postingEntries, size), Arrays.copyOf(postingNext, size));
+    }
+
+    /**
+     * Returns amount of the distinct entries.
+     *
+     * @return amount of the distinct entries
+     */
+    public int size() {
+        return entries.length;
+    }
+
+    /**
+     * Returns the entry with the specified index, which is reported as {@link DocumentFuzzyResult#documentIndex()}
+     * by the {@link #lookup(CharSequence, int)}.
+     *
+     * @param index index of the entry
+     * @return the entry
+     */
+    public String entry(int index) {
+        return entries[index];
+    }
+
+    /**
+     * Returns maximal Levenshtein distance supported by the lookup.
+     *
+     * @return maximal amount of deleted characters of the indexed variants
+     */
+    public int maxDeleteDepth() {
+        return maxDeleteDepth;
+    }
+
+    /**
+     * Returns length of the entry prefixes used to generate variants.
+     *
+     * @return length of the prefixes
+     */
+    public int prefixLength() {
+        return prefixLength;
+    }
+
+    /**
+     * Finds all entries within the specified Levenshtein distance of the query.
+     * Every result is the matching of the query pattern (see {@link com.pe.text.FuzzyResult#pattern()}) with the whole entry:
+     * {@link DocumentFuzzyResult#documentIndex()} is the index of the entry, and {@link DocumentFuzzyResult#foundText()} is the entry.
+     *
+     * @param query       token to look up
+     * @param maxDistance maximal Levenshtein distance, not greater than the {@link #maxDeleteDepth()}
+     * @return found entries ordered by the distance and then by the entry index
+     * @throws IllegalArgumentException if the query is empty or maxDistance is out of the supported range
+     */
+    public List<DocumentFuzzyResult> lookup(CharSequence query, int maxDistance) {
+        if (maxDistance < 0 || maxDistance > maxDeleteDepth)
+            throw new IllegalArgumentException("maxDistance must be in range [0, " + maxDeleteDepth + "], but was " + maxDistance);
+        if (query.length() == 0)
+            throw new IllegalArgumentException("query can not be empty");
+        final LongList hashes = new Variants(prefixLength).of(query, maxDistance, caseInsensitive);
+        int[] candidates = new int[16];
+        int count = 0;
+        for (int i = 0; i < hashes.size(); i++) {
+            for (int posting = heads.get(hashes.get(i)); posting >= 0; posting = postingNext[posting]) {
+                final int entry = postingEntries[posting];
+                // every edit changes the length by at most one
+                if (Math.abs(entries[entry].length() - query.length()) > maxDistance) continue;
+                if (count == candidates.length) candidates = Arrays.copyOf(candidates, count << 1);
+                candidates[count++] = entry;
+            }
+        }
+        final List<DocumentFuzzyResult> result = new ArrayList<>();
+        if (count == 0) return result;
+        Arrays.sort(candidates, 0, count);
+        final FuzzyMatcher matcher = pattern(query, maxDistance).matcher("");
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && candidates[i] == candidates[i - 1]) continue;
+            matcher.reset(entries[candidates[i]]);
+            if (matcher.matches()) result.add(new DocumentFuzzyResult(candidates[i], matcher));
+        }
+        result.sort(CLOSEST_FIRST);
+        return result;
+    }
+
+    /**
+     * Returns the cached pattern of the query or compiles and caches a new one.
+     */
+    private FuzzyPattern pattern(CharSequence query, int maxDistance) {
+        final String text = query.toString();
+        final int hash = text.hashCode() * 31 + maxDistance;
+        final int slot = (hash ^ (hash >>> 16)) & (PATTERNS_CACHE_SIZE - 1);
+        FuzzyPattern pattern = patterns.get(slot);
+        if (pattern == null || pattern.maxLevenshteinDistance() != maxDistance || !text.contentEquals(pattern.text())) {
+            pattern = FuzzyPattern.compile(text, maxDistance, caseInsensitive);
+            patterns.set(slot, pattern);
+        }
+        return pattern;
+    }
+
+    @Override
+    public String toString() {
+        return "SymmetricDeleteIndex{size=" + entries.length +
+                ", maxDeleteDepth=" + maxDeleteDepth +
+                ", prefixLength=" + prefixLength +
+                ", caseInsensitive=" + caseInsensitive +
+                ", postings=" + postingEntries.length +
+                '}';
+    }
+
+    /**
+     * Generator of the distinct hashes of the prefix variants with deleted characters
+     */
+    private static final class Variants {
+        private final char[] prefix;
+        /**
+         * positions of the deleted characters in ascending order
+         */
+        private final int[] deleted;
+        private final LongList hashes = new LongList();
+        private int length;
+
+        Variants(int prefixLength) {
+            prefix = new char[prefixLength];
+            deleted = new int[prefixLength];
+        }
+
+        LongList of(CharSequence text, int maxDepth, boolean caseInsensitive) {
+            length = Math.min(prefix.length, text.length());
+            for (int i = 0; i < length; i++)
+                prefix[i] = caseInsensitive ? Character.toLowerCase(text.charAt(i)) : text.charAt(i);
+            hashes.clear();
+            generate(0, 0, Math.min(maxDepth, length));
+            hashes.sort();
+            return hashes;
+        }
+
+        private void generate(int from, int depth, int maxDepth) {
+            hashes.add(hash(depth));
+            if (depth == maxDepth) return;
+            for (int position = from; position < length; position++) {
+                deleted[depth] = position;
+                generate(position + 1, depth + 1, maxDepth);
+            }
+        }
+
+        /**
+         * FNV-1a hash of the prefix without deleted characters
+         */
+        private long hash(int depth) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0, d = 0; i < length; i++) {
+                if (d < depth && deleted[d] == i) {
+                    d++;
+                    continue;
+                }
+                hash = (hash ^ prefix[i]) * 0x100000001b3L;
+            }
+            // length of the variant separates variants which differ only by the trailing characters with zero code
+            return hash ^ (length - depth);
+        }
+    }
+}
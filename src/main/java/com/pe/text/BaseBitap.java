@@ -1,15 +1,44 @@
 package com.pe.text;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.Arrays;
+import java.util.Optional;
 import java.util.stream.Stream;
 
 /**
  * Base abstract implementation of the Fuzzy Pattern and Matcher
  */
 abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider {
+    /**
+     * minimal length of the block of characters copied by {@link #scanForMatch(CharSequence, int, int)}
+     */
+    private static final int SCAN_BLOCK = 4096;
+    /**
+     * Kinds of the texts, which select the loop over their characters, see {@link Matcher#selectScanPath(CharSequence)}
+     */
+    private static final int SEQUENCE = 0;
+    private static final int STRING = 1;
+    private static final int STRING_BUILDER = 2;
+    private static final int CHARS = 3;
+    private static final int BYTES = 4;
+    private static final int UTF16_BYTES = 5;
+    private static final int BYTE_BUFFER = 6;
+    private static final int UTF16_BUFFER = 7;
+
     private final CharSequence pattern;
     private final int maxLevenshteinDistance;
     private final boolean caseInsensitive;
+    /**
+     * counters of the work done by the matchers of this pattern, or null if {@link MatcherStats#ENABLED} is false
+     */
+    final MatcherStats stats = MatcherStats.ENABLED ? new MatcherStats() : null;
+    /**
+     * Per-thread array for the characters of the texts copied by {@link #scanForMatch(CharSequence, int, int)},
+     * it is much longer than the maximal matching, so the overlap of the blocks is scanned rarely
+     */
+    private final ScanState<char[]> scanBlock = new ScanState<>(() ->
+            new char[Math.max(SCAN_BLOCK, (text().length() + maxLevenshteinDistance()) << 4)]);
 
     protected BaseBitap(CharSequence pattern, int maxLevenshteinDistance, boolean caseInsensitive) {
         this.pattern = pattern;
@@ -33,6 +62,106 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
     }
 
 
+    @Override
+    public boolean contains(CharSequence text, int fromIndex, int toIndex) {
+        return FlightRecorderEvents.contains(this, text, Math.max(0, fromIndex), Math.min(text.length(), toIndex));
+    }
+
+    /**
+     * Scans the specified range of the text until the first position where the pattern is matched
+     * without improving the result and the traceback of edit operations.
+     * Texts stored in the character array are scanned in place, characters of other texts are copied by blocks
+     * into the per-thread array by the bulk copy of their class (see {@link #copy(CharSequence, int, int, char[])}),
+     * so the implementations have the single loop over the array, see {@link #scanChars(char[], int, int)}.
+     * The scan of every block starts with the initial bit masks, so the block starts with the last
+     * {@code m + k} characters of the previous one, which are enough for any matching ending in the block.
+     *
+     * @param text      text to scan
+     * @param fromIndex start of scanning (inclusive index)
+     * @param toIndex   end of scanning (exclusive index)
+     * @return true if the pattern is matched in the specified range of the text, otherwise - false
+     */
+    final boolean scanForMatch(CharSequence text, int fromIndex, int toIndex) {
+        if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+            final CharBuffer buffer = (CharBuffer) text;
+            final int offset = buffer.arrayOffset() + buffer.position();
+            return scanChars(buffer.array(), offset + fromIndex, offset + toIndex);
+        }
+        if (text instanceof CharArrayText) {
+            final CharArrayText array = (CharArrayText) text;
+            return scanChars(array.array(), array.arrayOffset() + fromIndex, array.arrayOffset() + toIndex);
+        }
+        final char[] block = scanBlock.get();
+        try {
+            final int overlap = pattern.length() + maxLevenshteinDistance;
+            int start = fromIndex;
+            while (true) {
+                final int end = Math.min(toIndex, start + block.length);
+                copy(text, start, end, block);
+                if (scanChars(block, 0, end - start)) return true;
+                if (end == toIndex) return false;
+                start = end - overlap;
+            }
+        } finally {
+            scanBlock.release(block);
+        }
+    }
+
+    /**
+     * Copies characters of the text into the array by the bulk copy of its class, if there is one
+     *
+     * @param text  text to copy
+     * @param start index of the first copied character
+     * @param end   index after the last copied character
+     * @param block destination of the characters starting at its index 0
+     */
+    private static void copy(CharSequence text, int start, int end, char[] block) {
+        if (text instanceof String) {
+            ((String) text).getChars(start, end, block, 0);
+        } else if (text instanceof StringBuilder) {
+            ((StringBuilder) text).getChars(start, end, block, 0);
+        } else if (text instanceof ByteBufferText) {
+            ((ByteBufferText) text).getChars(start, end, block, 0);
+        } else {
+            for (int i = start; i < end; i++) block[i - start] = text.charAt(i);
+        }
+    }
+
+    /**
+     * Scans the specified range of the array until the first position where the pattern is matched,
+     * see {@link #scanForMatch(CharSequence, int, int)}.
+     * Implementations use per-thread state buffers ({@link ScanState}) to not allocate anything per call.
+     *
+     * @param chars     characters to scan
+     * @param fromIndex start of scanning (inclusive index in the array)
+     * @param toIndex   end of scanning (exclusive index in the array)
+     * @return true if the pattern is matched in the specified range of the array, otherwise - false
+     */
+    abstract boolean scanChars(char[] chars, int fromIndex, int toIndex);
+
+    /**
+     * Returns name of the perfect hash strategy chosen for the characters of the pattern, see {@link FlightRecorderEvents}
+     *
+     * @return simple class name of the {@code com.pe.hash.FixedCharTable} implementation
+     */
+    abstract String tableStrategy();
+
+    /**
+     * Checks whether the specified position is inside a word, i.e. characters before and after it are both word characters
+     *
+     * @param text     text to check
+     * @param position position between characters in the text
+     * @return true if the position splits a word
+     */
+    static boolean splitsWord(CharSequence text, int position) {
+        return position > 0 && position < text.length()
+                && isWordChar(text.charAt(position - 1)) && isWordChar(text.charAt(position));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
     @Override
     public String toString() {
         return getClass().getName() + "{pattern=\"" + pattern +
@@ -43,6 +172,12 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
 
     abstract class Matcher implements IterativeFuzzyMatcher {
 
+        /**
+         * amount of characters scanned by the {@link #find()} calls between checks of the {@link #cancelled} flag
+         * and the {@link #cancellation} token
+         */
+        static final int CHECK_INTERVAL = 4096;
+
         protected CharSequence text;
         /**
          * current Levenshtein distance
@@ -74,8 +209,99 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
          * start search index (search begins from this position in the {@link #text})
          */
         private int fromIndex;
+        /**
+         * if true the matching has to start at the {@link #fromIndex}, see {@link #matches()} and {@link #lookingAt()}
+         */
+        boolean anchoredStart;
+        /**
+         * if true the matching has to end at the {@link #toIndex}, see {@link #matches()}
+         */
+        boolean anchoredEnd;
+        /**
+         * if true the matching must not split words of the {@link #text}, see {@link #useWordBoundaries(boolean)}
+         */
+        boolean wordBoundaries;
+        /**
+         * if true {@link #find()} reports every end position of the matchings, see {@link #useOverlapping(boolean)}
+         */
+        private boolean overlapping;
+        /**
+         * if true the bit masks of all distances are computed up to the current {@link #index} by the overlapping search,
+         * so it can be continued without {@link #resetState()}
+         */
+        private boolean continuable;
+        /**
+         * if true the {@link #find()} stops scanning (e.g. by {@link FuzzyResultPublisher} subscription cancelled
+         * from another thread), it is checked every {@link #CHECK_INTERVAL} characters and cleared by the {@link #reset}
+         */
+        private volatile boolean cancelled;
+        /**
+         * token of the cooperative cancellation, see {@link #useCancellation(CancellationToken)}, or null
+         */
+        private CancellationToken cancellation;
+        /**
+         * true if the {@link #find()} was stopped by the {@link #cancelled} flag or the {@link #cancellation} token
+         */
+        private boolean partial;
+        /**
+         * positions of the cached {@link #startCosts} of the word boundaries mode, the slot is selected by the parity
+         * of the position, since the scan asks for the costs before and after the current character
+         */
+        private final int[] startCostPositions = {Integer.MIN_VALUE, Integer.MIN_VALUE};
+        /**
+         * cached results of the {@link #startCost(int)}
+         */
+        private final int[] startCosts = new int[2];
+        /**
+         * index of the first character scanned since the last {@link #resetState()}, matchings in the word boundaries mode
+         * don't start before it, so they don't overlap the previous matching
+         */
+        int scanStart;
+        /**
+         * index of the character before which the cancellation is checked next time, see {@link #checkpoint()}
+         */
+        private int nextCheck;
+
+        /**
+         * kind of the {@link #text}, which selects the loop over its characters, see {@link #scanTo(int)}
+         */
+        private int scanPath;
+        /**
+         * array of the {@link #text} if it is the heap {@link CharBuffer}, e.g. the one of the
+         * {@link FuzzyMatcherProvider#matcher(char[], int, int)}, or the {@link CharArrayText}
+         */
+        private char[] chars;
+        /**
+         * array of the {@link #text} if it is the {@link ByteBufferText} of the heap buffer
+         */
+        private byte[] bytes;
+        /**
+         * buffer of the {@link #text} if it is the {@link ByteBufferText} of the direct buffer
+         */
+        private ByteBuffer buffer;
+        /**
+         * characters of the bytes of the single-byte encoding of the {@link ByteBufferText}, see {@link ByteBufferText#decoding()}
+         */
+        private char[] decoding;
+        /**
+         * index of the character at the index 0 of the {@link #text} in the {@link #chars},
+         * or index of its first byte in the {@link #bytes} or the {@link #buffer}
+         */
+        private int offset;
+        /**
+         * the {@link #text} if it is the {@code String}
+         */
+        private String string;
+        /**
+         * the {@link #text} if it is the {@code StringBuilder}
+         */
+        private StringBuilder builder;
 
         private State theBestState;
+        /**
+         * Flight Recorder event of the current search, or null if the events are not supported
+         */
+        private final Object searchEvent = FlightRecorderEvents.searchEvent();
 
         protected Matcher(CharSequence text, int fromIndex, int toIndex) {
             maxDistance = maxLevenshteinDistance;
@@ -86,12 +312,194 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
 
         @Override
         public void reset(CharSequence text, int fromIndex, int toIndex) {
+            if (searchEvent != null) FlightRecorderEvents.searchStarted(searchEvent, this);
             this.text = text;
+            selectScanPath(text);
             this.fromIndex = Math.max(0, fromIndex);
             this.index = this.fromIndex - 1;
             this.toIndex = Math.max(fromIndex, Math.min(text.length(), toIndex));
+            this.continuable = false;
+            this.partial = false;
+            this.cancelled = false;
+            Arrays.fill(this.startCostPositions, Integer.MIN_VALUE);
+            this.nextCheck = this.fromIndex + CHECK_INTERVAL;
+            if (MatcherStats.ENABLED) stats.reset();
+        }
+
+        /**
+         * Selects the loop over the characters of the text by its type, so the scan loops don't call
+         * {@code CharSequence.charAt} of different classes at the same call site, which stops its inlining
+         * once more than two classes are seen there (i.e. it becomes megamorphic)
+         *
+         * @param text new text to scan
+         */
+        private void selectScanPath(CharSequence text) {
+            string = null;
+            builder = null;
+            chars = null;
+            bytes = null;
+            buffer = null;
+            decoding = null;
+            if (text instanceof String) {
+                scanPath = STRING;
+                string = (String) text;
+            } else if (text instanceof StringBuilder) {
+                scanPath = STRING_BUILDER;
+                builder = (StringBuilder) text;
+            } else if (text instanceof CharBuffer && ((CharBuffer) text).hasArray()) {
+                final CharBuffer array = (CharBuffer) text;
+                scanPath = CHARS;
+                chars = array.array();
+                offset = array.arrayOffset() + array.position();
+            } else if (text instanceof CharArrayText) {
+                scanPath = CHARS;
+                chars = ((CharArrayText) text).array();
+                offset = ((CharArrayText) text).arrayOffset();
+            } else if (text instanceof ByteBufferText) {
+                final ByteBufferText view = (ByteBufferText) text;
+                decoding = view.decoding();
+                if (view.buffer.hasArray()) {
+                    scanPath = decoding != null ? BYTES : UTF16_BYTES;
+                    bytes = view.buffer.array();
+                    offset = view.buffer.arrayOffset() + view.offset;
+                } else {
+                    scanPath = decoding != null ? BYTE_BUFFER : UTF16_BUFFER;
+                    buffer = view.buffer;
+                    offset = view.offset;
+                }
+            } else {
+                scanPath = SEQUENCE;
+            }
+        }
+
+        /**
+         * Returns the character of the text by the path selected on the reset, it is used out of the scan loops,
+         * e.g. by the traceback of the edit operations and by the {@link #testNextSymbol()}
+         *
+         * @param index index of the character in the {@link #text}
+         * @return the character
+         */
+        final char symbolAt(int index) {
+            switch (scanPath) {
+                case CHARS:
+                    return chars[offset + index];
+                case STRING:
+                    return string.charAt(index);
+                case STRING_BUILDER:
+                    return builder.charAt(index);
+                case BYTES:
+                    return decoding[bytes[offset + index] & 0xFF];
+                case UTF16_BYTES:
+                    return ByteBufferText.utf16Le(bytes, offset + (index << 1));
+                case BYTE_BUFFER:
+                    return decoding[buffer.get(offset + index) & 0xFF];
+                case UTF16_BUFFER:
+                    return buffer.getChar(offset + (index << 1));
+                default:
+                    return text.charAt(index);
+            }
+        }
+
+        /**
+         * Tests characters after the current {@link #index} up to the limit and stops at the first matching.
+         * Every kind of the text has its own loop selected on the reset (see {@link #selectScanPath(CharSequence)}),
+         * so the kind is checked once per call, and the characters are read by the array access or by the call
+         * of the final class, which is inlined regardless of the texts scanned before.
+         *
+         * @param limit index after the last character to test
+         * @return true if the pattern is matched at the current {@link #index}, otherwise the index is the limit
+         */
+        private boolean scanTo(int limit) {
+            switch (scanPath) {
+                case CHARS: {
+                    final char[] chars = this.chars;
+                    final int offset = this.offset;
+                    while (++index < limit) if (testNextSymbol(chars[offset + index])) return true;
+                    return false;
+                }
+                case STRING: {
+                    final String string = this.string;
+                    while (++index < limit) if (testNextSymbol(string.charAt(index))) return true;
+                    return false;
+                }
+                case STRING_BUILDER: {
+                    final StringBuilder builder = this.builder;
+                    while (++index < limit) if (testNextSymbol(builder.charAt(index))) return true;
+                    return false;
+                }
+                case BYTES: {
+                    final byte[] bytes = this.bytes;
+                    final char[] decoding = this.decoding;
+                    final int offset = this.offset;
+                    while (++index < limit) if (testNextSymbol(decoding[bytes[offset + index] & 0xFF])) return true;
+                    return false;
+                }
+                case UTF16_BYTES: {
+                    final byte[] bytes = this.bytes;
+                    final int offset = this.offset;
+                    while (++index < limit) if (testNextSymbol(ByteBufferText.utf16Le(bytes, offset + (index << 1)))) return true;
+                    return false;
+                }
+                case BYTE_BUFFER: {
+                    final ByteBuffer buffer = this.buffer;
+                    final char[] decoding = this.decoding;
+                    final int offset = this.offset;
+                    while (++index < limit) if (testNextSymbol(decoding[buffer.get(offset + index) & 0xFF])) return true;
+                    return false;
+                }
+                case UTF16_BUFFER: {
+                    final ByteBuffer buffer = this.buffer;
+                    final int offset = this.offset;
+                    while (++index < limit) if (testNextSymbol(buffer.getChar(offset + (index << 1)))) return true;
+                    return false;
+                }
+                default: {
+                    final CharSequence text = this.text;
+                    while (++index < limit) if (testNextSymbol(text.charAt(index))) return true;
+                    return false;
+                }
+            }
+        }
+
+        @Override
+        public final void resetState() {
+            if (MatcherStats.ENABLED) stats.stateReset();
+            scanStart = index + 1;
+            Arrays.fill(startCostPositions, Integer.MIN_VALUE);
+            initializeState();
+        }
+
+        /**
+         * Initializes bit masks to start search from the next position, see {@link #resetState()}
+         */
+        abstract void initializeState();
+
+        @Override
+        public final boolean testNextSymbol() {
+            return testNextSymbol(symbolAt(index));
         }
 
+        /**
+         * Same as {@link #testNextSymbol()} for the character read by the caller
+         *
+         * @param symbol character at the current {@link #index}
+         * @return true if next position has matching with pattern
+         */
+        private boolean testNextSymbol(char symbol) {
+            final boolean matched = nextSymbol(symbol);
+            // rows of all distances up to the found one are computed
+            if (MatcherStats.ENABLED) stats.scanned(levenshteinDistance + 1, matched);
+            return matched;
+        }
+
+        /**
+         * Updates bit masks by the character at the current {@link #index}, see {@link #testNextSymbol()}
+         *
+         * @param symbol character at the current {@link #index}
+         * @return true if next position has matching with pattern
+         */
+        abstract boolean nextSymbol(char symbol);
+
         @Override
         public CharSequence text() {
             return text;
@@ -99,10 +507,23 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
 
         @Override
         public boolean find() {
+            if (searchEvent != null) FlightRecorderEvents.finding(searchEvent);
+            final boolean found = overlapping ? findOverlapping() : findNext();
+            if (searchEvent != null) FlightRecorderEvents.searched(searchEvent, this, found);
+            return found;
+        }
+
+        /**
+         * Finds the next not overlapped matching, improving it within the maximal length of the matching
+         *
+         * @return true if the next matching was found
+         */
+        private boolean findNext() {
             resetState();
-            if (toIndex - index <= 1) return false;
-            while (++index < toIndex) {
-                if (testNextSymbol()) {
+            while (toIndex - index > 1) {
+                if (checkpoint()) return false;
+                final int limit = Math.min(toIndex, nextCheck);
+                if (scanTo(limit)) {
                     final int maxDistanceCopy = maxDistance;
                     final int totalLengthChanges = sumLengthChanges();
                     final int maxIndex = Math.min(toIndex, index + totalLengthChanges + maxDistance + 1);
@@ -110,10 +531,224 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
                     maxDistance = maxDistanceCopy;
                     return true;
                 }
+                if (limit == toIndex) return false;
+                // back to the last tested character
+                index--;
+            }
+            return false;
+        }
+
+        /**
+         * Checks the cancellation once the block of {@link #CHECK_INTERVAL} characters is scanned, so the check doesn't
+         * slow down the loop over characters. The block is counted across the {@link #find()} calls, otherwise
+         * the text with matchings closer than the block would be scanned till the end without the checks.
+         *
+         * @return true if the search has to be stopped
+         */
+        private boolean checkpoint() {
+            if (index + 1 < nextCheck) return false;
+            nextCheck = index + 1 + CHECK_INTERVAL;
+            return stopped();
+        }
+
+        /**
+         * Stops the current and all next {@link #find()} calls of this matcher till its next {@link #reset},
+         * it can be called from any thread
+         */
+        void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Checks the cancellation between blocks of the scanned characters, see {@link #checkpoint()}
+         *
+         * @return true if the search has to be stopped
+         */
+        private boolean stopped() {
+            if (!cancelled && (cancellation == null || !cancellation.isCancelled())) return false;
+            partial = true;
+            return true;
+        }
+
+        /**
+         * Continues the scan from the next position with the bit masks of the previous one,
+         * so every position where the pattern is matched is reported only once and the prefix of the region is not rescanned.
+         *
+         * @return true if the pattern is matched at the next position
+         */
+        private boolean findOverlapping() {
+            if (!continuable) {
+                resetState();
+                continuable = true;
+            }
+            while (toIndex - index > 1) {
+                if (checkpoint()) return false;
+                final int limit = Math.min(toIndex, nextCheck);
+                if (scanTo(limit)) {
+                    completeRows();
+                    return true;
+                }
+                if (limit == toIndex) return false;
+                index--;
             }
             return false;
         }
 
+        /**
+         * Computes bit masks for the distances above the found {@link #levenshteinDistance} at the current {@link #index},
+         * which are skipped by {@link #testNextSymbol()} once the matching is found,
+         * so the scan can be continued from this position.
+         */
+        abstract void completeRows();
+
+        @Override
+        public Optional<FuzzyResult> findTheBest(boolean includeOverlapped) {
+            if (!includeOverlapped || overlapping)
+                return IterativeFuzzyMatcher.super.findTheBest(false);
+            overlapping = true;
+            continuable = false;
+            try {
+                return IterativeFuzzyMatcher.super.findTheBest(false);
+            } finally {
+                overlapping = false;
+            }
+        }
+
+        @Override
+        public boolean matches() {
+            final int length = toIndex - fromIndex;
+            index = fromIndex - 1;
+            if (length == 0 || Math.abs(length - BaseBitap.this.pattern.length()) > maxDistance) {
+                // the region is too short or too long to match the pattern within the allowed distance
+                index = toIndex;
+                return false;
+            }
+            anchoredStart = true;
+            anchoredEnd = true;
+            continuable = false;
+            try {
+                resetState();
+                return scanTo(toIndex);
+            } finally {
+                anchoredStart = false;
+                anchoredEnd = false;
+            }
+        }
+
+        @Override
+        public boolean lookingAt() {
+            final int regionEnd = toIndex;
+            index = fromIndex - 1;
+            // matching can not be longer than the pattern with all allowed deletions
+            toIndex = Math.min(toIndex, fromIndex + BaseBitap.this.pattern.length() + maxDistance);
+            anchoredStart = true;
+            continuable = false;
+            try {
+                if (findNext()) {
+                    return true;
+                }
+                index = regionEnd;
+                return false;
+            } finally {
+                anchoredStart = false;
+                toIndex = regionEnd;
+            }
+        }
+
+        @Override
+        public FuzzyMatcher useWordBoundaries(boolean wordBoundaries) {
+            this.wordBoundaries = wordBoundaries;
+            Arrays.fill(this.startCostPositions, Integer.MIN_VALUE);
+            return this;
+        }
+
+        @Override
+        public boolean hasWordBoundaries() {
+            return wordBoundaries;
+        }
+
+        @Override
+        public FuzzyMatcher useOverlapping(boolean overlapping) {
+            this.overlapping = overlapping;
+            this.continuable = false;
+            return this;
+        }
+
+        @Override
+        public boolean isOverlapping() {
+            return overlapping;
+        }
+
+        @Override
+        public FuzzyMatcher useCancellation(CancellationToken token) {
+            this.cancellation = token;
+            return this;
+        }
+
+        @Override
+        public boolean partial() {
+            return partial;
+        }
+
+        /**
+         * Checks that the matching which ends at the current {@link #index} doesn't split a word
+         *
+         * @return true if the end of the matching is allowed
+         */
+        final boolean acceptableEnd() {
+            return !wordBoundaries || !splitsWord(text, index + 1);
+        }
+
+        /**
+         * Returns the bit shifted into the bit masks (at the position before the first pattern character),
+         * i.e. whether the empty prefix of the pattern is matched at the boundary before the character
+         * within the specified distance, see {@link #startCost(int)}.
+         * Always returns 0 for the not constrained matching, which can start anywhere.
+         *
+         * @param consumed amount of characters consumed from the {@link #fromIndex}
+         * @param distance Levenshtein distance of the bit mask
+         * @return 1 if the empty prefix of the pattern can not be matched, otherwise - 0
+         */
+        final int startBit(int consumed, int distance) {
+            if (!anchoredStart && !wordBoundaries) return 0;
+            return (distance - startCost(fromIndex + consumed)) >>> 31;
+        }
+
+        /**
+         * Returns the Levenshtein distance of the empty prefix of the pattern at the boundary before the character
+         * at the position: the amount of characters after the closest allowed start of the matching, which have to be
+         * deleted. The matching anchored to the start can start at the {@link #fromIndex} only, and in the word boundaries
+         * mode the matching can't start inside a word, so the start constraint is a part of the bit masks
+         * and the found distance is the minimal one among the alignments with the allowed start.
+         *
+         * @param position index of the character after the boundary
+         * @return the distance, or {@link Integer#MAX_VALUE} if there is no allowed start within the maximal distance
+         */
+        private int startCost(int position) {
+            if (anchoredStart)
+                return wordBoundaries && splitsWord(text, fromIndex) ? Integer.MAX_VALUE : position - fromIndex;
+            if (position < scanStart) return Integer.MAX_VALUE;
+            final int slot = position & 1;
+            if (startCostPositions[slot] == position) return startCosts[slot];
+            int cost = Integer.MAX_VALUE;
+            if (!splitsWord(text, position)) {
+                cost = 0;
+            } else if (startCostPositions[slot ^ 1] == position - 1) {
+                final int previous = startCosts[slot ^ 1];
+                if (previous < maxLevenshteinDistance) cost = previous + 1;
+            } else {
+                for (int p = position - 1, c = 1; p >= scanStart && c <= maxLevenshteinDistance; p--, c++) {
+                    if (!splitsWord(text, p)) {
+                        cost = c;
+                        break;
+                    }
+                }
+            }
+            startCostPositions[slot] = position;
+            startCosts[slot] = cost;
+            return cost;
+        }
+
         @Override
         public int to() {
             return toIndex;
@@ -153,6 +788,7 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
             if (theBestState == null) theBestState = new State();
             theBestState.getFromMatcher(sumLengthChanges());
             while (++index < maxIndex) {
+                if (MatcherStats.ENABLED) stats.improveIteration();
                 if (testNextSymbol()) {
                     if (levenshteinDistance < theBestState.levenshteinDistance) {
                         theBestState.getFromMatcher(sumLengthChanges());
@@ -171,6 +807,7 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
         @Override
         public void setIndex(int index) {
             this.index = index;
+            this.continuable = false;
         }
 
         @Override
@@ -180,6 +817,9 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
 
         @Override
         public void setMaxDistance(int maxDistance) {
+            maxDistance = Math.min(maxDistance, maxLevenshteinDistance);
+            // bit masks of the distances above the previous maximum were not computed
+            if (maxDistance > this.maxDistance) continuable = false;
             this.maxDistance = maxDistance;
         }
 
@@ -242,6 +882,17 @@ abstract class BaseBitap implements FuzzyPattern, IterativeFuzzyMatcherProvider
         }
 
 
+        /**
+         * Copies edit operations of the current matching without streaming, see {@link #streamEditTypes()}
+         *
+         * @return ordinals of the {@link OperationType} of the edit operations
+         */
+        int[] copyEditOrdinals() {
+            final int[] result = new int[levenshteinDistance];
+            for (int i = 0; i < levenshteinDistance; i++) result[i] = lengthChanges[i + 1] + 2;
+            return result;
+        }
+
         @Override
         public Stream<OperationType> streamEditTypes() {
             if (levenshteinDistance == 0)
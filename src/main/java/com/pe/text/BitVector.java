@@ -52,6 +52,16 @@ final class BitVector {
         return true;
     }
 
+    /**
+     * Returns true if the bit at the specified index has zero, otherwise - false
+     *
+     * @param bitIndex index of the bit to check
+     * @return true if the bit at the specified index has zero, otherwise - false
+     */
+    boolean hasZeroAt(final int bitIndex) {
+        return 0L == (words[bitIndex >>> 6] & (1L << (bitIndex & 63)));
+    }
+
     /**
      * Returns true if the last bit (specified at constructor) has zero, otherwise - false
      *
@@ -130,6 +140,17 @@ final class BitVector {
         return this;
     }
 
+    /**
+     * Performs bitwise OR (|) operation of the lowest bit of this instance with the specified bit.
+     *
+     * @param bit 0 or 1 to combine with the lowest bit
+     * @return this mutated instance
+     */
+    BitVector orLowestBit(final long bit) {
+        words[0] |= bit;
+        return this;
+    }
+
     /**
      * Shifts left all bits on the specified amount of bits {@code << bitsCount} in this instance
      *
@@ -18,6 +18,11 @@ class Bitap32 extends BaseBitap {
      */
     private final int lastBitMask;
 
+    /**
+     * Per-thread state buffers (previous and current rows) for {@link #scanChars(char[], int, int)}
+     */
+    private final ScanState<int[]> scanRows = new ScanState<>(() -> new int[(maxLevenshteinDistance() + 1) << 1]);
+
     public Bitap32(CharSequence pattern, int maxLevenshteinDistance) {
         this(pattern, maxLevenshteinDistance, false);
     }
@@ -48,6 +53,40 @@ class Bitap32 extends BaseBitap {
         }
     }
 
+    @Override
+    boolean scanChars(char[] chars, int fromIndex, int toIndex) {
+        final int maxDistance = maxLevenshteinDistance();
+        final int[] rows = scanRows.get();
+        try {
+            int previous = 0;
+            int current = maxDistance + 1;
+            int mask = -1;
+            for (int i = 0; i <= maxDistance; i++, mask <<= 1) rows[i] = mask;
+            for (int index = fromIndex; index < toIndex; index++) {
+                final int charPositions = positionMasks.get(chars[index]);
+                int row = rows[current] = (rows[previous] << 1) | charPositions;
+                if (0 == (row & lastBitMask)) return true;
+                for (int d = 1; d <= maxDistance; d++) {
+                    final int deletion = rows[previous + d - 1];
+                    row = rows[current + d] = (row << 1) & deletion & (deletion << 1)
+                            & ((rows[previous + d] << 1) | charPositions);
+                    if (0 == (row & lastBitMask)) return true;
+                }
+                final int swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return false;
+        } finally {
+            scanRows.release(rows);
+        }
+    }
+
+    @Override
+    String tableStrategy() {
+        return positionMasks.tableStrategy();
+    }
+
     @Override
     public IterativeFuzzyMatcher getIterativeMatcher(CharSequence text, int fromIndex, int toIndex) {
         return new Matcher(text, fromIndex, toIndex);
@@ -60,11 +99,11 @@ class Bitap32 extends BaseBitap {
 
         private Matcher(CharSequence text, int fromIndex, int toIndex) {
             super(text, fromIndex, toIndex);
-            matchings = new int[pattern().text().length() + maxDistance][maxDistance + 1];
+            matchings = new int[pattern().text().length() + maxDistance + 1][maxDistance + 1];
         }
 
         @Override
-        public void resetState() {
+        void initializeState() {
             matchingsIndex = 0;
             int mask = -1;
             int[] first = matchings[0];
@@ -72,11 +111,12 @@ class Bitap32 extends BaseBitap {
         }
 
         @Override
-        public boolean testNextSymbol() {
-            int charPositions = Bitap32.this.positionMasks.get(text.charAt(index));
-            int[] previous = matchings[matchingsIndex++];
+        boolean nextSymbol(char symbol) {
+            if (anchoredStart || wordBoundaries) return testNextSymbolConstrained(symbol);
+            final int charPositions = Bitap32.this.positionMasks.get(symbol);
+            final int[] previous = matchings[matchingsIndex++];
             if (matchingsIndex == matchings.length) matchingsIndex = 0;
-            int[] current = matchings[matchingsIndex];
+            final int[] current = matchings[matchingsIndex];
             levenshteinDistance = 0;
             current[0] = (previous[0] << 1) | charPositions;
             if (0 == (current[0] & Bitap32.this.lastBitMask)) {
@@ -87,58 +127,136 @@ class Bitap32 extends BaseBitap {
                 // insert correct character after the current
                 final int insertion = current[levenshteinDistance] << 1;
                 // delete current character
-                int deletion = previous[levenshteinDistance++];
+                final int deletion = previous[levenshteinDistance++];
                 // replace current character with correct one
-                int substitution = deletion << 1;
+                final int substitution = deletion << 1;
                 // get current character as is
-                int matching = (previous[levenshteinDistance] << 1) | charPositions;
+                final int matching = (previous[levenshteinDistance] << 1) | charPositions;
                 final int combined = current[levenshteinDistance] = insertion & deletion & substitution & matching;
-                final boolean found = 0 == (combined & Bitap32.this.lastBitMask);
-                if (found) {
+                if (0 == (combined & Bitap32.this.lastBitMask)) {
                     if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
-                    int reverseLevensteinDistance = levenshteinDistance;
-                    int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
-                    int reverseIndex = index;
-                    int reverseLastBitMask = Bitap32.this.lastBitMask;
-                    do {
-                        boolean inserted = false;
-                        if ((matching & reverseLastBitMask) == 0) {
-                            reverseLastBitMask >>>= 1;
-                        } else if ((deletion & reverseLastBitMask) == 0) {
-                            lengthChanges[reverseLevensteinDistance--] = -1;
-                        } else if (((deletion << 1) & reverseLastBitMask) == 0) {
-                            lengthChanges[reverseLevensteinDistance--] = 0;
-                            reverseLastBitMask >>>= 1;
-                        } else {
-                            lengthChanges[reverseLevensteinDistance--] = 1;
-                            reverseLastBitMask >>>= 1;
-                            inserted = true;
-                        }
-
-                        if (reverseLevensteinDistance == 0) {
-                            return true;
-                        }
-
-                        if (!inserted) {
-                            if (reverseIndex > from()) {
-                                charPositions = Bitap32.this.positionMasks.get(text.charAt(--reverseIndex));
-                                reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
-                                previous = matchings[reverseMatchingsIndex];
-                            } else {
-                                // only insertions can be here
-                                while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
-                                return true;
-                            }
-                        }
-
-                        deletion = previous[reverseLevensteinDistance - 1];
-                        matching = (previous[reverseLevensteinDistance] << 1) | charPositions;
-                    } while (true);
+                    traceback();
+                    return true;
                 }
             }
             return false;
         }
 
+        /**
+         * Same as {@link #testNextSymbol()}, but for the constrained matching. If it is anchored to the start of the region,
+         * bits shifted into the masks are set only while all consumed characters can be deleted,
+         * and, if the matching is anchored to the end of the region, only the last position is accepted.
+         * In the word boundaries mode the position is skipped if it splits a word, and the bits shifted into the masks
+         * are set only while the deleted characters reach back to the start of a word, see {@link #startCost(int)}.
+         *
+         * @param symbol character at the current {@link #index}
+         * @return true if next position has matching with pattern
+         */
+        private boolean testNextSymbolConstrained(char symbol) {
+            final int consumed = index - from();
+            final int charPositions = Bitap32.this.positionMasks.get(symbol);
+            final int[] previous = matchings[matchingsIndex++];
+            if (matchingsIndex == matchings.length) matchingsIndex = 0;
+            final int[] current = matchings[matchingsIndex];
+            final boolean acceptable = (!anchoredEnd || index == toIndex - 1) && acceptableEnd();
+            levenshteinDistance = 0;
+            current[0] = (previous[0] << 1) | charPositions | startBit(consumed, 0);
+            if (acceptable && 0 == (current[0] & Bitap32.this.lastBitMask)) {
+                if (lengthChanges.length > 1) lengthChanges[1] = 0;
+                return true;
+            }
+            while (levenshteinDistance < maxDistance) {
+                final int insertion = (current[levenshteinDistance] << 1) | startBit(consumed + 1, levenshteinDistance);
+                final int deletion = previous[levenshteinDistance++];
+                final int substitution = (deletion << 1) | startBit(consumed, levenshteinDistance - 1);
+                final int matching = (previous[levenshteinDistance] << 1) | charPositions
+                        | startBit(consumed, levenshteinDistance);
+                final int combined = current[levenshteinDistance] = insertion & deletion & substitution & matching;
+                if (acceptable && 0 == (combined & Bitap32.this.lastBitMask)) {
+                    if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
+                    traceback();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        void completeRows() {
+            final int consumed = index - from();
+            final int charPositions = Bitap32.this.positionMasks.get(symbolAt(index));
+            final int[] previous = matchings[(matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1];
+            final int[] current = matchings[matchingsIndex];
+            for (int d = levenshteinDistance + 1; d <= maxDistance; d++) {
+                final int insertion = (current[d - 1] << 1) | startBit(consumed + 1, d - 1);
+                final int deletion = previous[d - 1];
+                final int substitution = (deletion << 1) | startBit(consumed, d - 1);
+                final int matching = (previous[d] << 1) | charPositions | startBit(consumed, d);
+                current[d] = insertion & deletion & substitution & matching;
+            }
+        }
+
+        /**
+         * Restores {@link #lengthChanges} of the matching found at the current {@link #index}
+         * with the current {@link #levenshteinDistance} walking back through the stored bit masks.
+         */
+        private void traceback() {
+            int reverseLevensteinDistance = levenshteinDistance;
+            int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
+            int reverseIndex = index;
+            // amount of characters before the reverseIndex, used by the matching anchored to the start
+            int consumed = reverseIndex - from();
+            int reverseLastBitMask = Bitap32.this.lastBitMask;
+            int charPositions = Bitap32.this.positionMasks.get(symbolAt(reverseIndex));
+            int[] previous = matchings[reverseMatchingsIndex];
+            int deletion = previous[reverseLevensteinDistance - 1];
+            int matching = (previous[reverseLevensteinDistance] << 1) | charPositions
+                    | startBit(consumed, reverseLevensteinDistance);
+            do {
+                if (MatcherStats.ENABLED) stats.tracebackStep();
+                boolean inserted = false;
+                if ((matching & reverseLastBitMask) == 0) {
+                    reverseLastBitMask >>>= 1;
+                } else if ((deletion & reverseLastBitMask) == 0) {
+                    lengthChanges[reverseLevensteinDistance--] = -1;
+                } else if ((((deletion << 1) | startBit(consumed, reverseLevensteinDistance - 1)) & reverseLastBitMask) == 0) {
+                    lengthChanges[reverseLevensteinDistance--] = 0;
+                    reverseLastBitMask >>>= 1;
+                } else {
+                    lengthChanges[reverseLevensteinDistance--] = 1;
+                    reverseLastBitMask >>>= 1;
+                    inserted = true;
+                }
+
+                if (reverseLevensteinDistance == 0) {
+                    return;
+                }
+
+                if ((anchoredStart || wordBoundaries) && reverseLastBitMask == 0) {
+                    // the whole pattern is matched, so all remaining characters back to the allowed start are deleted
+                    while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = -1;
+                    return;
+                }
+
+                if (!inserted) {
+                    if (reverseIndex > scanStart) {
+                        charPositions = Bitap32.this.positionMasks.get(symbolAt(--reverseIndex));
+                        consumed--;
+                        reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
+                        previous = matchings[reverseMatchingsIndex];
+                    } else {
+                        // only insertions can be here
+                        while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
+                        return;
+                    }
+                }
+
+                deletion = previous[reverseLevensteinDistance - 1];
+                matching = (previous[reverseLevensteinDistance] << 1) | charPositions
+                        | startBit(consumed, reverseLevensteinDistance);
+            } while (true);
+        }
+
     }
 
-}
\ No newline at end of file
+}
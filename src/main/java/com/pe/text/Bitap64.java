@@ -18,6 +18,11 @@ class Bitap64 extends BaseBitap {
      */
     private final long lastBitMask;
 
+    /**
+     * Per-thread state buffers (previous and current rows) for {@link #scanChars(char[], int, int)}
+     */
+    private final ScanState<long[]> scanRows = new ScanState<>(() -> new long[(maxLevenshteinDistance() + 1) << 1]);
+
     Bitap64(CharSequence pattern, int maxLevenshteinDistance) {
         this(pattern, maxLevenshteinDistance, false);
     }
@@ -47,6 +52,40 @@ class Bitap64 extends BaseBitap {
         }
     }
 
+    @Override
+    boolean scanChars(char[] chars, int fromIndex, int toIndex) {
+        final int maxDistance = maxLevenshteinDistance();
+        final long[] rows = scanRows.get();
+        try {
+            int previous = 0;
+            int current = maxDistance + 1;
+            long mask = -1L;
+            for (int i = 0; i <= maxDistance; i++, mask <<= 1) rows[i] = mask;
+            for (int index = fromIndex; index < toIndex; index++) {
+                final long charPositions = positionMasks.get(chars[index]);
+                long row = rows[current] = (rows[previous] << 1) | charPositions;
+                if (0L == (row & lastBitMask)) return true;
+                for (int d = 1; d <= maxDistance; d++) {
+                    final long deletion = rows[previous + d - 1];
+                    row = rows[current + d] = (row << 1) & deletion & (deletion << 1)
+                            & ((rows[previous + d] << 1) | charPositions);
+                    if (0L == (row & lastBitMask)) return true;
+                }
+                final int swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return false;
+        } finally {
+            scanRows.release(rows);
+        }
+    }
+
+    @Override
+    String tableStrategy() {
+        return positionMasks.tableStrategy();
+    }
+
     @Override
     public IterativeFuzzyMatcher getIterativeMatcher(CharSequence text, int fromIndex, int toIndex) {
         return new Matcher(text, fromIndex, toIndex);
@@ -59,11 +98,11 @@ class Bitap64 extends BaseBitap {
 
         private Matcher(CharSequence text, int fromIndex, int toIndex) {
             super(text, fromIndex, toIndex);
-            matchings = new long[pattern().text().length() + maxDistance][maxDistance + 1];
+            matchings = new long[pattern().text().length() + maxDistance + 1][maxDistance + 1];
         }
 
         @Override
-        public void resetState() {
+        void initializeState() {
             matchingsIndex = 0;
             long mask = -1L;
             long[] first = matchings[0];
@@ -71,11 +110,12 @@ class Bitap64 extends BaseBitap {
         }
 
         @Override
-        public boolean testNextSymbol() {
-            long charPositions = Bitap64.this.positionMasks.get(text.charAt(index));
-            long[] previous = matchings[matchingsIndex++];
+        boolean nextSymbol(char symbol) {
+            if (anchoredStart || wordBoundaries) return testNextSymbolConstrained(symbol);
+            final long charPositions = Bitap64.this.positionMasks.get(symbol);
+            final long[] previous = matchings[matchingsIndex++];
             if (matchingsIndex == matchings.length) matchingsIndex = 0;
-            long[] current = matchings[matchingsIndex];
+            final long[] current = matchings[matchingsIndex];
             levenshteinDistance = 0;
             current[0] = (previous[0] << 1) | charPositions;
             if (0L == (current[0] & Bitap64.this.lastBitMask)) {
@@ -86,59 +126,136 @@ class Bitap64 extends BaseBitap {
                 // insert correct character after the current
                 final long insertion = current[levenshteinDistance] << 1;
                 // delete current character
-                long deletion = previous[levenshteinDistance++];
-                // insert correct character after the current
+                final long deletion = previous[levenshteinDistance++];
                 // replace current character with correct one
-                long substitution = deletion << 1;
+                final long substitution = deletion << 1;
                 // get current character as is
-                long matching = (previous[levenshteinDistance] << 1) | charPositions;
+                final long matching = (previous[levenshteinDistance] << 1) | charPositions;
+                final long combined = current[levenshteinDistance] = insertion & deletion & substitution & matching;
+                if (0L == (combined & Bitap64.this.lastBitMask)) {
+                    if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
+                    traceback();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Same as {@link #testNextSymbol()}, but for the constrained matching. If it is anchored to the start of the region,
+         * bits shifted into the masks are set only while all consumed characters can be deleted,
+         * and, if the matching is anchored to the end of the region, only the last position is accepted.
+         * In the word boundaries mode the position is skipped if it splits a word, and the bits shifted into the masks
+         * are set only while the deleted characters reach back to the start of a word, see {@link #startCost(int)}.
+         *
+         * @param symbol character at the current {@link #index}
+         * @return true if next position has matching with pattern
+         */
+        private boolean testNextSymbolConstrained(char symbol) {
+            final int consumed = index - from();
+            final long charPositions = Bitap64.this.positionMasks.get(symbol);
+            final long[] previous = matchings[matchingsIndex++];
+            if (matchingsIndex == matchings.length) matchingsIndex = 0;
+            final long[] current = matchings[matchingsIndex];
+            final boolean acceptable = (!anchoredEnd || index == toIndex - 1) && acceptableEnd();
+            levenshteinDistance = 0;
+            current[0] = (previous[0] << 1) | charPositions | startBit(consumed, 0);
+            if (acceptable && 0L == (current[0] & Bitap64.this.lastBitMask)) {
+                if (lengthChanges.length > 1) lengthChanges[1] = 0;
+                return true;
+            }
+            while (levenshteinDistance < maxDistance) {
+                final long insertion = (current[levenshteinDistance] << 1) | startBit(consumed + 1, levenshteinDistance);
+                final long deletion = previous[levenshteinDistance++];
+                final long substitution = (deletion << 1) | startBit(consumed, levenshteinDistance - 1);
+                final long matching = (previous[levenshteinDistance] << 1) | charPositions
+                        | startBit(consumed, levenshteinDistance);
                 final long combined = current[levenshteinDistance] = insertion & deletion & substitution & matching;
-                final boolean found = 0L == (combined & Bitap64.this.lastBitMask);
-                if (found) {
+                if (acceptable && 0L == (combined & Bitap64.this.lastBitMask)) {
                     if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
-                    int reverseLevensteinDistance = levenshteinDistance;
-                    int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
-                    int reverseIndex = index;
-                    long reverseLastBitMask = Bitap64.this.lastBitMask;
-                    do {
-                        boolean inserted = false;
-                        if ((matching & reverseLastBitMask) == 0L) {
-                            reverseLastBitMask >>>= 1;
-                        } else if ((deletion & reverseLastBitMask) == 0L) {
-                            lengthChanges[reverseLevensteinDistance--] = -1;
-                        } else if (((deletion << 1) & reverseLastBitMask) == 0L) {
-                            lengthChanges[reverseLevensteinDistance--] = 0;
-                            reverseLastBitMask >>>= 1;
-                        } else {
-                            lengthChanges[reverseLevensteinDistance--] = 1;
-                            reverseLastBitMask >>>= 1;
-                            inserted = true;
-                        }
-
-                        if (reverseLevensteinDistance == 0) {
-                            return true;
-                        }
-
-                        if (!inserted) {
-                            if (reverseIndex > from()) {
-                                charPositions = Bitap64.this.positionMasks.get(text.charAt(--reverseIndex));
-                                reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
-                                previous = matchings[reverseMatchingsIndex];
-                            } else {
-                                // only insertions can be here
-                                while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
-                                return true;
-                            }
-                        }
-
-                        deletion = previous[reverseLevensteinDistance - 1];
-                        matching = (previous[reverseLevensteinDistance] << 1) | charPositions;
-                    } while (true);
+                    traceback();
+                    return true;
                 }
             }
             return false;
         }
 
+        @Override
+        void completeRows() {
+            final int consumed = index - from();
+            final long charPositions = Bitap64.this.positionMasks.get(symbolAt(index));
+            final long[] previous = matchings[(matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1];
+            final long[] current = matchings[matchingsIndex];
+            for (int d = levenshteinDistance + 1; d <= maxDistance; d++) {
+                final long insertion = (current[d - 1] << 1) | startBit(consumed + 1, d - 1);
+                final long deletion = previous[d - 1];
+                final long substitution = (deletion << 1) | startBit(consumed, d - 1);
+                final long matching = (previous[d] << 1) | charPositions | startBit(consumed, d);
+                current[d] = insertion & deletion & substitution & matching;
+            }
+        }
+
+        /**
+         * Restores {@link #lengthChanges} of the matching found at the current {@link #index}
+         * with the current {@link #levenshteinDistance} walking back through the stored bit masks.
+         */
+        private void traceback() {
+            int reverseLevensteinDistance = levenshteinDistance;
+            int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
+            int reverseIndex = index;
+            // amount of characters before the reverseIndex, used by the matching anchored to the start
+            int consumed = reverseIndex - from();
+            long reverseLastBitMask = Bitap64.this.lastBitMask;
+            long charPositions = Bitap64.this.positionMasks.get(symbolAt(reverseIndex));
+            long[] previous = matchings[reverseMatchingsIndex];
+            long deletion = previous[reverseLevensteinDistance - 1];
+            long matching = (previous[reverseLevensteinDistance] << 1) | charPositions
+                    | startBit(consumed, reverseLevensteinDistance);
+            do {
+                if (MatcherStats.ENABLED) stats.tracebackStep();
+                boolean inserted = false;
+                if ((matching & reverseLastBitMask) == 0L) {
+                    reverseLastBitMask >>>= 1;
+                } else if ((deletion & reverseLastBitMask) == 0L) {
+                    lengthChanges[reverseLevensteinDistance--] = -1;
+                } else if ((((deletion << 1) | startBit(consumed, reverseLevensteinDistance - 1)) & reverseLastBitMask) == 0L) {
+                    lengthChanges[reverseLevensteinDistance--] = 0;
+                    reverseLastBitMask >>>= 1;
+                } else {
+                    lengthChanges[reverseLevensteinDistance--] = 1;
+                    reverseLastBitMask >>>= 1;
+                    inserted = true;
+                }
+
+                if (reverseLevensteinDistance == 0) {
+                    return;
+                }
+
+                if ((anchoredStart || wordBoundaries) && reverseLastBitMask == 0L) {
+                    // the whole pattern is matched, so all remaining characters back to the allowed start are deleted
+                    while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = -1;
+                    return;
+                }
+
+                if (!inserted) {
+                    if (reverseIndex > scanStart) {
+                        charPositions = Bitap64.this.positionMasks.get(symbolAt(--reverseIndex));
+                        consumed--;
+                        reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
+                        previous = matchings[reverseMatchingsIndex];
+                    } else {
+                        // only insertions can be here
+                        while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
+                        return;
+                    }
+                }
+
+                deletion = previous[reverseLevensteinDistance - 1];
+                matching = (previous[reverseLevensteinDistance] << 1) | charPositions
+                        | startBit(consumed, reverseLevensteinDistance);
+            } while (true);
+        }
+
     }
 
-}
\ No newline at end of file
+}
@@ -12,6 +12,16 @@ class Bitap65Plus extends BaseBitap {
      */
     private final Char2ObjMap<BitVector> positionMasks;
 
+    /**
+     * Per-thread state buffers (previous and current rows, and one temporary vector)
+     * for {@link #scanChars(char[], int, int)}
+     */
+    private final ScanState<BitVector[]> scanRows = new ScanState<>(() -> {
+        final BitVector[] rows = new BitVector[((maxLevenshteinDistance() + 1) << 1) + 1];
+        for (int i = 0; i < rows.length; i++) rows[i] = new BitVector(text().length());
+        return rows;
+    });
+
     Bitap65Plus(CharSequence pattern, int maxLevenshteinDistance) {
         this(pattern, maxLevenshteinDistance, false);
     }
@@ -40,6 +50,47 @@ class Bitap65Plus extends BaseBitap {
         }
     }
 
+    @Override
+    boolean scanChars(char[] chars, int fromIndex, int toIndex) {
+        final int maxDistance = maxLevenshteinDistance();
+        final BitVector[] rows = scanRows.get();
+        try {
+            final BitVector temporary = rows[rows.length - 1];
+            int previous = 0;
+            int current = maxDistance + 1;
+            for (int i = 0; i <= maxDistance; i++) rows[i].resetToMinusOne().leftShift(i);
+            for (int index = fromIndex; index < toIndex; index++) {
+                final BitVector charPositions = positionMasks.get(chars[index]);
+                BitVector row = rows[current];
+                if (charPositions == null) {
+                    row.resetToMinusOne();
+                } else {
+                    row.setBitsFrom(rows[previous]).leftShift1().or(charPositions);
+                }
+                if (row.hasZeroAtTheLastBit()) return true;
+                for (int d = 1; d <= maxDistance; d++) {
+                    final BitVector deletion = rows[previous + d - 1];
+                    row = rows[current + d].setBitsFrom(row).leftShift1().and(deletion)
+                            .and(temporary.setBitsFrom(deletion).leftShift1());
+                    if (charPositions != null)
+                        row.and(temporary.setBitsFrom(rows[previous + d]).leftShift1().or(charPositions));
+                    if (row.hasZeroAtTheLastBit()) return true;
+                }
+                final int swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return false;
+        } finally {
+            scanRows.release(rows);
+        }
+    }
+
+    @Override
+    String tableStrategy() {
+        return positionMasks.tableStrategy();
+    }
+
     @Override
     public IterativeFuzzyMatcher getIterativeMatcher(CharSequence text, int fromIndex, int toIndex) {
         return new Matcher(text, fromIndex, toIndex);
@@ -56,7 +107,7 @@ class Bitap65Plus extends BaseBitap {
 
         private Matcher(CharSequence text, int fromIndex, int toIndex) {
             super(text, fromIndex, toIndex);
-            matchings = new BitVector[pattern().text().length() + maxDistance][maxDistance + 1];
+            matchings = new BitVector[pattern().text().length() + maxDistance + 1][maxDistance + 1];
             for (BitVector[] ms : matchings) {
                 for (int j = 0; j < ms.length; j++)
                     ms[j] = new BitVector(Bitap65Plus.this.text().length());
@@ -64,15 +115,16 @@ class Bitap65Plus extends BaseBitap {
         }
 
         @Override
-        public void resetState() {
+        void initializeState() {
             matchingsIndex = 0;
             BitVector[] first = matchings[0];
             for (int i = 0; i <= maxDistance; i++) first[i].resetToMinusOne().leftShift(i);
         }
 
         @Override
-        public boolean testNextSymbol() {
-            BitVector charPositions = Bitap65Plus.this.positionMasks.get(text.charAt(index));
+        boolean nextSymbol(char symbol) {
+            if (anchoredStart || wordBoundaries) return testNextSymbolConstrained(symbol);
+            BitVector charPositions = Bitap65Plus.this.positionMasks.get(symbol);
             BitVector[] previous = matchings[matchingsIndex++];
             if (matchingsIndex == matchings.length) matchingsIndex = 0;
             BitVector[] current = matchings[matchingsIndex];
@@ -103,55 +155,148 @@ class Bitap65Plus extends BaseBitap {
                     matching.setBitsFrom(previous[levenshteinDistance]).leftShift1().or(charPositions);
                     combined.and(matching);
                 }
-                final boolean found = combined.hasZeroAtTheLastBit();
-                if (found) {
+                if (combined.hasZeroAtTheLastBit()) {
+                    if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
+                    traceback();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Same as {@link #testNextSymbol()}, but for the constrained matching. If it is anchored to the start of the region,
+         * bits shifted into the masks are set only while all consumed characters can be deleted,
+         * and, if the matching is anchored to the end of the region, only the last position is accepted.
+         * In the word boundaries mode the position is skipped if it splits a word, and the bits shifted into the masks
+         * are set only while the deleted characters reach back to the start of a word, see {@link #startCost(int)}.
+         *
+         * @param symbol character at the current {@link #index}
+         * @return true if next position has matching with pattern
+         */
+        private boolean testNextSymbolConstrained(char symbol) {
+            final int consumed = index - from();
+            final BitVector charPositions = Bitap65Plus.this.positionMasks.get(symbol);
+            final BitVector[] previous = matchings[matchingsIndex++];
+            if (matchingsIndex == matchings.length) matchingsIndex = 0;
+            final BitVector[] current = matchings[matchingsIndex];
+            final boolean acceptable = (!anchoredEnd || index == toIndex - 1) && acceptableEnd();
+            levenshteinDistance = 0;
+            if (charPositions == null) {
+                current[0].resetToMinusOne();
+            } else {
+                current[0].setBitsFrom(previous[0])
+                        .leftShift1().or(charPositions).orLowestBit(startBit(consumed, 0));
+            }
+            if (acceptable && current[0].hasZeroAtTheLastBit()) {
+                if (lengthChanges.length > 1) lengthChanges[1] = 0;
+                return true;
+            }
+            while (levenshteinDistance < maxDistance) {
+                final BitVector deletion = previous[levenshteinDistance++];
+                substitution.setBitsFrom(deletion).leftShift1()
+                        .orLowestBit(startBit(consumed, levenshteinDistance - 1));
+                final BitVector combined = current[levenshteinDistance]
+                        .setBitsFrom(current[levenshteinDistance - 1]).leftShift1()
+                        .orLowestBit(startBit(consumed + 1, levenshteinDistance - 1))
+                        .and(deletion)
+                        .and(substitution);
+                if (charPositions != null) {
+                    matching.setBitsFrom(previous[levenshteinDistance]).leftShift1().or(charPositions)
+                            .orLowestBit(startBit(consumed, levenshteinDistance));
+                    combined.and(matching);
+                }
+                if (acceptable && combined.hasZeroAtTheLastBit()) {
                     if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
-                    int reverseLevensteinDistance = levenshteinDistance;
-                    int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
-                    int reverseIndex = index;
-                    reverseLastBitMask.resetToZero().setOneAt(Bitap65Plus.this.text().length() - 1);
-                    reverseDeletion.setBitsFrom(deletion);
-                    do {
-                        boolean inserted = false;
-                        if (charPositions != null && matching.and(reverseLastBitMask).isZero()) {
-                            reverseLastBitMask.rightUnsignedShift1();
-                        } else if (reverseDeletion.and(reverseLastBitMask).isZero()) {
-                            lengthChanges[reverseLevensteinDistance--] = -1;
-                        } else if (substitution.and(reverseLastBitMask).isZero()) {
-                            lengthChanges[reverseLevensteinDistance--] = 0;
-                            reverseLastBitMask.rightUnsignedShift1();
-                        } else {
-                            lengthChanges[reverseLevensteinDistance--] = 1;
-                            reverseLastBitMask.rightUnsignedShift1();
-                            inserted = true;
-                        }
-
-                        if (reverseLevensteinDistance == 0) {
-                            return true;
-                        }
-
-                        if (!inserted) {
-                            if (reverseIndex > from()) {
-                                charPositions = Bitap65Plus.this.positionMasks.get(text.charAt(--reverseIndex));
-                                reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
-                                previous = matchings[reverseMatchingsIndex];
-                            } else {
-                                // only insertions can be here
-                                while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
-                                return true;
-                            }
-                        }
-
-                        reverseDeletion.setBitsFrom(previous[reverseLevensteinDistance - 1]);
-                        substitution.setBitsFrom(reverseDeletion).leftShift1();
-                        if (charPositions != null)
-                            matching.setBitsFrom(previous[reverseLevensteinDistance]).leftShift1().or(charPositions);
-                    } while (true);
+                    traceback();
+                    return true;
                 }
             }
             return false;
         }
 
+        @Override
+        void completeRows() {
+            final int consumed = index - from();
+            final BitVector charPositions = Bitap65Plus.this.positionMasks.get(symbolAt(index));
+            final BitVector[] previous = matchings[(matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1];
+            final BitVector[] current = matchings[matchingsIndex];
+            for (int d = levenshteinDistance + 1; d <= maxDistance; d++) {
+                substitution.setBitsFrom(previous[d - 1]).leftShift1().orLowestBit(startBit(consumed, d - 1));
+                final BitVector combined = current[d]
+                        .setBitsFrom(current[d - 1]).leftShift1()
+                        .orLowestBit(startBit(consumed + 1, d - 1))
+                        .and(previous[d - 1])
+                        .and(substitution);
+                if (charPositions != null) {
+                    matching.setBitsFrom(previous[d]).leftShift1().or(charPositions)
+                            .orLowestBit(startBit(consumed, d));
+                    combined.and(matching);
+                }
+            }
+        }
+
+        /**
+         * Restores {@link #lengthChanges} of the matching found at the current {@link #index}
+         * with the current {@link #levenshteinDistance} walking back through the stored bit masks.
+         */
+        private void traceback() {
+            int reverseLevensteinDistance = levenshteinDistance;
+            int reverseMatchingsIndex = (matchingsIndex == 0 ? matchings.length : matchingsIndex) - 1;
+            int reverseIndex = index;
+            // amount of characters before the reverseIndex, used by the matching anchored to the start
+            int consumed = reverseIndex - from();
+            BitVector charPositions = Bitap65Plus.this.positionMasks.get(symbolAt(reverseIndex));
+            BitVector[] previous = matchings[reverseMatchingsIndex];
+            reverseLastBitMask.resetToZero().setOneAt(Bitap65Plus.this.text().length() - 1);
+            do {
+                if (MatcherStats.ENABLED) stats.tracebackStep();
+                reverseDeletion.setBitsFrom(previous[reverseLevensteinDistance - 1]);
+                substitution.setBitsFrom(reverseDeletion).leftShift1()
+                        .orLowestBit(startBit(consumed, reverseLevensteinDistance - 1));
+                if (charPositions != null)
+                    matching.setBitsFrom(previous[reverseLevensteinDistance]).leftShift1().or(charPositions)
+                            .orLowestBit(startBit(consumed, reverseLevensteinDistance));
+
+                boolean inserted = false;
+                if (charPositions != null && matching.and(reverseLastBitMask).isZero()) {
+                    reverseLastBitMask.rightUnsignedShift1();
+                } else if (reverseDeletion.and(reverseLastBitMask).isZero()) {
+                    lengthChanges[reverseLevensteinDistance--] = -1;
+                } else if (substitution.and(reverseLastBitMask).isZero()) {
+                    lengthChanges[reverseLevensteinDistance--] = 0;
+                    reverseLastBitMask.rightUnsignedShift1();
+                } else {
+                    lengthChanges[reverseLevensteinDistance--] = 1;
+                    reverseLastBitMask.rightUnsignedShift1();
+                    inserted = true;
+                }
+
+                if (reverseLevensteinDistance == 0) {
+                    return;
+                }
+
+                if ((anchoredStart || wordBoundaries) && reverseLastBitMask.isZero()) {
+                    // the whole pattern is matched, so all remaining characters back to the allowed start are deleted
+                    while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = -1;
+                    return;
+                }
+
+                if (!inserted) {
+                    if (reverseIndex > scanStart) {
+                        charPositions = Bitap65Plus.this.positionMasks.get(symbolAt(--reverseIndex));
+                        consumed--;
+                        reverseMatchingsIndex = (reverseMatchingsIndex == 0 ? matchings.length : reverseMatchingsIndex) - 1;
+                        previous = matchings[reverseMatchingsIndex];
+                    } else {
+                        // only insertions can be here
+                        while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
+                        return;
+                    }
+                }
+            } while (true);
+        }
+
     }
 
-}
\ No newline at end of file
+}
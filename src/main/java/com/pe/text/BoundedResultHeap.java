@@ -0,0 +1,77 @@
+package com.pe.text;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Bounded max-heap of the found matchings which keeps only the specified amount of the best (i.e. with minimal
+ * Levenshtein distance) ones. The worst kept matching is on the top of the heap, so its distance can be used
+ * to prune further search.
+ */
+final class BoundedResultHeap {
+
+    /**
+     * Orders matchings from the best to the worst: by distance, then by the start and end positions
+     * (i.e. the first matching in the text wins among matchings with the same distance)
+     */
+    static final Comparator<FuzzyResult> BEST_FIRST = Comparator.comparingInt(FuzzyResult::distance)
+            .thenComparingInt(FuzzyResult::start)
+            .thenComparingInt(FuzzyResult::end);
+
+    private final int capacity;
+    private final PriorityQueue<FuzzyResult> heap;
+
+    BoundedResultHeap(int capacity) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("amount of the best matchings must be positive, but was " + capacity);
+        this.capacity = capacity;
+        this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1, BEST_FIRST.reversed());
+    }
+
+    /**
+     * Returns true if the heap contains the specified amount of matchings, so only better ones can be added.
+     *
+     * @return true if the heap contains the specified amount of matchings, otherwise - false.
+     */
+    boolean isFull() {
+        return heap.size() >= capacity;
+    }
+
+    /**
+     * Returns distance of the worst matching in the heap.
+     *
+     * @return distance of the worst matching in the heap.
+     * @throws NullPointerException if the heap is empty.
+     */
+    int worstDistance() {
+        return heap.peek().distance();
+    }
+
+    /**
+     * Adds copy of the current matching if it is better than the worst kept one, or if the heap is not full yet.
+     *
+     * @param matcher matcher with the successfully found matching.
+     * @return true if the matching was added, otherwise - false.
+     */
+    boolean offer(FuzzyResult matcher) {
+        if (isFull() && matcher.distance() >= worstDistance())
+            return false;
+        heap.add(matcher instanceof FuzzyMatcher ? new FuzzyResultRecord((FuzzyMatcher) matcher) : matcher);
+        if (heap.size() > capacity)
+            heap.poll();
+        return true;
+    }
+
+    /**
+     * Returns kept matchings ordered from the best to the worst.
+     *
+     * @return kept matchings ordered from the best to the worst.
+     */
+    List<FuzzyResult> toList() {
+        final List<FuzzyResult> result = new ArrayList<>(heap);
+        result.sort(BEST_FIRST);
+        return result;
+    }
+}
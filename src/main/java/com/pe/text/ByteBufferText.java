@@ -0,0 +1,217 @@
+package com.pe.text;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Read-only view of the bytes of the {@link ByteBuffer} as characters in the fixed-width encoding,
+ * so the patterns read characters straight from the (direct or memory-mapped) buffer without decoding it to the {@code String}.
+ * The view starts at the position of the buffer and ends at its limit, characters are addressed by their index
+ * from the position, i.e. in the character coordinates of the buffer. Position and limit of the buffer are not changed.
+ * <p>
+ * Only absolute {@code get} methods of the buffer are used, since relative ones and {@code position(int)} have
+ * covariant overrides since Java 9, which are missing at Java 8 runtime.
+ * <p>
+ * US-ASCII bytes above {@code 0x7F} are malformed, they are read as the replacement character {@code U+FFFD},
+ * as the {@code new String(bytes, US_ASCII)} does, so they don't match the Latin-1 characters of the pattern.
+ * The matchers read heap buffers by their arrays, and direct buffers by their own loops,
+ * see {@link BaseBitap.Matcher#symbolAt(int)}.
+ */
+abstract class ByteBufferText implements CharSequence {
+
+    /**
+     * Characters of the single-byte encodings indexed by the unsigned value of the byte
+     */
+    private static final char[] LATIN1 = new char[256];
+    private static final char[] ASCII = new char[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            LATIN1[i] = (char) i;
+            ASCII[i] = i < 0x80 ? (char) i : '\uFFFD';
+        }
+    }
+
+    final ByteBuffer buffer;
+    /**
+     * index of the first byte of the view in the {@link #buffer}
+     */
+    final int offset;
+    private final int length;
+
+    private ByteBufferText(ByteBuffer buffer, int offset, int length) {
+        this.buffer = buffer;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    /**
+     * Creates the view of the remaining bytes of the buffer
+     *
+     * @param buffer  buffer with the text
+     * @param charset encoding of the text: {@link StandardCharsets#US_ASCII}, {@link StandardCharsets#ISO_8859_1}
+     *                or {@link StandardCharsets#UTF_16LE}
+     * @return text view of the buffer
+     * @throws NullPointerException     if the buffer or the charset is null
+     * @throws IllegalArgumentException if the charset is not supported
+     *                                  or the amount of the remaining bytes doesn't fit the UTF-16 characters
+     */
+    static ByteBufferText of(ByteBuffer buffer, Charset charset) {
+        Objects.requireNonNull(buffer, "buffer");
+        Objects.requireNonNull(charset, "charset");
+        // independent byte order and position of the caller's buffer
+        final ByteBuffer view = buffer.duplicate();
+        if (StandardCharsets.ISO_8859_1.equals(charset))
+            return new SingleByte(view, buffer.position(), buffer.remaining(), LATIN1);
+        if (StandardCharsets.US_ASCII.equals(charset))
+            return new SingleByte(view, buffer.position(), buffer.remaining(), ASCII);
+        if (StandardCharsets.UTF_16LE.equals(charset)) {
+            if ((buffer.remaining() & 1) != 0)
+                throw new IllegalArgumentException("UTF-16LE text has odd amount of bytes: " + buffer.remaining());
+            return new Utf16Le(view.order(ByteOrder.LITTLE_ENDIAN), buffer.position(), buffer.remaining() >> 1);
+        }
+        throw new IllegalArgumentException("Only fixed-width encodings are supported (US-ASCII, ISO-8859-1, UTF-16LE), but was "
+                + charset.name());
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    final void checkIndex(int index) {
+        if (index < 0 || index >= length)
+            throw new IndexOutOfBoundsException("index " + index + ", length " + length);
+    }
+
+    @Override
+    public final CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length || start > end)
+            throw new IndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length);
+        return view(start, end - start);
+    }
+
+    /**
+     * Creates the view of the part of this text
+     *
+     * @param start  index of the first character
+     * @param length amount of characters
+     * @return the view over the same buffer
+     */
+    abstract ByteBufferText view(int start, int length);
+
+    /**
+     * Returns characters of the bytes of the single-byte encoding, see {@link #charAt(int)}
+     *
+     * @return characters indexed by the unsigned value of the byte, or null if the encoding is UTF-16LE
+     */
+    abstract char[] decoding();
+
+    /**
+     * Copies characters of the text into the array
+     *
+     * @param start index of the first copied character
+     * @param end   index after the last copied character
+     * @param dst   destination array
+     * @param begin index of the first character in the destination array
+     */
+    abstract void getChars(int start, int end, char[] dst, int begin);
+
+    @Override
+    public final String toString() {
+        final char[] chars = new char[length];
+        for (int i = 0; i < length; i++) chars[i] = charAt(i);
+        return new String(chars);
+    }
+
+    /**
+     * One byte per character, decoded by the table: ISO-8859-1, or US-ASCII with the replacement of the malformed bytes
+     */
+    private static final class SingleByte extends ByteBufferText {
+
+        private final char[] decoding;
+
+        SingleByte(ByteBuffer buffer, int offset, int length, char[] decoding) {
+            super(buffer, offset, length);
+            this.decoding = decoding;
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index);
+            return decoding[buffer.get(offset + index) & 0xFF];
+        }
+
+        @Override
+        ByteBufferText view(int start, int length) {
+            return new SingleByte(buffer, offset + start, length, decoding);
+        }
+
+        @Override
+        char[] decoding() {
+            return decoding;
+        }
+
+        @Override
+        void getChars(int start, int end, char[] dst, int begin) {
+            if (buffer.hasArray()) {
+                final byte[] bytes = buffer.array();
+                final int first = buffer.arrayOffset() + offset;
+                for (int i = start; i < end; i++) dst[begin + i - start] = decoding[bytes[first + i] & 0xFF];
+            } else {
+                for (int i = start; i < end; i++) dst[begin + i - start] = decoding[buffer.get(offset + i) & 0xFF];
+            }
+        }
+    }
+
+    /**
+     * Two bytes per character, the lowest byte goes first
+     */
+    private static final class Utf16Le extends ByteBufferText {
+
+        Utf16Le(ByteBuffer buffer, int offset, int length) {
+            super(buffer, offset, length);
+        }
+
+        @Override
+        public char charAt(int index) {
+            checkIndex(index);
+            return buffer.getChar(offset + (index << 1));
+        }
+
+        @Override
+        ByteBufferText view(int start, int length) {
+            return new Utf16Le(buffer, offset + (start << 1), length);
+        }
+
+        @Override
+        char[] decoding() {
+            return null;
+        }
+
+        @Override
+        void getChars(int start, int end, char[] dst, int begin) {
+            if (buffer.hasArray()) {
+                final byte[] bytes = buffer.array();
+                final int first = buffer.arrayOffset() + offset;
+                for (int i = start; i < end; i++) dst[begin + i - start] = utf16Le(bytes, first + (i << 1));
+            } else {
+                for (int i = start; i < end; i++) dst[begin + i - start] = buffer.getChar(offset + (i << 1));
+            }
+        }
+    }
+
+    /**
+     * Reads UTF-16LE character from the array
+     *
+     * @param bytes array with the text
+     * @param index index of the lowest byte of the character
+     * @return the character
+     */
+    static char utf16Le(byte[] bytes, int index) {
+        return (char) ((bytes[index] & 0xFF) | (bytes[index + 1] << 8));
+    }
+}
@@ -0,0 +1,84 @@
+package com.pe.text;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Cooperative cancellation of the long scans, e.g. of a pathological document holding a worker thread:
+ * <pre>{@code
+ *     FuzzyMatcher matcher = pattern.matcher(document).useCancellation(CancellationToken.withTimeout(Duration.ofMillis(200)));
+ *     Optional<FuzzyResult> best = matcher.findTheBest();
+ *     if (matcher.partial()) log.warn("Search was stopped at {}", matcher.to());
+ * }</pre>
+ * The token is checked by the matchers every few thousands of characters, so it doesn't slow down the scan,
+ * and once it is cancelled (or its deadline is passed) the {@link FuzzyMatcher#find()} returns {@code false},
+ * the results found before are kept and {@link FuzzyMatcher#partial()} is {@code true}.
+ * <p>
+ * The same token can be shared by multiple matchers and threads, e.g. to cancel all searches of one request.
+ */
+public final class CancellationToken {
+
+    /**
+     * {@link System#nanoTime()} of the deadline, not used if {@link #timed} is false
+     */
+    private final long deadline;
+    private final boolean timed;
+    private volatile boolean cancelled;
+
+    private CancellationToken(long deadline, boolean timed) {
+        this.deadline = deadline;
+        this.timed = timed;
+    }
+
+    /**
+     * Creates the token, which is cancelled only by the {@link #cancel()}.
+     *
+     * @return new not cancelled token
+     */
+    public static CancellationToken create() {
+        return new CancellationToken(0, false);
+    }
+
+    /**
+     * Creates the token, which is cancelled when the timeout elapses from now, or by the {@link #cancel()}.
+     *
+     * @param timeout maximal duration of the scans
+     * @return new token with the deadline
+     * @throws NullPointerException     if the timeout is null
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public static CancellationToken withTimeout(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative())
+            throw new IllegalArgumentException("Timeout is negative: " + timeout);
+        long nanos;
+        try {
+            nanos = timeout.toNanos();
+        } catch (ArithmeticException e) {
+            // hundreds of years, i.e. no deadline
+            return create();
+        }
+        return new CancellationToken(System.nanoTime() + nanos, true);
+    }
+
+    /**
+     * Cancels the scans which use this token, it can be called from any thread.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true if the token is cancelled or its deadline is passed.
+     *
+     * @return true if the scans have to be stopped
+     */
+    public boolean isCancelled() {
+        if (cancelled) return true;
+        if (timed && System.nanoTime() - deadline >= 0) {
+            cancelled = true;
+            return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,24 @@
+package com.pe.text;
+
+/**
+ * Text stored in the character array, which the patterns read by the array access instead of the
+ * {@link CharSequence#charAt(int)}, see {@link BaseBitap.Matcher#symbolAt(int)}.
+ * The array and the offset are read once per scan, so they must not change while the text is scanned.
+ */
+interface CharArrayText extends CharSequence {
+
+    /**
+     * Returns the array with the characters of the text
+     *
+     * @return the array, which is not copied
+     */
+    char[] array();
+
+    /**
+     * Returns index in the {@link #array()} of the character at the index 0 of the text,
+     * it is negative if the text doesn't keep its first characters
+     *
+     * @return offset of the text in the array
+     */
+    int arrayOffset();
+}
@@ -0,0 +1,80 @@
+package com.pe.text;
+
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Matching found in one of the multiple texts (documents) searched together,
+ * see {@link FuzzyMatcherProvider#findTheBestIn(java.util.List)} and {@link FuzzyMatcherProvider#findTopKIn(java.util.List, int)}.
+ * Positions of the matching are relative to the text (document) it was found in.
+ */
+public final class DocumentFuzzyResult implements FuzzyResult {
+
+    /**
+     * Orders matchings from the best to the worst: by distance, then by the document index,
+     * then by the start and end positions in the document
+     */
+    static final Comparator<DocumentFuzzyResult> BEST_FIRST = Comparator.comparingInt(DocumentFuzzyResult::distance)
+            .thenComparingInt(DocumentFuzzyResult::documentIndex)
+            .thenComparingInt(DocumentFuzzyResult::start)
+            .thenComparingInt(DocumentFuzzyResult::end);
+
+    private final int documentIndex;
+    private final FuzzyResult result;
+
+    /**
+     * Creates a copy of the current matching of the specified matcher found in the text (document) with the specified index.
+     *
+     * @param documentIndex index of the text (document) where the matching was found
+     * @param matcher       matcher with the found matching
+     * @throws IllegalStateException if the matcher has no found matching
+     */
+    public DocumentFuzzyResult(int documentIndex, FuzzyMatcher matcher) {
+        this.documentIndex = documentIndex;
+        this.result = new FuzzyResultRecord(matcher);
+    }
+
+    /**
+     * Returns index of the text (document) in the searched list, where this matching was found.
+     *
+     * @return index of the text (document) where this matching was found.
+     */
+    public int documentIndex() {
+        return documentIndex;
+    }
+
+    @Override
+    public int start() {
+        return result.start();
+    }
+
+    @Override
+    public int end() {
+        return result.end();
+    }
+
+    @Override
+    public CharSequence foundText() {
+        return result.foundText();
+    }
+
+    @Override
+    public FuzzyPattern pattern() {
+        return result.pattern();
+    }
+
+    @Override
+    public int distance() {
+        return result.distance();
+    }
+
+    @Override
+    public Stream<OperationType> streamEditTypes() {
+        return result.streamEditTypes();
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentFuzzyResult{documentIndex=" + documentIndex + ", result=" + result + '}';
+    }
+}
@@ -0,0 +1,84 @@
+package com.pe.text;
+
+/**
+ * Hooks emitting Java Flight Recorder events of the patterns compilation and the search by their matchers.
+ * <p>
+ * JFR API is not available on Java 8, so this implementation does nothing and its calls are removed by the JIT.
+ * The multi-release jar replaces it on Java 11+ by the implementation from {@code src/main/java11},
+ * which emits {@code com.pe.text.FuzzyPatternCompile} and {@code com.pe.text.FuzzySearch} events.
+ */
+final class FlightRecorderEvents {
+
+    private FlightRecorderEvents() {
+    }
+
+    /**
+     * Starts timing of the pattern compilation
+     *
+     * @return started event, or null if it is not recorded
+     */
+    static Object compileStarted() {
+        return null;
+    }
+
+    /**
+     * Completes the event started by the {@link #compileStarted()}
+     *
+     * @param event   started event or null
+     * @param pattern compiled pattern
+     * @return the compiled pattern
+     */
+    static FuzzyPattern compiled(Object event, BaseBitap pattern) {
+        return pattern;
+    }
+
+    /**
+     * Creates the event reused by the matcher for all its searches
+     *
+     * @return new event, or null if the events are not supported
+     */
+    static Object searchEvent() {
+        return null;
+    }
+
+    /**
+     * Completes the search of the previous text (if any) and starts timing of the new one,
+     * called before the matcher is {@link BaseBitap.Matcher#reset(CharSequence, int, int) reset}
+     *
+     * @param event   event of the matcher created by the {@link #searchEvent()}
+     * @param matcher matcher which is reset
+     */
+    static void searchStarted(Object event, BaseBitap.Matcher matcher) {
+    }
+
+    /**
+     * Starts timing of the {@link BaseBitap.Matcher#find()}, the search is timed from its first call
+     *
+     * @param event event of the matcher created by the {@link #searchEvent()}
+     */
+    static void finding(Object event) {
+    }
+
+    /**
+     * Counts the found matching or completes the search if nothing is found
+     *
+     * @param event   event of the matcher created by the {@link #searchEvent()}
+     * @param matcher matcher which searched
+     * @param found   result of the {@link BaseBitap.Matcher#find()}
+     */
+    static void searched(Object event, BaseBitap.Matcher matcher, boolean found) {
+    }
+
+    /**
+     * Times the {@link BaseBitap#scanForMatch(CharSequence, int, int)}
+     *
+     * @param pattern   pattern to search
+     * @param text      text to scan
+     * @param fromIndex start of scanning (inclusive index)
+     * @param toIndex   end of scanning (exclusive index)
+     * @return true if the pattern is matched in the specified range of the text, otherwise - false
+     */
+    static boolean contains(BaseBitap pattern, CharSequence text, int fromIndex, int toIndex) {
+        return pattern.scanForMatch(text, fromIndex, toIndex);
+    }
+}
@@ -1,6 +1,8 @@
 package com.pe.text;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -30,6 +32,22 @@ import java.util.stream.StreamSupport;
  * Resetting a matcher discards its explicit state information.
  * <p>
  * Instances of this class are not safe for use by multiple concurrent threads.
+ * <p>
+ * Matchers of the library patterns support all operations. Matchers of the custom {@link FuzzyMatcherProvider}s
+ * have to implement {@link #find()} and the result methods only, the following operations are optional and throw
+ * {@link UnsupportedOperationException} by default:
+ * <ul>
+ *     <li>anchored matching: {@link #matches()} and {@link #lookingAt()}</li>
+ *     <li>word boundaries mode: {@link #useWordBoundaries(boolean)}, the combined matchers skip the matchings of such
+ *     a pattern which split words, so a matching which would be found by the other alignment is missed</li>
+ *     <li>overlapping mode: {@link #useOverlapping(boolean)}, the combined matchers restart the search of such a pattern
+ *     from the position after the start of its previous matching, as {@link #findTheBest(boolean)} does,
+ *     so the region is rescanned and the same end can be reported again with the other start</li>
+ *     <li>cancellation: {@link #useCancellation(CancellationToken)}, the combined matchers check the token between
+ *     the searches of such a pattern, so its scan of the text without matchings can't be stopped</li>
+ * </ul>
+ * The combined matchers of the {@link FuzzyPatterns} never throw it for the custom patterns, they emulate
+ * the missed operation on top of the {@link #find()} of such a pattern instead.
  */
 public interface FuzzyMatcher extends FuzzyResult {
 
@@ -112,6 +130,18 @@ public interface FuzzyMatcher extends FuzzyResult {
                 FuzzyResultSpliterator.CHARACTERISTICS, false);
     }
 
+    /**
+     * Creates the reactive publisher of the matchings, which scans the text on the specified executor
+     * as the subscriber requests them, see {@link FuzzyResultPublisher}.
+     * This matcher must not be used by other threads till the end of the subscription.
+     *
+     * @param executor executor of the scan, e.g. {@link java.util.concurrent.ForkJoinPool#commonPool()}
+     * @return publisher of the matchings for one subscriber
+     */
+    default FuzzyResultPublisher publisher(Executor executor) {
+        return new FuzzyResultPublisher(this, executor);
+    }
+
     /**
      * Attempts to find the best match in the text. Result will be the first matching in the text in case there are
      * more than one matching with the minimal Levenshtein distance, without overlapping matching
@@ -137,7 +167,9 @@ public interface FuzzyMatcher extends FuzzyResult {
      * @param includeOverlapped if true next search will start from the (start + 1) position of the previous matching
      *                          to try to find better matching within range of previous one
      *                          (might be useful in rare specific where a long pattern consists of few repeating characters),
-     *                          otherwise it will start from the end position of the previous matching (usual case for OCR-ed text)
+     *                          otherwise it will start from the end position of the previous matching (usual case for OCR-ed text).
+     *                          Matchers which support the {@link #useOverlapping(boolean) overlapping mode} use it instead,
+     *                          so every character is scanned only once
      * @return the first best matching (i.e. with minimal Levenshtein distance) or {{@link Optional#empty()}} if no matches.
      */
     default Optional<FuzzyResult> findTheBest(boolean includeOverlapped) {
@@ -152,7 +184,35 @@ public interface FuzzyMatcher extends FuzzyResult {
                 this.reset(this.text(), this.start() + 1, this.to());
             }
         }
-        return Optional.empty();
+        return Optional.ofNullable(best);
+    }
+
+    /**
+     * Attempts to find the specified amount of the best matches in the text, without overlapping matching
+     * (i.e. next search will start from the end position of the previous matching).
+     * Matches with the same Levenshtein distance are prioritized by their position in the text.
+     * <p>
+     * Returns the k best matchings found by a scan that tightens the distance bound: the matchings are kept
+     * in the bounded heap and, for the single patterns, the maximum allowed distance is lowered to the worst kept one
+     * as soon as the heap is full, so worse matchings are not searched at all.
+     * It is not an equivalent of the
+     * {@code matcher.stream().sorted(Comparator.comparingInt(FuzzyResult::distance)).limit(k)}:
+     * the lowered distance changes the non-overlapping scan, since a matching found at the lower distance can start
+     * later or be shorter than the one which would be found at the higher distance, and hide the next matchings.
+     * So spans of the returned matchings, and which of the equally good matchings are returned,
+     * can differ from the ones of the full stream.
+     *
+     * @param k the maximal amount of the best matchings to return.
+     * @return up to {@code k} best matchings ordered by the Levenshtein distance and then by their position in the text.
+     * @throws IllegalArgumentException if {@code k} is not positive.
+     * @see #findTheBest()
+     */
+    default List<FuzzyResult> findTopK(int k) {
+        final BoundedResultHeap best = new BoundedResultHeap(k);
+        while (this.find()) {
+            best.offer(this);
+        }
+        return best.toList();
     }
 
     /**
@@ -168,6 +228,121 @@ public interface FuzzyMatcher extends FuzzyResult {
      */
     boolean find();
 
+    /**
+     * Attempts to match the entire region (see {@link #from()} and {@link #to()}) against the pattern,
+     * similar to the {@link java.util.regex.Matcher#matches()}.
+     * Unlike {@code find() && start() == from() && end() == to()}, it aligns the pattern with the whole region only,
+     * so the found distance is the Levenshtein distance between the pattern and the region.
+     * An empty region never matches.
+     * <p>
+     * If the match succeeds then more information can be obtained via the {@link #start()}, {@link #end()},
+     * {@link #distance()}, and {@link #foundText()} methods. Use {@link #reset} methods before further searching.
+     *
+     * @return {@code true} if the entire region matches the pattern within the maximal allowed distance,
+     * otherwise - {@code false}.
+     * @throws UnsupportedOperationException if this matcher doesn't support anchored matching.
+     */
+    default boolean matches() {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support anchored matching");
+    }
+
+    /**
+     * Attempts to match the region (see {@link #from()} and {@link #to()}) starting at the beginning of it,
+     * against the pattern, similar to the {@link java.util.regex.Matcher#lookingAt()}.
+     * Unlike the {@link #matches()} method, the entire region doesn't have to be matched.
+     * The found matching has the minimal Levenshtein distance among all matchings starting at the region beginning.
+     * <p>
+     * If the match succeeds then more information can be obtained via the {@link #start()}, {@link #end()},
+     * {@link #distance()}, and {@link #foundText()} methods.
+     *
+     * @return {@code true} if a prefix of the region matches the pattern within the maximal allowed distance,
+     * otherwise - {@code false}.
+     * @throws UnsupportedOperationException if this matcher doesn't support anchored matching.
+     */
+    default boolean lookingAt() {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support anchored matching");
+    }
+
+    /**
+     * Sets the word boundaries mode of this matcher: if enabled, the matcher finds only matchings which don't split words
+     * of the text, i.e. the text character before the matching start and the first matched character are not both
+     * word characters (letters, digits or underscore), and the same for the last matched character and the one after it.
+     * For example, pattern {@code "Suite"} is found in {@code "Suite 100"}, but not in {@code "Suitesmith"}.
+     * The boundaries are checked against the whole text, so the characters outside of the search region are taken into account.
+     * <p>
+     * The mode is kept by the {@link #reset} methods.
+     *
+     * @param wordBoundaries {@code true} to find only matchings which don't split words, {@code false} to find any matchings
+     * @return this matcher
+     * @throws UnsupportedOperationException if this matcher doesn't support the word boundaries mode.
+     */
+    default FuzzyMatcher useWordBoundaries(boolean wordBoundaries) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support word boundaries");
+    }
+
+    /**
+     * Returns whether this matcher finds only matchings which don't split words, see {@link #useWordBoundaries(boolean)}.
+     *
+     * @return {@code true} if this matcher uses word boundaries, otherwise - {@code false}
+     */
+    default boolean hasWordBoundaries() {
+        return false;
+    }
+
+    /**
+     * Sets the overlapping mode of this matcher: if enabled, every call of the {@link #find()} continues the scan
+     * from the position after the end of the previous matching with the bit masks computed so far, and reports
+     * every end position where the pattern is matched, with the minimal Levenshtein distance for this end and
+     * the start restored by the traceback of it. Matchings are not improved by the following characters,
+     * so, for example, pattern {@code "|||"} with the maximal distance 1 is found in {@code "||||||"}
+     * at the ends 2, 3, 4, 5 and 6, and every character of the text is scanned only once.
+     * <p>
+     * The mode is kept by the {@link #reset} methods.
+     *
+     * @param overlapping {@code true} to report every end position of the matchings,
+     *                    {@code false} to start the next search from the end of the previous matching
+     * @return this matcher
+     * @throws UnsupportedOperationException if this matcher doesn't support the overlapping mode.
+     */
+    default FuzzyMatcher useOverlapping(boolean overlapping) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support overlapping matchings");
+    }
+
+    /**
+     * Returns whether this matcher reports every end position of the matchings, see {@link #useOverlapping(boolean)}.
+     *
+     * @return {@code true} if this matcher is in the overlapping mode, otherwise - {@code false}
+     */
+    default boolean isOverlapping() {
+        return false;
+    }
+
+    /**
+     * Sets the cancellation token of this matcher: it is checked every few thousands of scanned characters,
+     * and once it is cancelled or its deadline is passed, the {@link #find()} returns {@code false}
+     * without scanning the rest of the region, so {@link #findTheBest()}, {@link #findTopK(int)} and {@link #stream()}
+     * return the matchings found so far, and {@link #partial()} returns {@code true}.
+     * <p>
+     * The token is kept by the {@link #reset} methods.
+     *
+     * @param token the cancellation token, or {@code null} to scan the whole region
+     * @return this matcher
+     * @throws UnsupportedOperationException if this matcher doesn't support cancellation.
+     */
+    default FuzzyMatcher useCancellation(CancellationToken token) {
+        throw new UnsupportedOperationException(getClass().getName() + " doesn't support cancellation");
+    }
+
+    /**
+     * Returns true if the search was stopped by the {@link #useCancellation(CancellationToken) cancellation token}
+     * before the end of the region, i.e. the found matchings are partial, till the next {@link #reset}.
+     *
+     * @return {@code true} if the search was cancelled, otherwise - {@code false}
+     */
+    default boolean partial() {
+        return false;
+    }
+
     /**
      * Returns end of the search range, which can be changed via {@link #reset(CharSequence, int, int)}
      *
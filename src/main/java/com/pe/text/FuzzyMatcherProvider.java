@@ -2,7 +2,13 @@ package com.pe.text;
 
 import com.pe.ordinal.OrdinalSuffix;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Predicate;
 
 /**
  * Common interface for the simple {@link FuzzyPattern} and multiple pattern instance {@link FuzzyPatterns}
@@ -40,6 +46,131 @@ public interface FuzzyMatcherProvider {
         return matcher(text, fromIndex, text.length());
     }
 
+    /**
+     * Creates {@link FuzzyMatcher} for the text in the array, and defined range to scan.
+     * The patterns compiled by this library read characters straight from the array in the scan loop,
+     * positions of the matchings are indices in the array. The array must not be changed during the search.
+     *
+     * @param text      The characters to scan.
+     * @param fromIndex The start offset to scan.
+     * @param toIndex   The end offset to stop further scanning
+     * @return {@link FuzzyMatcher} instance with initial state with specified bounds of search.
+     */
+    default FuzzyMatcher matcher(char[] text, int fromIndex, int toIndex) {
+        return matcher(CharBuffer.wrap(text), fromIndex, toIndex);
+    }
+
+    /**
+     * Creates {@link FuzzyMatcher} for the text in the remaining bytes of the buffer (from its position to its limit),
+     * which reads characters straight from the buffer without decoding it to the {@code String},
+     * e.g. for the direct or memory-mapped buffers. Positions of the matchings ({@link FuzzyMatcher#start()},
+     * {@link FuzzyMatcher#end()}, and the search range) are indices of the characters from the position of the buffer.
+     * Position and limit of the buffer are not changed, but its content must not be changed during the search.
+     *
+     * @param buffer  The buffer with the text to scan.
+     * @param charset The fixed-width encoding of the text: {@link java.nio.charset.StandardCharsets#US_ASCII}
+     *                (bytes above {@code 0x7F} are read as {@code U+FFFD}),
+     *                {@link java.nio.charset.StandardCharsets#ISO_8859_1}, or {@link java.nio.charset.StandardCharsets#UTF_16LE}.
+     * @return {@link FuzzyMatcher} instance with initial state.
+     * @throws IllegalArgumentException if the encoding is not supported.
+     */
+    default FuzzyMatcher matcher(ByteBuffer buffer, Charset charset) {
+        return matcher(ByteBufferText.of(buffer, charset));
+    }
+
+    /**
+     * Tells whether the pattern is matched anywhere in the text in the remaining bytes of the buffer,
+     * see {@link #matcher(ByteBuffer, Charset)} and {@link #contains(CharSequence)}.
+     *
+     * @param buffer  The buffer with the text to scan.
+     * @param charset The fixed-width encoding of the text.
+     * @return {@code true} if the pattern is matched in the text, otherwise - {@code false}.
+     * @throws IllegalArgumentException if the encoding is not supported.
+     */
+    default boolean contains(ByteBuffer buffer, Charset charset) {
+        return contains(ByteBufferText.of(buffer, charset));
+    }
+
+    /**
+     * Tells whether the pattern is matched anywhere in the specified text.
+     * Equivalent to the {@code pattern.matcher(text).find()}, but it stops scanning on the first position where
+     * the pattern is matched, skipping improvement of the matching and calculation of its edit operations.
+     *
+     * @param text The text to scan.
+     * @return {@code true} if the pattern is matched in the text, otherwise - {@code false}.
+     */
+    default boolean contains(CharSequence text) {
+        return contains(text, 0, text.length());
+    }
+
+    /**
+     * Tells whether the pattern is matched anywhere in the specified range of the text.
+     * Equivalent to the {@code pattern.matcher(text, fromIndex, toIndex).find()}, but implementations stop scanning
+     * on the first position where the pattern is matched, skipping improvement of the matching and calculation of
+     * its edit operations, and do not allocate matcher state for each call.
+     *
+     * @param text      The text to scan.
+     * @param fromIndex The start offset to scan.
+     * @param toIndex   The end offset to stop further scanning
+     * @return {@code true} if the pattern is matched in the specified range of the text, otherwise - {@code false}.
+     */
+    default boolean contains(CharSequence text, int fromIndex, int toIndex) {
+        return matcher(text, fromIndex, toIndex).find();
+    }
+
+    /**
+     * Creates a predicate that tests if this pattern is matched in a given input text, e.g. for stream filtering:
+     * <pre>{@code
+     *     rows.filter(INGREDIENTS_TO_EXCLUDE.asPredicate().negate())
+     * }</pre>
+     *
+     * @return The predicate which can be used for matching on a text
+     * @see #contains(CharSequence)
+     */
+    default Predicate<CharSequence> asPredicate() {
+        return this::contains;
+    }
+
+    /**
+     * Searches the best matching across the specified texts (documents) in parallel.
+     * Found matchings with the minimal Levenshtein distance are prioritized by the document index and then by position.
+     * <p>
+     * The best distance found so far is shared by all workers, so they skip matchings and whole documents
+     * which can not beat it. Since the lowered distance changes the non-overlapping scan of the document,
+     * the span of the returned matching can depend on the order in which documents are scanned.
+     * It is faster equivalent to:
+     * <pre>{@code
+     *     texts.parallelStream().map(text -> pattern.matcher(text).findTheBest())...
+     * }</pre>
+     *
+     * @param texts texts (documents) to search in.
+     * @return the best matching with the index of the document where it was found,
+     * or {@link Optional#empty()} if no matches.
+     * @see FuzzyMatcher#findTheBest()
+     */
+    default Optional<DocumentFuzzyResult> findTheBestIn(List<? extends CharSequence> texts) {
+        return ParallelSearch.findTheBest(this, texts);
+    }
+
+    /**
+     * Searches the specified amount of the best matchings across the specified texts (documents) in parallel.
+     * Matchings with the same Levenshtein distance are prioritized by the document index and then by their position.
+     * <p>
+     * The worst of the best matchings found so far is shared by all workers, so they skip matchings and whole documents
+     * which can not beat it. Since the lowered distance changes the non-overlapping scan of the document,
+     * spans of the returned matchings can depend on the order in which documents are scanned.
+     *
+     * @param texts texts (documents) to search in.
+     * @param k     the maximal amount of the best matchings to return.
+     * @return up to {@code k} best matchings with indices of the documents where they were found,
+     * ordered by the Levenshtein distance, then by the document index and the position in it.
+     * @throws IllegalArgumentException if {@code k} is not positive.
+     * @see FuzzyMatcher#findTopK(int)
+     */
+    default List<DocumentFuzzyResult> findTopKIn(List<? extends CharSequence> texts, int k) {
+        return ParallelSearch.findTopK(this, texts, k);
+    }
+
     /**
      * Creates instance of the {@code FuzzyPatterns} combining this and specified fuzzy patterns.
      *
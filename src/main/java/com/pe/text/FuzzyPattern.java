@@ -1,11 +1,19 @@
 package com.pe.text;
 
+import java.util.function.Consumer;
+
 /**
  * Fuzzy pattern interface. Instance can be created via {@link FuzzyPattern#compile(CharSequence, int)}
  * and {@link FuzzyPattern#compile(CharSequence, int, boolean)}
  */
 public interface FuzzyPattern extends FuzzyMatcherProvider {
 
+    /**
+     * Default limit of the memory used by the state of every matcher (4 MB),
+     * see {@link #compile(CharSequence, int, boolean, long)}
+     */
+    long DEFAULT_MATCHER_MEMORY_LIMIT = 4L << 20;
+
     /**
      * Creates case-sensitive compiled fuzzy search pattern with maximum allowed Levenshtein distance to match.
      *
@@ -20,6 +28,7 @@ public interface FuzzyPattern extends FuzzyMatcherProvider {
 
     /**
      * Creates compiled fuzzy search pattern with maximum allowed Levenshtein distance and specified case-sensitivity to match.
+     * Memory used by every matcher of the pattern is limited by the {@link #DEFAULT_MATCHER_MEMORY_LIMIT}.
      *
      * @param pattern                Text of the pattern
      * @param maxLevenshteinDistance Maximum allowed Levenshtein distance to match
@@ -29,15 +38,68 @@ public interface FuzzyPattern extends FuzzyMatcherProvider {
      * @throws IllegalArgumentException if specified text is null or empty
      */
     static FuzzyPattern compile(CharSequence pattern, int maxLevenshteinDistance, boolean caseInsensitive) {
+        return compile(pattern, maxLevenshteinDistance, caseInsensitive, DEFAULT_MATCHER_MEMORY_LIMIT);
+    }
+
+    /**
+     * Creates compiled fuzzy search pattern with maximum allowed Levenshtein distance and specified case-sensitivity to match,
+     * choosing the {@link TracebackStrategy#HISTORY} if its matchers fit into the memory limit
+     * (see {@link TracebackStrategy#estimateMatcherMemory(int, int)}), or the {@link TracebackStrategy#CHECKPOINTS} otherwise.
+     * {@link TracebackStrategy#RECOMPUTE} is never chosen, since its traceback is quadratic,
+     * it can be requested by {@link #compile(CharSequence, int, boolean, TracebackStrategy)}.
+     *
+     * @param pattern                Text of the pattern
+     * @param maxLevenshteinDistance Maximum allowed Levenshtein distance to match
+     * @param caseInsensitive        Case-insensitivity for the pattern.
+     *                               if {@code true} - the pattern's matcher will ignore casing when scanning.
+     * @param matcherMemoryLimit     Maximal amount of bytes used by the state of every matcher of the pattern.
+     * @return Compiled fuzzy search pattern with specified case-sensitivity.
+     * @throws IllegalArgumentException if specified text is null or empty
+     */
+    static FuzzyPattern compile(CharSequence pattern, int maxLevenshteinDistance, boolean caseInsensitive,
+                                long matcherMemoryLimit) {
+        if (pattern == null)
+            throw new IllegalArgumentException("pattern text can not be null");
+        final TracebackStrategy strategy =
+                TracebackStrategy.HISTORY.estimateMatcherMemory(pattern.length(), maxLevenshteinDistance) <= matcherMemoryLimit
+                        ? TracebackStrategy.HISTORY
+                        : TracebackStrategy.CHECKPOINTS;
+        return compile(pattern, maxLevenshteinDistance, caseInsensitive, strategy);
+    }
+
+    /**
+     * Creates compiled fuzzy search pattern with maximum allowed Levenshtein distance, specified case-sensitivity
+     * and strategy to restore start and edit operations of the found matchings.
+     *
+     * @param pattern                Text of the pattern
+     * @param maxLevenshteinDistance Maximum allowed Levenshtein distance to match
+     * @param caseInsensitive        Case-insensitivity for the pattern.
+     *                               if {@code true} - the pattern's matcher will ignore casing when scanning.
+     * @param tracebackStrategy      Strategy to restore start and edit operations of the found matchings,
+     *                               which defines memory usage of the matchers.
+     * @return Compiled fuzzy search pattern with specified case-sensitivity.
+     * @throws IllegalArgumentException if specified text is null or empty
+     */
+    static FuzzyPattern compile(CharSequence pattern, int maxLevenshteinDistance, boolean caseInsensitive,
+                                TracebackStrategy tracebackStrategy) {
         if (pattern == null)
             throw new IllegalArgumentException("pattern text can not be null");
         if (pattern.length() == 0)
             throw new IllegalArgumentException("pattern text can not be empty");
-        if (pattern.length() <= 32)
-            return new Bitap32(pattern, maxLevenshteinDistance, caseInsensitive);
-        if (pattern.length() <= 64)
-            return new Bitap64(pattern, maxLevenshteinDistance, caseInsensitive);
-        return new Bitap65Plus(pattern, maxLevenshteinDistance, caseInsensitive);
+        final Object event = FlightRecorderEvents.compileStarted();
+        final BaseBitap compiled;
+        if (tracebackStrategy == TracebackStrategy.RECOMPUTE)
+            compiled = new RecomputingBitap(pattern, maxLevenshteinDistance, caseInsensitive, 0);
+        else if (tracebackStrategy == TracebackStrategy.CHECKPOINTS)
+            compiled = new RecomputingBitap(pattern, maxLevenshteinDistance, caseInsensitive,
+                    RecomputingBitap.optimalCheckpointInterval(pattern.length(), maxLevenshteinDistance));
+        else if (pattern.length() <= 32)
+            compiled = new Bitap32(pattern, maxLevenshteinDistance, caseInsensitive);
+        else if (pattern.length() <= 64)
+            compiled = new Bitap64(pattern, maxLevenshteinDistance, caseInsensitive);
+        else
+            compiled = new Bitap65Plus(pattern, maxLevenshteinDistance, caseInsensitive);
+        return FlightRecorderEvents.compiled(event, compiled);
     }
 
     /**
@@ -61,4 +123,19 @@ public interface FuzzyPattern extends FuzzyMatcherProvider {
      */
     boolean caseInsensitive();
 
-}
\ No newline at end of file
+    /**
+     * Creates push-based matcher for the text which arrives in chunks,
+     * it passes copies of all found matchings with absolute offsets in the stream to the listener.
+     *
+     * @param listener consumer of the found matchings
+     * @return {@link StreamingFuzzyMatcher} at the start of the stream
+     * @throws UnsupportedOperationException if the pattern doesn't support char-by-char scanning
+     * @see StreamingFuzzyMatcher
+     */
+    default StreamingFuzzyMatcher streamMatcher(Consumer<? super FuzzyResult> listener) {
+        if (!(this instanceof IterativeFuzzyMatcherProvider))
+            throw new UnsupportedOperationException("Streaming is not supported by " + getClass().getName());
+        return new StreamingFuzzyMatcher((IterativeFuzzyMatcherProvider) this, listener);
+    }
+
+}
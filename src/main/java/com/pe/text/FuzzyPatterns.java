@@ -2,6 +2,9 @@ package com.pe.text;
 
 import com.pe.ordinal.OrdinalSuffix;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
 /**
  * Fuzzy Pattern created as combination of the other multiple fuzzy patterns,
  * it returns non overlapping matchings in order they are in text.
@@ -16,7 +19,7 @@ import com.pe.ordinal.OrdinalSuffix;
  *   );
  *
  *   public static boolean hasUnwantedIngredientIn(String ketchupIngredientsWithOcrErrors) {
- *       return INGREDIENTS_TO_EXCLUDE.matcher(ketchupIngredients).find();
+ *       return INGREDIENTS_TO_EXCLUDE.contains(ketchupIngredients);
  *   }
  * }</pre>
  * <p>
@@ -89,4 +92,61 @@ public interface FuzzyPatterns extends FuzzyMatcherProvider {
      * @return iterable over combined fuzzy patterns on this instance
      */
     Iterable<? extends FuzzyMatcherProvider> patterns();
+
+    /**
+     * Returns amount of the combined fuzzy patterns on this instance
+     *
+     * @return amount of the combined fuzzy patterns
+     */
+    default int patternsCount() {
+        int result = 0;
+        for (FuzzyMatcherProvider ignored : patterns()) result++;
+        return result;
+    }
+
+    /**
+     * Counts matchings of every combined pattern in the text, see {@link #aggregate(CharSequence, int, int, PatternStatistics)}.
+     *
+     * @param text text to scan
+     * @return per-pattern statistics of the matchings
+     */
+    default PatternStatistics aggregate(CharSequence text) {
+        final PatternStatistics statistics = new PatternStatistics(patternsCount());
+        aggregate(text, 0, text.length(), statistics);
+        return statistics;
+    }
+
+    /**
+     * Scans the text the same way as {@link #matcher(CharSequence, int, int)}{@code .find()} does
+     * and adds every found matching to the per-pattern aggregates: amount of matchings, the minimal Levenshtein distance,
+     * start of the first matching and end of the last one.
+     * It is faster equivalent of grouping {@code matcher(text, fromIndex, toIndex).stream()} by the pattern,
+     * since no result objects or copies of the found text are created for the matchings.
+     * Aggregates are added to the existing ones, so the statistics can be collected over multiple texts.
+     * <p>
+     * The combined patterns of the library attribute matchings to the patterns during the scan. The default
+     * implementation for the custom combinations attributes every found matching by its {@link FuzzyResult#pattern()},
+     * which has to be one of the {@link #patterns()} of this combination.
+     *
+     * @param text       text to scan
+     * @param fromIndex  start of scanning (inclusive index)
+     * @param toIndex    end of scanning (exclusive index)
+     * @param statistics per-pattern statistics to add matchings to
+     * @throws IllegalArgumentException      if the statistics is created for another amount of patterns
+     * @throws UnsupportedOperationException if a matching of the custom combination can't be attributed to its pattern.
+     */
+    default void aggregate(CharSequence text, int fromIndex, int toIndex, PatternStatistics statistics) {
+        final Map<FuzzyMatcherProvider, Integer> indices = new IdentityHashMap<>();
+        int count = 0;
+        for (FuzzyMatcherProvider pattern : patterns()) indices.putIfAbsent(pattern, count++);
+        statistics.ensurePatternsCount(count);
+        final FuzzyMatcher matcher = matcher(text, fromIndex, toIndex);
+        while (matcher.find()) {
+            final Integer index = indices.get(matcher.pattern());
+            if (index == null)
+                throw new UnsupportedOperationException(getClass().getName() + " found pattern " + matcher.pattern()
+                        + " which is not one of its patterns, so the matching can't be aggregated");
+            statistics.add(index, matcher.start(), matcher.end(), matcher.distance());
+        }
+    }
 }
@@ -89,6 +89,7 @@ public interface FuzzyResult {
      *
      * @return stream with all operations for this result char-by-char including matchings
      * @see Operation
+     * @see OperationsCursor allocation-free alternative
      */
     default Stream<Operation> streamCharByCharOperations() {
         return StreamSupport.stream(
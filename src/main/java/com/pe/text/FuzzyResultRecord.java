@@ -20,8 +20,12 @@ class FuzzyResultRecord implements FuzzyResult {
         this.start = matcher.start();
         this.end = matcher.end();
         this.distance = matcher.distance();
-        this.foundText = matcher.foundText();
-        this.edits = matcher.streamEditTypes().mapToInt(OperationType::ordinal).toArray();
+        // the text can be a view of the mutable or unmapped memory, e.g. a buffer of the closed index
+        this.foundText = matcher.foundText().toString();
+        final FuzzyMatcher found = matcher instanceof DefaultFuzzyMatcher ? ((DefaultFuzzyMatcher) matcher).ensureFound() : matcher;
+        this.edits = found instanceof BaseBitap.Matcher
+                ? ((BaseBitap.Matcher) found).copyEditOrdinals()
+                : matcher.streamEditTypes().mapToInt(OperationType::ordinal).toArray();
     }
 
     @Override
@@ -54,6 +58,17 @@ class FuzzyResultRecord implements FuzzyResult {
         return Arrays.stream(edits).mapToObj(ordinal -> OperationType.values[ordinal]);
     }
 
+    /**
+     * Copies ordinals of the edit operations into the specified array without streaming.
+     *
+     * @param target array to copy into, it has to have enough space for {@link #distance()} elements
+     * @return amount of copied edit operations
+     */
+    int copyEditsTo(int[] target) {
+        System.arraycopy(edits, 0, target, 0, edits.length);
+        return edits.length;
+    }
+
     @Override
     public String toString() {
         return "FuzzyResul{" + pattern.toString() +
@@ -1,5 +1,6 @@
 package com.pe.text;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -54,6 +55,25 @@ interface IterativeFuzzyMatcher extends DefaultFuzzyMatcher {
         return Optional.ofNullable(best);
     }
 
+    @Override
+    default List<FuzzyResult> findTopK(int k) {
+        final BoundedResultHeap best = new BoundedResultHeap(k);
+        final int maxDistance = getMaxDistance();
+        while (this.find()) {
+            best.offer(this);
+            if (best.isFull()) {
+                final int worst = best.worstDistance();
+                if (worst == 0) {
+                    break;
+                }
+                // only matchings better than the worst kept one can get into the heap
+                this.setMaxDistance(worst - 1);
+            }
+        }
+        this.setMaxDistance(maxDistance);
+        return best.toList();
+    }
+
     /**
      * Returns current maximal allowed Levenshtein distance (it can be changed in process of searching the best matching)
      *
@@ -64,6 +84,7 @@ interface IterativeFuzzyMatcher extends DefaultFuzzyMatcher {
     /**
      * Changes current maximal allowed Levenshtein distance, for faster detection of the best matching.
      * This values has to be restored into the original after matching is found.
+     * Values greater than the maximal allowed Levenshtein distance of the pattern are limited by it.
      *
      * @param maxDistance new maximal allowed Levenshtein distance, for faster detection of the best matching
      */
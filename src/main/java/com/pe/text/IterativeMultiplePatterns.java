@@ -20,25 +20,83 @@ class IterativeMultiplePatterns implements FuzzyPatterns, IterativeFuzzyMatcherP
         return new Matcher(text, fromIndex, toIndex);
     }
 
+    @Override
+    public int patternsCount() {
+        return patterns.length;
+    }
+
+    @Override
+    public void aggregate(CharSequence text, int fromIndex, int toIndex, PatternStatistics statistics) {
+        statistics.ensurePatternsCount(patterns.length);
+        final Matcher matcher = new Matcher(text, fromIndex, toIndex);
+        while (matcher.find())
+            statistics.add(matcher.matchedIndex, matcher.start(), matcher.end(), matcher.distance());
+    }
+
+    @Override
+    public boolean contains(CharSequence text, int fromIndex, int toIndex) {
+        for (IterativeFuzzyMatcherProvider pattern : patterns)
+            if (pattern.contains(text, fromIndex, toIndex))
+                return true;
+        return false;
+    }
+
     @Override
     public Iterable<? extends FuzzyMatcherProvider> patterns() {
         return (Iterable<IterativeFuzzyMatcherProvider>) Arrays.stream(patterns)::iterator;
     }
 
     class Matcher implements IterativeFuzzyMatcher {
+        /**
+         * end of the matchings of the matcher which hasn't been searched yet in the overlapping mode
+         */
+        private static final int NOT_SEARCHED = -1;
+        /**
+         * end of the matchings of the matcher which has no more matchings in the overlapping mode
+         */
+        private static final int COMPLETED = Integer.MAX_VALUE;
+
         final IterativeFuzzyMatcher[] matchers;
         IterativeFuzzyMatcher matched;
+        /**
+         * index of the {@link #matched} matcher in the {@link #matchers}
+         */
+        int matchedIndex;
         private CharSequence text;
         private int index;
         private int maxIndex;
+        /**
+         * token of the cooperative cancellation, see {@link #useCancellation(CancellationToken)}, or null
+         */
+        private CancellationToken cancellation;
+        /**
+         * true if the {@link #find()} was stopped by the {@link #cancellation} token
+         */
+        private boolean partial;
+        /**
+         * index of the character before which the {@link #cancellation} is checked next time, counted across
+         * the {@link #find()} calls as by the single patterns
+         */
+        private int nextCheck;
+        /**
+         * if true the matchers scan the text independently in their overlapping mode, see {@link #findOverlapping()}
+         */
+        private boolean overlapping;
+        /**
+         * ends of the current matchings of the {@link #matchers} in the overlapping mode
+         */
+        private final int[] ends;
 
         Matcher(CharSequence text, int fromIndex, int toIndex) {
             this.text = text;
             this.index = Math.max(0, fromIndex) - 1;
             this.maxIndex = Math.min(text.length(), toIndex);
+            this.nextCheck = this.index + 1 + BaseBitap.Matcher.CHECK_INTERVAL;
             this.matchers = new IterativeFuzzyMatcher[patterns.length];
             for (int i = 0, l = matchers.length; i < l; i++)
                 matchers[i] = patterns[i].getIterativeMatcher(text, fromIndex, maxIndex);
+            this.ends = new int[matchers.length];
+            Arrays.fill(ends, NOT_SEARCHED);
         }
 
         @Override
@@ -46,7 +104,10 @@ class IterativeMultiplePatterns implements FuzzyPatterns, IterativeFuzzyMatcherP
             this.text = text;
             this.index = Math.max(0, fromIndex) - 1;
             this.maxIndex = Math.min(text.length(), toIndex);
+            this.partial = false;
+            this.nextCheck = this.index + 1 + BaseBitap.Matcher.CHECK_INTERVAL;
             for (IterativeFuzzyMatcher matcher : matchers) matcher.reset(text, fromIndex, toIndex);
+            Arrays.fill(ends, NOT_SEARCHED);
         }
 
         @Override
@@ -56,15 +117,120 @@ class IterativeMultiplePatterns implements FuzzyPatterns, IterativeFuzzyMatcherP
 
         @Override
         public boolean find() {
+            if (overlapping) return findOverlapping();
             resetState();
-            while (++index < maxIndex) {
-                if (testNextSymbol()) {
-                    return true;
+            // the token is checked between blocks of characters, as by the single patterns
+            while (maxIndex - index > 1) {
+                if (index + 1 >= nextCheck) {
+                    nextCheck = index + 1 + BaseBitap.Matcher.CHECK_INTERVAL;
+                    if (cancellation != null && cancellation.isCancelled()) {
+                        partial = true;
+                        return false;
+                    }
+                }
+                final int limit = Math.min(maxIndex, nextCheck);
+                while (++index < limit) {
+                    if (testNextSymbol()) {
+                        return true;
+                    }
                 }
+                if (limit == maxIndex) return false;
+                index--;
             }
             return false;
         }
 
+        /**
+         * Merges overlapping matchings of the matchers by their ends (and then by the patterns order),
+         * every matcher continues its own scan from its previous matching
+         *
+         * @return true if the next matching is found
+         */
+        private boolean findOverlapping() {
+            if (matched != null && ends[matchedIndex] != NOT_SEARCHED)
+                ends[matchedIndex] = matched.find() ? matched.end() : COMPLETED;
+            matched = null;
+            for (int i = 0; i < matchers.length; i++) {
+                if (ends[i] == NOT_SEARCHED)
+                    ends[i] = matchers[i].find() ? matchers[i].end() : COMPLETED;
+                if (ends[i] != COMPLETED && (matched == null || ends[i] < ends[matchedIndex])) {
+                    matched = matchers[i];
+                    matchedIndex = i;
+                }
+            }
+            for (IterativeFuzzyMatcher matcher : matchers) partial |= matcher.partial();
+            if (matched == null) return false;
+            index = matched.end() - 1;
+            return true;
+        }
+
+        @Override
+        public boolean matches() {
+            return matchBest(true);
+        }
+
+        @Override
+        public boolean lookingAt() {
+            return matchBest(false);
+        }
+
+        /**
+         * Applies the anchored matching to all patterns and keeps the one with the lowest distance
+         *
+         * @param entire if {@code true} the entire region has to be matched, otherwise - its beginning only
+         * @return {@code true} if at least one pattern is matched
+         */
+        private boolean matchBest(boolean entire) {
+            matched = null;
+            for (int i = 0; i < matchers.length; i++) {
+                final IterativeFuzzyMatcher matcher = matchers[i];
+                if ((entire ? matcher.matches() : matcher.lookingAt())
+                        && (matched == null || matcher.distance() < matched.distance())) {
+                    matched = matcher;
+                    matchedIndex = i;
+                }
+            }
+            index = matched == null ? maxIndex : matched.end() - 1;
+            return matched != null;
+        }
+
+        @Override
+        public FuzzyMatcher useWordBoundaries(boolean wordBoundaries) {
+            for (IterativeFuzzyMatcher matcher : matchers) matcher.useWordBoundaries(wordBoundaries);
+            return this;
+        }
+
+        @Override
+        public boolean hasWordBoundaries() {
+            return matchers.length > 0 && matchers[0].hasWordBoundaries();
+        }
+
+        @Override
+        public FuzzyMatcher useOverlapping(boolean overlapping) {
+            this.overlapping = overlapping;
+            for (IterativeFuzzyMatcher matcher : matchers) matcher.useOverlapping(overlapping);
+            Arrays.fill(ends, NOT_SEARCHED);
+            return this;
+        }
+
+        @Override
+        public boolean isOverlapping() {
+            return overlapping;
+        }
+
+        @Override
+        public FuzzyMatcher useCancellation(CancellationToken token) {
+            this.cancellation = token;
+            // the matchers check it by themselves in the overlapping mode only
+            for (IterativeFuzzyMatcher matcher : matchers) matcher.useCancellation(token);
+            return this;
+        }
+
+        @Override
+        public boolean partial() {
+            return partial;
+        }
+
         @Override
         public int to() {
             return maxIndex;
@@ -88,15 +254,21 @@ class IterativeMultiplePatterns implements FuzzyPatterns, IterativeFuzzyMatcherP
         @Override
         public void resetState() {
             matched = null;
-            for (IterativeFuzzyMatcher matcher : matchers) matcher.resetState();
+            for (IterativeFuzzyMatcher matcher : matchers) {
+                // the state is reset at the position of this matcher
+                matcher.setIndex(index);
+                matcher.resetState();
+            }
         }
 
         @Override
         public boolean testNextSymbol() {
-            for (IterativeFuzzyMatcher matcher : matchers) {
+            for (int i = 0; i < matchers.length; i++) {
+                final IterativeFuzzyMatcher matcher = matchers[i];
                 matcher.setIndex(index);
                 if (matcher.testNextSymbol()) {
                     matched = matcher;
+                    matchedIndex = i;
                     int maxDistance = matcher.getMaxDistance();
                     matcher.improveResult(Math.min(index + matcher.pattern().text().length(), maxIndex));
                     matcher.setMaxDistance(maxDistance);
@@ -119,7 +291,9 @@ class IterativeMultiplePatterns implements FuzzyPatterns, IterativeFuzzyMatcherP
 
         @Override
         public int getMaxDistance() {
-            return ensureFound().getMaxDistance();
+            int result = 0;
+            for (IterativeFuzzyMatcher matcher : matchers) result = Math.max(result, matcher.getMaxDistance());
+            return result;
         }
 
         @Override
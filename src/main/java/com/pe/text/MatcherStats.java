@@ -0,0 +1,169 @@
+package com.pe.text;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters of the work done by all matchers of the pattern, to find out where the scanning time goes:
+ * into the main scan, the look-ahead improving found matchings (see {@link FuzzyMatcher#find()}),
+ * or the traceback restoring their edit operations.
+ * <p>
+ * Counting is enabled by the system property {@code -Dcom.pe.text.stats=true} on the JVM start.
+ * The switch is a static final constant, so if it is disabled (by default), the JIT removes all counting code
+ * and the scanning speed is not affected. If it is enabled, every pattern compiled by the
+ * {@link FuzzyPattern#compile} methods has its own counters, updated by its matchers in all threads:
+ * <pre>{@code
+ *     MatcherStats stats = MatcherStats.of(pattern);
+ *     System.out.println(stats.charactersScanned() + " characters, " + stats.tracebackSteps() + " traceback steps");
+ * }</pre>
+ */
+public final class MatcherStats {
+
+    /**
+     * Whether the counting is enabled by the {@code com.pe.text.stats} system property
+     */
+    public static final boolean ENABLED = Boolean.getBoolean("com.pe.text.stats");
+
+    private final LongAdder charactersScanned = new LongAdder();
+    private final LongAdder rowUpdates = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder improveIterations = new LongAdder();
+    private final LongAdder tracebackSteps = new LongAdder();
+    private final LongAdder resets = new LongAdder();
+    private final LongAdder stateResets = new LongAdder();
+
+    MatcherStats() {
+    }
+
+    /**
+     * Returns counters of the pattern.
+     *
+     * @param pattern pattern compiled by the {@link FuzzyPattern#compile} methods
+     * @return counters of all matchers of the pattern
+     * @throws IllegalStateException    if the counting is not {@link #ENABLED}
+     * @throws IllegalArgumentException if the pattern is not compiled by this library
+     */
+    public static MatcherStats of(FuzzyPattern pattern) {
+        if (!ENABLED)
+            throw new IllegalStateException("Matcher statistics is disabled, use -Dcom.pe.text.stats=true to enable it");
+        if (!(pattern instanceof BaseBitap))
+            throw new IllegalArgumentException(pattern.getClass().getName() + " doesn't collect matcher statistics");
+        return ((BaseBitap) pattern).stats;
+    }
+
+    void scanned(int rows, boolean hit) {
+        charactersScanned.increment();
+        rowUpdates.add(rows);
+        if (hit) hits.increment();
+    }
+
+    void rowsUpdated(int rows) {
+        rowUpdates.add(rows);
+    }
+
+    void improveIteration() {
+        improveIterations.increment();
+    }
+
+    void tracebackStep() {
+        tracebackSteps.increment();
+    }
+
+    void reset() {
+        resets.increment();
+    }
+
+    void stateReset() {
+        stateResets.increment();
+    }
+
+    /**
+     * Returns amount of characters tested by the matchers, including the look-ahead characters
+     * tested to improve found matchings.
+     *
+     * @return amount of scanned characters
+     */
+    public long charactersScanned() {
+        return charactersScanned.sum();
+    }
+
+    /**
+     * Returns amount of computed bit mask rows (one row per allowed Levenshtein distance for every character),
+     * including the rows recomputed by the traceback of the patterns without the history of rows
+     * (see {@link TracebackStrategy}).
+     *
+     * @return amount of computed rows
+     */
+    public long rowUpdates() {
+        return rowUpdates.sum();
+    }
+
+    /**
+     * Returns amount of positions where the pattern was matched, including the ones found by the look-ahead.
+     *
+     * @return amount of candidate matchings
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns amount of the look-ahead characters tested to improve found matchings.
+     *
+     * @return amount of the look-ahead characters
+     */
+    public long improveIterations() {
+        return improveIterations.sum();
+    }
+
+    /**
+     * Returns amount of steps (edit or matching operations) walked back to restore edit operations of the matchings.
+     *
+     * @return amount of traceback steps
+     */
+    public long tracebackSteps() {
+        return tracebackSteps.sum();
+    }
+
+    /**
+     * Returns amount of the matchers creations and resets by the {@link FuzzyMatcher#reset} methods.
+     *
+     * @return amount of matcher resets
+     */
+    public long resets() {
+        return resets.sum();
+    }
+
+    /**
+     * Returns amount of bit masks initializations, i.e. starts of the search of the next matching.
+     *
+     * @return amount of state resets
+     */
+    public long stateResets() {
+        return stateResets.sum();
+    }
+
+    /**
+     * Resets all counters to zero.
+     */
+    public void clear() {
+        charactersScanned.reset();
+        rowUpdates.reset();
+        hits.reset();
+        improveIterations.reset();
+        tracebackSteps.reset();
+        resets.reset();
+        stateResets.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "MatcherStats{charactersScanned=" + charactersScanned() +
+                ", rowUpdates=" + rowUpdates() +
+                ", hits=" + hits() +
+                ", improveIterations=" + improveIterations() +
+                ", tracebackSteps=" + tracebackSteps() +
+                ", resets=" + resets() +
+                ", stateResets=" + stateResets() +
+                '}';
+    }
+}
@@ -1,32 +1,42 @@
 package com.pe.text;
 
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.Objects;
-import java.util.PriorityQueue;
 import java.util.stream.Stream;
 
 /**
  * Fallback implementation of the {@link FuzzyPatterns} if one of the patterns doesn't implement {@link IterativeFuzzyMatcherProvider}
- * This implementation calls find for all patterns at the begging and then lazily continues searching using priority queue.
+ * This implementation calls find for all patterns at the beginning and then lazily continues searching,
+ * merging matchings of the patterns by their positions with the loser tree.
  */
 class MultiplePatterns implements FuzzyPatterns {
 
-    private static final Comparator<FuzzyMatcher> START_POSITION_COMPARATOR =
-            Comparator.comparing(MultiplePatterns::getStartPositionSafely)
-                    .thenComparing(MultiplePatterns::getEndPositionSafely);
+    /**
+     * key of the matcher which hasn't been started yet, so it is the first one to be taken from the tree
+     */
+    private static final long NOT_STARTED = 0L;
+    /**
+     * key of the matcher which has no more matchings
+     */
+    private static final long COMPLETED = Long.MAX_VALUE;
+
     private final FuzzyMatcherProvider[] patterns;
 
     public MultiplePatterns(FuzzyMatcherProvider[] patterns) {
         this.patterns = patterns;
     }
 
-    private static int getStartPositionSafely(FuzzyMatcher matcher) {
-        return matcher.started() ? matcher.start() : -1;
-    }
-
-    private static int getEndPositionSafely(FuzzyMatcher matcher) {
-        return matcher.started() ? matcher.end() : -1;
+    /**
+     * Packs start and end positions of the found matching into the key ordering matchings by start and then by end,
+     * or by end and then by start in the overlapping mode, since the matchers report overlapping matchings by their ends
+     *
+     * @param matcher     matcher with the found matching
+     * @param overlapping true if the matchers are in the overlapping mode
+     * @return primitive key of the matching
+     */
+    private static long key(FuzzyMatcher matcher, boolean overlapping) {
+        return overlapping
+                ? ((long) (matcher.end() + 1) << 32) | (matcher.start() + 1)
+                : ((long) (matcher.start() + 1) << 32) | (matcher.end() + 1);
     }
 
     @Override
@@ -34,6 +44,29 @@ class MultiplePatterns implements FuzzyPatterns {
         return new Matcher(text, fromIndex, toIndex);
     }
 
+    @Override
+    public int patternsCount() {
+        return patterns.length;
+    }
+
+    @Override
+    public void aggregate(CharSequence text, int fromIndex, int toIndex, PatternStatistics statistics) {
+        statistics.ensurePatternsCount(patterns.length);
+        final Matcher matcher = new Matcher(text, fromIndex, toIndex);
+        while (matcher.find()) {
+            final FuzzyMatcher matched = matcher.matchers[matcher.tree[0]];
+            statistics.add(matcher.tree[0], matched.start(), matched.end(), matched.distance());
+        }
+    }
+
+    @Override
+    public boolean contains(CharSequence text, int fromIndex, int toIndex) {
+        for (FuzzyMatcherProvider pattern : patterns)
+            if (pattern.contains(text, fromIndex, toIndex))
+                return true;
+        return false;
+    }
+
     @Override
     public Iterable<? extends FuzzyMatcherProvider> patterns() {
         return Arrays.stream(patterns)::iterator;
@@ -41,30 +74,153 @@ class MultiplePatterns implements FuzzyPatterns {
 
     class Matcher implements DefaultFuzzyMatcher {
         final FuzzyMatcher[] matchers;
-        final PriorityQueue<FuzzyMatcher> queue;
+        /**
+         * keys of the current matchings of the {@link #matchers}, see {@link #key(FuzzyMatcher, boolean)}
+         */
+        private final long[] keys;
+        /**
+         * loser tree over the {@link #matchers}: the winner (matcher with the lowest key) is at the index 0,
+         * inner nodes {@code 1..n-1} keep losers of their subtrees, leaf of the i-th matcher is the node {@code n + i}
+         */
+        final int[] tree;
+        /**
+         * winners of the subtrees used to build the {@link #tree}
+         */
+        private final int[] winners;
+        /**
+         * matchers of the custom providers which don't support the word boundaries mode, so their matchings are filtered
+         */
+        private final boolean[] filtered;
+        /**
+         * matchers of the custom providers which don't support the overlapping mode, so it is emulated by restarting
+         * their search after the start of the previous matching
+         */
+        private final boolean[] restarted;
         private CharSequence text;
 
+        private int fromIndex;
         private int toIndex;
+        private boolean wordBoundaries;
+        private boolean overlapping;
+        /**
+         * token of the cooperative cancellation, see {@link #useCancellation(CancellationToken)}, or null
+         */
+        private CancellationToken cancellation;
+        /**
+         * true if the {@link #find()} was stopped by the {@link #cancellation} token between searches of the matchers
+         */
+        private boolean partial;
 
         Matcher(CharSequence text, int fromIndex, int toIndex) {
             this.text = text;
+            this.fromIndex = fromIndex;
             this.toIndex = toIndex;
-            this.matchers = new IterativeFuzzyMatcher[patterns.length];
-            this.queue = new PriorityQueue<>(patterns.length, START_POSITION_COMPARATOR);
+            this.matchers = new FuzzyMatcher[patterns.length];
+            this.keys = new long[patterns.length];
+            this.tree = new int[patterns.length];
+            this.winners = new int[patterns.length << 1];
+            this.filtered = new boolean[patterns.length];
+            this.restarted = new boolean[patterns.length];
             for (int i = 0, l = this.matchers.length; i < l; i++) {
                 this.matchers[i] = MultiplePatterns.this.patterns[i].matcher(text, fromIndex, toIndex);
-                this.queue.add(matchers[i]);
             }
+            build();
+        }
+
+        /**
+         * Checks whether the matching of the 1st matcher goes before the matching of the 2nd one,
+         * matchings at the same positions are ordered by the patterns order
+         */
+        private boolean precedes(int first, int second) {
+            return keys[first] < keys[second] || keys[first] == keys[second] && first < second;
+        }
+
+        /**
+         * Builds the {@link #tree} from the scratch by the current {@link #keys}
+         */
+        private void build() {
+            final int n = this.matchers.length;
+            for (int i = 0; i < n; i++) this.winners[n + i] = i;
+            for (int node = n - 1; node > 0; node--) {
+                final int left = this.winners[node << 1];
+                final int right = this.winners[(node << 1) + 1];
+                if (precedes(left, right)) {
+                    this.winners[node] = left;
+                    this.tree[node] = right;
+                } else {
+                    this.winners[node] = right;
+                    this.tree[node] = left;
+                }
+            }
+            this.tree[0] = n == 1 ? 0 : this.winners[1];
+        }
+
+        /**
+         * Updates the key of the matcher and replays matches on the path from its leaf to the root of the {@link #tree}
+         *
+         * @param i   index of the matcher
+         * @param key new key of the matcher
+         */
+        private void update(int i, long key) {
+            this.keys[i] = key;
+            int winner = i;
+            for (int node = (this.matchers.length + i) >> 1; node > 0; node >>= 1) {
+                final int loser = this.tree[node];
+                if (precedes(loser, winner)) {
+                    this.tree[node] = winner;
+                    winner = loser;
+                }
+            }
+            this.tree[0] = winner;
+        }
+
+        /**
+         * Searches the next matching of the matcher and puts it into the {@link #tree}
+         *
+         * @param i index of the matcher
+         */
+        private void advance(int i) {
+            final FuzzyMatcher matcher = this.matchers[i];
+            boolean found = this.keys[i] == NOT_STARTED ? matcher.find() : findNext(i);
+            if (this.filtered[i]) {
+                while (found && splitsWord(matcher)) found = findNext(i);
+            }
+            update(i, found ? key(matcher, this.overlapping) : COMPLETED);
+        }
+
+        /**
+         * Searches the next matching of the matcher which has found the previous one
+         *
+         * @param i index of the matcher
+         * @return true if the next matching is found
+         */
+        private boolean findNext(int i) {
+            final FuzzyMatcher matcher = this.matchers[i];
+            if (this.restarted[i]) matcher.reset(this.text, matcher.start() + 1, this.toIndex);
+            return matcher.find();
+        }
+
+        /**
+         * Checks whether the found matching splits a word of the text at its start or end
+         *
+         * @param matcher matcher with the found matching
+         * @return {@code true} if the matching has to be skipped in the word boundaries mode
+         */
+        private boolean splitsWord(FuzzyMatcher matcher) {
+            return BaseBitap.splitsWord(this.text, matcher.start()) || BaseBitap.splitsWord(this.text, matcher.end());
         }
 
         @Override
         public void reset(CharSequence text, int fromIndex, int toIndex) {
             this.text = text;
+            this.fromIndex = fromIndex;
             this.toIndex = toIndex;
-            this.queue.clear();
+            this.partial = false;
             for (FuzzyMatcher matcher : this.matchers) {
                 matcher.reset(text, fromIndex, toIndex);
             }
+            Arrays.fill(this.keys, NOT_STARTED);
+            build();
         }
 
         @Override
@@ -74,35 +230,176 @@ class MultiplePatterns implements FuzzyPatterns {
 
         @Override
         public boolean find() {
-            while (!this.queue.isEmpty()) {
-                FuzzyMatcher matcher = this.queue.poll();
+            int winner = this.tree[0];
+            while (this.keys[winner] != COMPLETED) {
                 // end position of the current matching
-                final int position = !matcher.started() ? -1 : matcher.end();
-                // return matcher to the queue if it has next matching
-                if (matcher.find())
-                    this.queue.add(matcher);
-                // get the next matcher and keep it in the queue
-                matcher = this.queue.peek();
-                // no matchers in the queue - search is stopped
-                if (matcher == null) return false;
-                // continue looping to initialize (start) all matchers in the queue
-                if (!matcher.started()) continue;
-                // remove overlapping matchings
-                while (matcher.start() < position) {
-                    matcher = Objects.requireNonNull(this.queue.poll());
-                    matcher.reset(this.text, position, this.toIndex);
-                    if (matcher.find()) {
-                        this.queue.add(matcher);
-                    }
-                    matcher = this.queue.peek();
-                    if (matcher == null)
-                        return false;
+                final int position = this.keys[winner] == NOT_STARTED ? -1 : this.matchers[winner].end();
+                // matchers are started without the checks, as the single patterns check the token after the first block
+                if (this.keys[winner] != NOT_STARTED && stopped()) return false;
+                advance(winner);
+                winner = this.tree[0];
+                // continue looping to initialize (start) all matchers in the tree
+                if (this.keys[winner] == NOT_STARTED) continue;
+                if (this.overlapping) return this.keys[winner] != COMPLETED;
+                // remove overlapping matchings, continuing the losing matcher after the current matching
+                while (this.keys[winner] != COMPLETED && this.matchers[winner].start() < position) {
+                    if (stopped()) return false;
+                    skipTo(winner, position);
+                    advance(winner);
+                    winner = this.tree[0];
                 }
-                return true;
+                return this.keys[winner] != COMPLETED;
             }
             return false;
         }
 
+        /**
+         * Moves the matcher, which matching overlaps the current one, to continue its search from the specified position.
+         * Iterative matchers continue their scan from there, keeping their region, cancellation checks and recorded events,
+         * matchers of the custom providers are reset to the region starting at the position.
+         *
+         * @param i        index of the matcher
+         * @param position end of the current matching
+         */
+        private void skipTo(int i, int position) {
+            final FuzzyMatcher matcher = this.matchers[i];
+            if (matcher instanceof IterativeFuzzyMatcher) {
+                // the next find() resets the state and scans from the character after the index
+                ((IterativeFuzzyMatcher) matcher).setIndex(position - 1);
+            } else {
+                matcher.reset(this.text, position, this.toIndex);
+            }
+        }
+
+        /**
+         * Checks the {@link #cancellation} token before the next search of a matcher, so the matchers of the custom
+         * providers which don't support cancellation are stopped between their matchings
+         *
+         * @return true if the search has to be stopped
+         */
+        private boolean stopped() {
+            if (this.cancellation == null || !this.cancellation.isCancelled()) return false;
+            this.partial = true;
+            return true;
+        }
+
+        @Override
+        public boolean matches() {
+            return matchBest(true);
+        }
+
+        @Override
+        public boolean lookingAt() {
+            return matchBest(false);
+        }
+
+        /**
+         * Applies the anchored matching to all patterns and keeps the one with the lowest distance in the tree
+         *
+         * @param entire if {@code true} the entire region has to be matched, otherwise - its beginning only
+         * @return {@code true} if at least one pattern is matched
+         */
+        private boolean matchBest(boolean entire) {
+            int best = -1;
+            for (int i = 0; i < this.matchers.length; i++) {
+                final FuzzyMatcher matcher = this.matchers[i];
+                if (anchored(i, entire)
+                        && (best < 0 || matcher.distance() < this.matchers[best].distance()))
+                    best = i;
+            }
+            Arrays.fill(this.keys, COMPLETED);
+            if (best >= 0) this.keys[best] = key(this.matchers[best], this.overlapping);
+            build();
+            return best >= 0;
+        }
+
+        /**
+         * Applies the anchored matching to the matcher. It is emulated for the matchers of the custom providers
+         * which don't support it: the first matching found in the region has to start at its beginning
+         * (and to end at its end if the entire region has to be matched), so the matching is not improved
+         * by the alignment with the region as the library patterns do.
+         *
+         * @param i      index of the matcher
+         * @param entire if {@code true} the entire region has to be matched, otherwise - its beginning only
+         * @return {@code true} if the pattern is matched
+         */
+        private boolean anchored(int i, boolean entire) {
+            final FuzzyMatcher matcher = this.matchers[i];
+            try {
+                return entire ? matcher.matches() : matcher.lookingAt();
+            } catch (UnsupportedOperationException e) {
+                final int from = Math.max(0, this.fromIndex);
+                matcher.reset(this.text, from, this.toIndex);
+                return matcher.find() && matcher.start() == from
+                        && (!entire || matcher.end() == Math.min(this.text.length(), this.toIndex))
+                        && !(this.filtered[i] && splitsWord(matcher));
+            }
+        }
+
+        @Override
+        public FuzzyMatcher useWordBoundaries(boolean wordBoundaries) {
+            this.wordBoundaries = wordBoundaries;
+            for (int i = 0; i < this.matchers.length; i++) {
+                try {
+                    this.matchers[i].useWordBoundaries(wordBoundaries);
+                    this.filtered[i] = false;
+                } catch (UnsupportedOperationException e) {
+                    // matchings of the custom provider which split words are skipped
+                    this.filtered[i] = wordBoundaries;
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean hasWordBoundaries() {
+            return this.wordBoundaries;
+        }
+
+        @Override
+        public FuzzyMatcher useOverlapping(boolean overlapping) {
+            this.overlapping = overlapping;
+            for (int i = 0; i < this.matchers.length; i++) {
+                try {
+                    this.matchers[i].useOverlapping(overlapping);
+                    this.restarted[i] = false;
+                } catch (UnsupportedOperationException e) {
+                    this.restarted[i] = overlapping;
+                }
+                // current matchings are reordered by the keys of the mode
+                if (this.keys[i] != NOT_STARTED && this.keys[i] != COMPLETED)
+                    this.keys[i] = key(this.matchers[i], overlapping);
+            }
+            build();
+            return this;
+        }
+
+        @Override
+        public boolean isOverlapping() {
+            return this.overlapping;
+        }
+
+        @Override
+        public FuzzyMatcher useCancellation(CancellationToken token) {
+            this.cancellation = token;
+            for (FuzzyMatcher matcher : this.matchers) {
+                try {
+                    matcher.useCancellation(token);
+                } catch (UnsupportedOperationException e) {
+                    // the token is checked by this matcher between the searches of the custom matcher
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public boolean partial() {
+            if (this.partial) return true;
+            for (FuzzyMatcher matcher : this.matchers)
+                if (matcher.partial()) return true;
+            return false;
+        }
+
         @Override
         public int to() {
             return this.toIndex;
@@ -115,7 +412,7 @@ class MultiplePatterns implements FuzzyPatterns {
 
         @Override
         public boolean completed() {
-            return started() && this.queue.isEmpty();
+            return started() && this.keys[this.tree[0]] == COMPLETED;
         }
 
         @Override
@@ -156,7 +453,7 @@ class MultiplePatterns implements FuzzyPatterns {
         @Override
         public FuzzyMatcher ensureFound() {
             DefaultFuzzyMatcher.super.ensureFound();
-            return this.queue.peek();
+            return this.matchers[this.tree[0]];
         }
     }
 }
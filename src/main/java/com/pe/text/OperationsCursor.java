@@ -0,0 +1,289 @@
+package com.pe.text;
+
+/**
+ * Reusable allocation-free cursor over the char-by-char operations of the {@link FuzzyResult}.
+ * It is a primitive alternative of the {@link FuzzyResult#streamCharByCharOperations()}
+ * and {@link FuzzyResult#streamEditOperations()}, which create {@link Operation} and {@link CharWithIndex} instances
+ * for every character:
+ * <pre>{@code
+ *     OperationsCursor cursor = new OperationsCursor();
+ *     FuzzyMatcher matcher = pattern.matcher(text);
+ *     while (matcher.find()) {
+ *         cursor.reset(matcher);
+ *         while (cursor.next()) {
+ *             if (cursor.type() == OperationType.REPLACEMENT)
+ *                 statistics.count(cursor.textChar(), cursor.patternChar());
+ *         }
+ *     }
+ * }</pre>
+ * The cursor keeps references to the result text and grows its internal buffers only when the larger pattern or
+ * the larger amount of edits is met, so resetting it on every found result doesn't allocate in the steady state.
+ * <p>
+ * Indices of the text characters are relative to the {@link FuzzyResult#foundText()}, the same as in the {@link Operation#textChar()}.
+ * <p>
+ * Instances of this class are not safe for use by multiple concurrent threads.
+ */
+public final class OperationsCursor {
+
+    private static final char[] EMPTY = new char[0];
+
+    private final boolean includeMatchingOperation;
+
+    private CharSequence patternText;
+    private boolean caseInsensitive;
+    /**
+     * Pattern characters folded to lower case in case of case-insensitive pattern, or pattern as is otherwise
+     */
+    private char[] patternChars = EMPTY;
+    private int patternLength;
+
+    private CharSequence text;
+    private int textOffset;
+    private int textLength;
+
+    /**
+     * Ordinals of {@link OperationType}s of the edits
+     */
+    private int[] edits = new int[8];
+    private int editsCount;
+
+    private int editIndex;
+    private int nextPatternIndex;
+    private int nextTextIndex;
+
+    private OperationType type;
+    private int patternIndex;
+    private int textIndex;
+
+    /**
+     * Creates cursor over all char-by-char operations including {@link OperationType#MATCHING} ones.
+     */
+    public OperationsCursor() {
+        this(true);
+    }
+
+    /**
+     * Creates cursor over char-by-char operations.
+     *
+     * @param includeMatchingOperation if {@code true} the cursor stops on every {@link OperationType#MATCHING} operation,
+     *                                 otherwise - only on edit operations.
+     */
+    public OperationsCursor(boolean includeMatchingOperation) {
+        this.includeMatchingOperation = includeMatchingOperation;
+    }
+
+    /**
+     * Resets the cursor to iterate over operations of the specified result.
+     * The specified result has to stay unchanged (e.g. the matcher must not search further) during iteration.
+     *
+     * @param result found matching to iterate over its operations
+     * @return this cursor positioned before the first operation
+     */
+    public OperationsCursor reset(FuzzyResult result) {
+        final FuzzyPattern pattern = result.pattern();
+        setPattern(pattern.text(), pattern.caseInsensitive());
+        setEdits(result);
+        if (result instanceof FuzzyMatcher) {
+            final FuzzyMatcher matcher = (FuzzyMatcher) result;
+            text = matcher.text();
+            textOffset = matcher.start();
+            textLength = matcher.end() - textOffset;
+        } else {
+            text = result.foundText();
+            textOffset = 0;
+            textLength = text.length();
+        }
+        editIndex = 0;
+        nextPatternIndex = 0;
+        nextTextIndex = 0;
+        type = null;
+        patternIndex = -1;
+        textIndex = -1;
+        return this;
+    }
+
+    private void setPattern(CharSequence patternText, boolean caseInsensitive) {
+        if (patternText == this.patternText && caseInsensitive == this.caseInsensitive)
+            return;
+        this.patternText = patternText;
+        this.caseInsensitive = caseInsensitive;
+        patternLength = patternText.length();
+        if (patternChars.length < patternLength) patternChars = new char[patternLength];
+        for (int i = 0; i < patternLength; i++) {
+            final char c = patternText.charAt(i);
+            patternChars[i] = caseInsensitive ? Character.toLowerCase(c) : c;
+        }
+    }
+
+    private void setEdits(FuzzyResult result) {
+        // multiple patterns matchers delegate to the matcher of the found pattern
+        while (result instanceof DefaultFuzzyMatcher && !(result instanceof BaseBitap.Matcher)) {
+            final FuzzyMatcher found = ((DefaultFuzzyMatcher) result).ensureFound();
+            if (found == result) break;
+            result = found;
+        }
+        final int distance = result.distance();
+        if (edits.length < distance) edits = new int[Math.max(distance, edits.length << 1)];
+        if (result instanceof BaseBitap.Matcher) {
+            final int[] lengthChanges = ((BaseBitap.Matcher) result).lengthChanges;
+            for (int i = 0; i < distance; i++) edits[i] = lengthChanges[i + 1] + 2;
+            editsCount = distance;
+        } else if (result instanceof FuzzyResultRecord) {
+            editsCount = ((FuzzyResultRecord) result).copyEditsTo(edits);
+        } else {
+            editsCount = 0;
+            result.streamEditTypes().forEachOrdered(edit -> edits[editsCount++] = edit.ordinal());
+        }
+    }
+
+    /**
+     * Returns the total amount of operations this cursor iterates over after the {@link #reset(FuzzyResult)}.
+     *
+     * @return the total amount of operations
+     */
+    public int size() {
+        if (!includeMatchingOperation)
+            return editsCount;
+        // every pattern character is matched, replaced or inserted, and deleted text characters are added to them
+        int result = patternLength;
+        for (int i = 0; i < editsCount; i++) if (edits[i] == OperationType.DELETION.ordinal()) result++;
+        return result;
+    }
+
+    /**
+     * Moves the cursor to the next operation.
+     *
+     * @return {@code true} if the cursor is moved to the next operation,
+     * {@code false} if there are no more operations.
+     */
+    public boolean next() {
+        while (editIndex < editsCount || (includeMatchingOperation && nextPatternIndex < patternLength)) {
+            final boolean hasPatternChar = nextPatternIndex < patternLength;
+            final boolean hasTextChar = nextTextIndex < textLength;
+            final boolean isSame = hasPatternChar && hasTextChar && isSame(
+                    patternChars[nextPatternIndex], text.charAt(textOffset + nextTextIndex));
+
+            if (!isSame) {
+                switch (OperationType.values[edits[editIndex++]]) {
+                    case DELETION:
+                        type = OperationType.DELETION;
+                        patternIndex = -1;
+                        textIndex = nextTextIndex++;
+                        return true;
+                    case REPLACEMENT:
+                        type = OperationType.REPLACEMENT;
+                        patternIndex = nextPatternIndex++;
+                        textIndex = nextTextIndex++;
+                        return true;
+                    case INSERTION:
+                        type = OperationType.INSERTION;
+                        patternIndex = nextPatternIndex++;
+                        textIndex = -1;
+                        return true;
+                    default:
+                        throw new IllegalStateException(
+                                "Unexpected edit[" + (editIndex - 1) + "]=" + OperationType.values[edits[editIndex - 1]]
+                        );
+                }
+            }
+
+            if (includeMatchingOperation) {
+                type = OperationType.MATCHING;
+                patternIndex = nextPatternIndex++;
+                textIndex = nextTextIndex++;
+                return true;
+            }
+
+            nextPatternIndex++;
+            nextTextIndex++;
+        }
+        type = null;
+        patternIndex = -1;
+        textIndex = -1;
+        return false;
+    }
+
+    private boolean isSame(char foldedPatternChar, char textChar) {
+        return foldedPatternChar == textChar
+                || caseInsensitive && foldedPatternChar == Character.toLowerCase(textChar);
+    }
+
+    /**
+     * Returns type of the current operation.
+     *
+     * @return type of the current operation
+     * @throws IllegalStateException if the cursor is not positioned on an operation.
+     */
+    public OperationType type() {
+        ensurePositioned();
+        return type;
+    }
+
+    /**
+     * Returns index of the pattern character used in the current operation,
+     * or {@code -1} in case of {@link OperationType#DELETION}.
+     *
+     * @return index of the pattern character or {@code -1} in case of {@link OperationType#DELETION}
+     * @throws IllegalStateException if the cursor is not positioned on an operation.
+     */
+    public int patternIndex() {
+        ensurePositioned();
+        return patternIndex;
+    }
+
+    /**
+     * Returns the pattern character used in the current operation (see {@link Operation#patternChar()}).
+     *
+     * @return the pattern character
+     * @throws IllegalStateException if the cursor is not positioned on an operation,
+     *                               or the current operation is {@link OperationType#DELETION}.
+     */
+    public char patternChar() {
+        if (patternIndex() < 0)
+            throw new IllegalStateException("There is no pattern character for " + type);
+        return patternText.charAt(patternIndex);
+    }
+
+    /**
+     * Returns index of the text character in the found text (see {@link FuzzyResult#foundText()}) used in the current operation,
+     * or {@code -1} in case of {@link OperationType#INSERTION}.
+     *
+     * @return index of the text character in the found text or {@code -1} in case of {@link OperationType#INSERTION}
+     * @throws IllegalStateException if the cursor is not positioned on an operation.
+     */
+    public int textIndex() {
+        ensurePositioned();
+        return textIndex;
+    }
+
+    /**
+     * Returns the text character used in the current operation (see {@link Operation#textChar()}).
+     *
+     * @return the text character
+     * @throws IllegalStateException if the cursor is not positioned on an operation,
+     *                               or the current operation is {@link OperationType#INSERTION}.
+     */
+    public char textChar() {
+        if (textIndex() < 0)
+            throw new IllegalStateException("There is no text character for " + type);
+        return text.charAt(textOffset + textIndex);
+    }
+
+    /**
+     * Creates immutable copy of the current operation.
+     *
+     * @return immutable copy of the current operation
+     * @throws IllegalStateException if the cursor is not positioned on an operation.
+     */
+    public Operation toOperation() {
+        ensurePositioned();
+        return new Operation(type,
+                patternIndex < 0 ? null : new CharWithIndex(patternText.charAt(patternIndex), patternIndex),
+                textIndex < 0 ? null : new CharWithIndex(text.charAt(textOffset + textIndex), textIndex));
+    }
+
+    private void ensurePositioned() {
+        if (type == null)
+            throw new IllegalStateException("OperationsCursor.next() must return true before retrieving the operation");
+    }
+}
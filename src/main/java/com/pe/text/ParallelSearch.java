@@ -0,0 +1,147 @@
+package com.pe.text;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Searches the best matchings of the pattern across multiple texts (documents) in parallel.
+ * <p>
+ * Every worker publishes its matchings into the shared bound (the best matching, or the worst of the K best ones)
+ * and applies it to its matcher via {@link IterativeFuzzyMatcher#setMaxDistance(int)} before each search,
+ * so all workers prune matchings which can not beat the best ones found by others,
+ * and stop scanning documents when even the exact matching can not beat them.
+ * Found matchings with the same distance are prioritized by the document index and then by position.
+ * <p>
+ * The bound tightens as the workers go, and the lowered maximal distance changes the non-overlapping scan
+ * within a document: a matching found at the lower distance can start later or be shorter than the one
+ * which would be found at the higher distance and hide it. So spans of the returned matchings
+ * (and, for the top K, which of the equally good matchings are returned) can depend on the order in which
+ * documents are scanned, while the pruning never drops a document which can contain a better matching.
+ */
+final class ParallelSearch {
+
+    private ParallelSearch() {
+    }
+
+    static Optional<DocumentFuzzyResult> findTheBest(FuzzyMatcherProvider provider, List<? extends CharSequence> texts) {
+        final AtomicReference<DocumentFuzzyResult> best = new AtomicReference<>();
+        IntStream.range(0, texts.size()).parallel().forEach(documentIndex -> {
+            if (allowedDistance(best.get(), documentIndex, Integer.MAX_VALUE) < 0)
+                return;
+            final FuzzyMatcher matcher = provider.matcher(texts.get(documentIndex));
+            search(matcher, documentIndex, maxDistance -> allowedDistance(best.get(), documentIndex, maxDistance),
+                    result -> {
+                        DocumentFuzzyResult current = best.get();
+                        while (current == null || DocumentFuzzyResult.BEST_FIRST.compare(result, current) < 0) {
+                            if (best.compareAndSet(current, result))
+                                return;
+                            current = best.get();
+                        }
+                    });
+        });
+        return Optional.ofNullable(best.get());
+    }
+
+    static List<DocumentFuzzyResult> findTopK(FuzzyMatcherProvider provider, List<? extends CharSequence> texts, int k) {
+        final SharedHeap heap = new SharedHeap(k);
+        IntStream.range(0, texts.size()).parallel().forEach(documentIndex -> {
+            if (allowedDistance(heap.worst(), documentIndex, Integer.MAX_VALUE) < 0)
+                return;
+            final FuzzyMatcher matcher = provider.matcher(texts.get(documentIndex));
+            search(matcher, documentIndex, maxDistance -> allowedDistance(heap.worst(), documentIndex, maxDistance),
+                    heap::offer);
+        });
+        return heap.toList();
+    }
+
+    /**
+     * Returns maximal distance of the matching in the specified document which is able to beat the specified bound
+     *
+     * @param bound         the best matching found by all workers or the worst of the K best ones,
+     *                      {@code null} if there is no bound yet
+     * @param documentIndex index of the document to search in
+     * @param maxDistance   maximal allowed distance of the matcher
+     * @return maximal distance of the matching which is able to beat the bound, negative if no matching can beat it
+     */
+    private static int allowedDistance(DocumentFuzzyResult bound, int documentIndex, int maxDistance) {
+        if (bound == null)
+            return maxDistance;
+        // matching with the same distance in the previous document is better
+        final int allowed = documentIndex < bound.documentIndex() ? bound.distance() : bound.distance() - 1;
+        return Math.min(allowed, maxDistance);
+    }
+
+    private static void search(FuzzyMatcher matcher, int documentIndex, DistanceBound bound, ResultSink sink) {
+        if (!(matcher instanceof IterativeFuzzyMatcher)) {
+            // no pruning is possible, so simply publish the best matchings of the document
+            while (matcher.find())
+                sink.accept(new DocumentFuzzyResult(documentIndex, matcher));
+            return;
+        }
+        final IterativeFuzzyMatcher iterative = (IterativeFuzzyMatcher) matcher;
+        final int maxDistance = iterative.getMaxDistance();
+        while (true) {
+            final int allowed = bound.allowedDistance(maxDistance);
+            if (allowed < 0)
+                break;
+            iterative.setMaxDistance(allowed);
+            if (!iterative.find())
+                break;
+            sink.accept(new DocumentFuzzyResult(documentIndex, iterative));
+        }
+        iterative.setMaxDistance(maxDistance);
+    }
+
+    @FunctionalInterface
+    private interface DistanceBound {
+        int allowedDistance(int maxDistance);
+    }
+
+    @FunctionalInterface
+    private interface ResultSink {
+        void accept(DocumentFuzzyResult result);
+    }
+
+    /**
+     * Bounded heap of K best matchings shared by all workers
+     */
+    private static final class SharedHeap {
+        private final int capacity;
+        private final PriorityQueue<DocumentFuzzyResult> heap;
+        /**
+         * the worst of the K best matchings, published for lock-free reads by workers
+         */
+        private volatile DocumentFuzzyResult worst;
+
+        SharedHeap(int capacity) {
+            if (capacity <= 0)
+                throw new IllegalArgumentException("amount of the best matchings must be positive, but was " + capacity);
+            this.capacity = capacity;
+            this.heap = new PriorityQueue<>(Math.min(capacity, 1024) + 1, DocumentFuzzyResult.BEST_FIRST.reversed());
+        }
+
+        DocumentFuzzyResult worst() {
+            return worst;
+        }
+
+        synchronized void offer(DocumentFuzzyResult result) {
+            if (heap.size() >= capacity && DocumentFuzzyResult.BEST_FIRST.compare(result, heap.peek()) >= 0)
+                return;
+            heap.add(result);
+            if (heap.size() > capacity)
+                heap.poll();
+            if (heap.size() == capacity)
+                worst = heap.peek();
+        }
+
+        synchronized List<DocumentFuzzyResult> toList() {
+            final List<DocumentFuzzyResult> result = new ArrayList<>(heap);
+            result.sort(DocumentFuzzyResult.BEST_FIRST);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.pe.text;
+
+import java.util.Arrays;
+
+/**
+ * Per-pattern aggregates of the matchings found by the {@link FuzzyPatterns}, see
+ * {@link FuzzyPatterns#aggregate(CharSequence, int, int, PatternStatistics)}:
+ * amount of the matchings, their minimal Levenshtein distance, start of the first one and end of the last one.
+ * Patterns are addressed by their index in the {@link FuzzyPatterns#patterns()}.
+ * <p>
+ * Aggregates are kept in primitive arrays, so no objects are created per matching,
+ * and the same instance can be reused for multiple texts via {@link #clear()}:
+ * <pre>{@code
+ *     PatternStatistics statistics = new PatternStatistics(KEYWORDS.patternsCount());
+ *     for (String document : documents) {
+ *         statistics.clear();
+ *         KEYWORDS.aggregate(document, 0, document.length(), statistics);
+ *         classify(document, statistics);
+ *     }
+ * }</pre>
+ * Instances of this class are not safe for use by multiple concurrent threads.
+ */
+public final class PatternStatistics {
+
+    private final int[] counts;
+    private final int[] minDistances;
+    private final int[] firstStarts;
+    private final int[] lastEnds;
+
+    /**
+     * Creates empty statistics for the specified amount of patterns.
+     *
+     * @param patternsCount amount of the combined patterns
+     * @throws IllegalArgumentException if the amount of patterns is negative
+     */
+    public PatternStatistics(int patternsCount) {
+        if (patternsCount < 0)
+            throw new IllegalArgumentException("Amount of patterns is negative: " + patternsCount);
+        counts = new int[patternsCount];
+        minDistances = new int[patternsCount];
+        firstStarts = new int[patternsCount];
+        lastEnds = new int[patternsCount];
+        clear();
+    }
+
+    /**
+     * Drops all aggregated matchings.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+        Arrays.fill(minDistances, -1);
+        Arrays.fill(firstStarts, -1);
+        Arrays.fill(lastEnds, -1);
+    }
+
+    /**
+     * Checks that the statistics is created for the specified amount of patterns
+     *
+     * @param patternsCount amount of the combined patterns
+     * @throws IllegalArgumentException if the statistics is created for another amount of patterns
+     */
+    void ensurePatternsCount(int patternsCount) {
+        if (counts.length != patternsCount)
+            throw new IllegalArgumentException("Statistics is created for " + counts.length
+                    + " patterns, but there are " + patternsCount + " combined patterns");
+    }
+
+    /**
+     * Adds the matching of the pattern
+     *
+     * @param pattern  index of the pattern
+     * @param start    start of the matching
+     * @param end      end of the matching
+     * @param distance Levenshtein distance of the matching
+     */
+    void add(int pattern, int start, int end, int distance) {
+        if (counts[pattern]++ == 0) {
+            minDistances[pattern] = distance;
+            firstStarts[pattern] = start;
+        } else if (distance < minDistances[pattern]) {
+            minDistances[pattern] = distance;
+        }
+        lastEnds[pattern] = end;
+    }
+
+    /**
+     * Returns amount of the patterns the statistics is collected for.
+     *
+     * @return amount of the patterns
+     */
+    public int patternsCount() {
+        return counts.length;
+    }
+
+    /**
+     * Returns amount of the matchings of the pattern.
+     *
+     * @param pattern index of the pattern
+     * @return amount of the matchings, 0 if the pattern was not found
+     */
+    public int count(int pattern) {
+        return counts[pattern];
+    }
+
+    /**
+     * Returns total amount of the matchings of all patterns.
+     *
+     * @return total amount of the matchings
+     */
+    public int totalCount() {
+        int result = 0;
+        for (int count : counts) result += count;
+        return result;
+    }
+
+    /**
+     * Returns the minimal Levenshtein distance among matchings of the pattern.
+     *
+     * @param pattern index of the pattern
+     * @return the minimal Levenshtein distance, or -1 if the pattern was not found
+     */
+    public int minDistance(int pattern) {
+        return minDistances[pattern];
+    }
+
+    /**
+     * Returns start of the first matching of the pattern.
+     *
+     * @param pattern index of the pattern
+     * @return start of the first matching, or -1 if the pattern was not found
+     */
+    public int firstStart(int pattern) {
+        return firstStarts[pattern];
+    }
+
+    /**
+     * Returns end of the last matching of the pattern.
+     *
+     * @param pattern index of the pattern
+     * @return end (exclusive) of the last matching, or -1 if the pattern was not found
+     */
+    public int lastEnd(int pattern) {
+        return lastEnds[pattern];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("PatternStatistics{");
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == 0) continue;
+            if (sb.length() > "PatternStatistics{".length()) sb.append(", ");
+            sb.append(i).append("={count=").append(counts[i])
+                    .append(", minDistance=").append(minDistances[i])
+                    .append(", range=[").append(firstStarts[i]).append('-').append(lastEnds[i]).append("]}");
+        }
+        return sb.append('}').toString();
+    }
+}
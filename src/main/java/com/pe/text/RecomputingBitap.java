@@ -0,0 +1,441 @@
+package com.pe.text;
+
+import com.pe.hash.Char2ObjMap;
+
+import java.util.Arrays;
+
+/**
+ * Bitap implementation which doesn't store the whole history of the bit masks,
+ * see {@link TracebackStrategy#RECOMPUTE} and {@link TracebackStrategy#CHECKPOINTS}.
+ * The scan keeps only the last rows of every distance, which are enough to find the end and the distance of the matching.
+ * The traceback walks back from the end in the same way as the other implementations do,
+ * but the rows before every visited character are recomputed from the start of the window where the matching can begin
+ * (at most {@code m + k} characters before its end and not before the last {@link Matcher#resetState()}),
+ * so found matchings and their edit operations are the same as with the {@link TracebackStrategy#HISTORY}.
+ * <p>
+ * Without checkpoints the state of the matcher takes {@code O(k * words)} memory instead of the
+ * {@code O((m + k) * k * words)} at the cost of the {@code O((m + k) ^ 2)} steps of the traceback of every found matching.
+ * With checkpoints the rows are also stored before every {@code B}-th character, and the traceback recomputes
+ * the whole segment between checkpoints once, when it walks into the segment, so it takes {@code O(m + k)} steps,
+ * and the state takes {@code O(((m + k) / B + B) * k * words)} memory, which is the least for {@code B = sqrt(m + k)}.
+ */
+class RecomputingBitap extends BaseBitap {
+
+    /**
+     * Positions inverted bitmask for every character in the pattern
+     */
+    private final Char2ObjMap<BitVector> positionMasks;
+
+    /**
+     * Per-thread state buffers (previous and current rows, and one temporary vector)
+     * for {@link #scanChars(char[], int, int)}
+     */
+    private final ScanState<BitVector[][]> scanRows = new ScanState<>(() -> new BitVector[][]{
+            vectors(maxLevenshteinDistance() + 1), vectors(maxLevenshteinDistance() + 1), vectors(1)});
+
+    /**
+     * Distance between checkpoints of the rows, or 0 if rows are recomputed from the start of the window
+     */
+    private final int checkpointInterval;
+
+    /**
+     * Creates pattern which matchers store rows before every {@code checkpointInterval}-th scanned character.
+     *
+     * @param pattern                text of the pattern
+     * @param maxLevenshteinDistance maximal allowed Levenshtein distance
+     * @param caseInsensitive        if true - the case of the characters is ignored
+     * @param checkpointInterval     distance between checkpoints or 0 to recompute rows from the start of the window
+     */
+    RecomputingBitap(CharSequence pattern, int maxLevenshteinDistance, boolean caseInsensitive, int checkpointInterval) {
+        super(pattern, maxLevenshteinDistance, caseInsensitive);
+        if (checkpointInterval < 0)
+            throw new IllegalArgumentException("checkpointInterval can not be negative, but was " + checkpointInterval);
+        this.checkpointInterval = checkpointInterval;
+        positionMasks = new Char2ObjMap<>(
+                caseInsensitive
+                        ? pattern.toString().toUpperCase() + pattern.toString().toLowerCase()
+                        : pattern,
+                BitVector.class,
+                null);
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = caseInsensitive ? Character.toLowerCase(pattern.charAt(i)) : pattern.charAt(i);
+            final BitVector mask = positionMasks.computeIfAbsent(c, k -> new BitVector(pattern.length()).resetToMinusOne())
+                    .setZeroAt(i);
+            if (caseInsensitive) positionMasks.put(Character.toUpperCase(c), mask);
+        }
+    }
+
+    /**
+     * Returns strategy of the traceback of this pattern
+     *
+     * @return {@link TracebackStrategy#CHECKPOINTS} if matchers store checkpoints, {@link TracebackStrategy#RECOMPUTE} otherwise
+     */
+    TracebackStrategy tracebackStrategy() {
+        return checkpointInterval > 0 ? TracebackStrategy.CHECKPOINTS : TracebackStrategy.RECOMPUTE;
+    }
+
+    /**
+     * Returns distance between checkpoints with the least memory usage: square root of the maximal matching length
+     *
+     * @param patternLength length of the pattern
+     * @param maxDistance   maximal allowed Levenshtein distance
+     * @return the optimal distance between checkpoints
+     */
+    static int optimalCheckpointInterval(int patternLength, int maxDistance) {
+        return (int) Math.ceil(Math.sqrt(patternLength + maxDistance + 1.0));
+    }
+
+    /**
+     * Returns amount of the checkpoints enough to cover the maximal matching length
+     */
+    private static int checkpointsCount(int patternLength, int maxDistance, int checkpointInterval) {
+        return (patternLength + maxDistance + checkpointInterval) / checkpointInterval + 1;
+    }
+
+    /**
+     * Estimates amount of the rows (bit vectors) stored by the matcher
+     *
+     * @param patternLength      length of the pattern
+     * @param maxDistance        maximal allowed Levenshtein distance
+     * @param checkpointInterval distance between checkpoints or 0 if there are no checkpoints
+     * @return amount of the rows stored by the matcher
+     */
+    static long rowsCount(int patternLength, int maxDistance, int checkpointInterval) {
+        long rows = 4;
+        if (checkpointInterval > 0)
+            rows += checkpointsCount(patternLength, maxDistance, checkpointInterval) + checkpointInterval;
+        return rows * (maxDistance + 1);
+    }
+
+    private BitVector[] vectors(int count) {
+        final BitVector[] result = new BitVector[count];
+        for (int i = 0; i < count; i++) result[i] = new BitVector(text().length());
+        return result;
+    }
+
+    /**
+     * Sets rows before consuming any character: pattern prefix of the length up to the distance is matched by insertions
+     */
+    private static void initialize(BitVector[] rows, int distance) {
+        for (int d = 0; d <= distance; d++) rows[d].resetToMinusOne().leftShift(d);
+    }
+
+    @Override
+    boolean scanChars(char[] chars, int fromIndex, int toIndex) {
+        final int maxDistance = maxLevenshteinDistance();
+        final BitVector[][] rows = scanRows.get();
+        try {
+            final BitVector temporary = rows[2][0];
+            BitVector[] previous = rows[0];
+            BitVector[] current = rows[1];
+            initialize(previous, maxDistance);
+            for (int index = fromIndex; index < toIndex; index++) {
+                final BitVector charPositions = positionMasks.get(chars[index]);
+                if (charPositions == null) {
+                    current[0].resetToMinusOne();
+                } else {
+                    current[0].setBitsFrom(previous[0]).leftShift1().or(charPositions);
+                }
+                if (current[0].hasZeroAtTheLastBit()) return true;
+                for (int d = 1; d <= maxDistance; d++) {
+                    final BitVector deletion = previous[d - 1];
+                    final BitVector row = current[d].setBitsFrom(current[d - 1]).leftShift1().and(deletion)
+                            .and(temporary.setBitsFrom(deletion).leftShift1());
+                    if (charPositions != null)
+                        row.and(temporary.setBitsFrom(previous[d]).leftShift1().or(charPositions));
+                    if (row.hasZeroAtTheLastBit()) return true;
+                }
+                final BitVector[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            return false;
+        } finally {
+            scanRows.release(rows);
+        }
+    }
+
+    @Override
+    String tableStrategy() {
+        return positionMasks.tableStrategy();
+    }
+
+    @Override
+    public IterativeFuzzyMatcher getIterativeMatcher(CharSequence text, int fromIndex, int toIndex) {
+        return new Matcher(text, fromIndex, toIndex);
+    }
+
+    final class Matcher extends BaseBitap.Matcher {
+
+        private BitVector[] previous;
+        private BitVector[] current;
+        /**
+         * rows recomputed by the traceback
+         */
+        private BitVector[] recomputedPrevious;
+        private BitVector[] recomputedCurrent;
+        /**
+         * ring of the rows stored before every {@link #checkpointInterval}-th character, or null without checkpoints
+         */
+        private final BitVector[][] checkpoints;
+        /**
+         * position of the character the checkpoint rows are stored before, or -1 for the empty checkpoint
+         */
+        private final int[] checkpointPositions;
+        private int nextCheckpoint;
+        private int charactersToCheckpoint;
+        /**
+         * rows before every character of the segment recomputed from the checkpoint at the {@link #segmentStart}
+         */
+        private final BitVector[][] segment;
+        private int segmentStart;
+        private int segmentDistance;
+        private final BitVector substitution;
+        private final BitVector matching;
+        /**
+         * amount of characters consumed since the last {@link #resetState()},
+         * limited by the maximal length of the matching
+         */
+        private int consumedSinceReset;
+
+        private Matcher(CharSequence text, int fromIndex, int toIndex) {
+            super(text, fromIndex, toIndex);
+            previous = vectors(maxDistance + 1);
+            current = vectors(maxDistance + 1);
+            recomputedPrevious = vectors(maxDistance + 1);
+            recomputedCurrent = vectors(maxDistance + 1);
+            if (checkpointInterval > 0) {
+                final int m = RecomputingBitap.this.text().length();
+                checkpoints = new BitVector[checkpointsCount(m, maxDistance, checkpointInterval)][];
+                for (int i = 0; i < checkpoints.length; i++) checkpoints[i] = vectors(maxDistance + 1);
+                checkpointPositions = new int[checkpoints.length];
+                segment = new BitVector[checkpointInterval][];
+                for (int i = 0; i < segment.length; i++) segment[i] = vectors(maxDistance + 1);
+            } else {
+                checkpoints = null;
+                checkpointPositions = null;
+                segment = null;
+            }
+            substitution = new BitVector(RecomputingBitap.this.text().length());
+            matching = new BitVector(RecomputingBitap.this.text().length());
+        }
+
+        @Override
+        void initializeState() {
+            consumedSinceReset = 0;
+            initialize(current, maxDistance);
+            if (checkpoints != null) {
+                Arrays.fill(checkpointPositions, -1);
+                charactersToCheckpoint = 0;
+            }
+        }
+
+        @Override
+        boolean nextSymbol(char symbol) {
+            if (consumedSinceReset <= RecomputingBitap.this.text().length() + maxLevenshteinDistance())
+                consumedSinceReset++;
+            final BitVector[] swap = previous;
+            previous = current;
+            current = swap;
+            if (checkpoints != null && --charactersToCheckpoint < 0) storeCheckpoint();
+            final boolean acceptable = (!anchoredEnd || index == toIndex - 1) && acceptableEnd();
+            final BitVector charPositions = positionMasks.get(symbol);
+            final int consumed = index - from();
+            if (charPositions == null) {
+                current[0].resetToMinusOne();
+            } else {
+                current[0].setBitsFrom(previous[0]).leftShift1().or(charPositions)
+                        .orLowestBit(startBit(consumed, 0));
+            }
+            levenshteinDistance = 0;
+            if (acceptable && current[0].hasZeroAtTheLastBit()) {
+                if (lengthChanges.length > 1) lengthChanges[1] = 0;
+                return true;
+            }
+            while (levenshteinDistance < maxDistance) {
+                final BitVector combined = step(previous, current, charPositions, consumed, ++levenshteinDistance);
+                if (acceptable && combined.hasZeroAtTheLastBit()) {
+                    if (levenshteinDistance < maxDistance) lengthChanges[levenshteinDistance + 1] = 0;
+                    traceback();
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Computes row of the distance after consuming the character
+         *
+         * @param previous      rows before the character
+         * @param current       rows after the character, already computed for the lower distances
+         * @param charPositions inverted positions of the character in the pattern or null if there is no such character
+         * @param consumed      amount of characters consumed from the {@link #from()} before this one
+         * @param distance      distance of the computed row, greater than 0
+         * @return computed row
+         */
+        private BitVector step(BitVector[] previous, BitVector[] current, BitVector charPositions, int consumed, int distance) {
+            final BitVector deletion = previous[distance - 1];
+            substitution.setBitsFrom(deletion).leftShift1().orLowestBit(startBit(consumed, distance - 1));
+            final BitVector combined = current[distance]
+                    .setBitsFrom(current[distance - 1]).leftShift1()
+                    .orLowestBit(startBit(consumed + 1, distance - 1))
+                    .and(deletion)
+                    .and(substitution);
+            if (charPositions != null) {
+                matching.setBitsFrom(previous[distance]).leftShift1().or(charPositions)
+                        .orLowestBit(startBit(consumed, distance));
+                combined.and(matching);
+            }
+            return combined;
+        }
+
+        /**
+         * Stores rows before the character at the current {@link #index} into the next checkpoint of the ring
+         */
+        private void storeCheckpoint() {
+            charactersToCheckpoint = checkpointInterval - 1;
+            final BitVector[] rows = checkpoints[nextCheckpoint];
+            for (int d = 0; d <= maxDistance; d++) rows[d].setBitsFrom(previous[d]);
+            checkpointPositions[nextCheckpoint] = index;
+            if (++nextCheckpoint == checkpoints.length) nextCheckpoint = 0;
+        }
+
+        /**
+         * Computes rows up to the distance after consuming the character at the position
+         */
+        private void advance(BitVector[] previous, BitVector[] current, int position, int distance) {
+            if (MatcherStats.ENABLED) stats.rowsUpdated(distance + 1);
+            final BitVector charPositions = positionMasks.get(symbolAt(position));
+            if (charPositions == null) {
+                current[0].resetToMinusOne();
+            } else {
+                current[0].setBitsFrom(previous[0]).leftShift1().or(charPositions)
+                        .orLowestBit(startBit(position - from(), 0));
+            }
+            for (int d = 1; d <= distance; d++) step(previous, current, charPositions, position - from(), d);
+        }
+
+        /**
+         * Recomputes rows up to the distance before consuming the character at the specified position,
+         * starting from the nearest checkpoint before it, or, without checkpoints,
+         * from the initial rows at the first position of the window where the current matching can begin.
+         *
+         * @param position position of the character
+         * @param distance maximal distance of the rows
+         * @return rows before the character at the position
+         */
+        private BitVector[] rowsBefore(int position, int distance) {
+            if (checkpoints != null) {
+                int nearest = -1;
+                for (int i = 0; i < checkpoints.length; i++) {
+                    final int checkpoint = checkpointPositions[i];
+                    if (checkpoint >= 0 && checkpoint <= position && (nearest < 0 || checkpoint > checkpointPositions[nearest]))
+                        nearest = i;
+                }
+                if (nearest >= 0) return segmentRowsBefore(nearest, position, distance);
+            }
+            final int first = index + 1 - consumedSinceReset;
+            initialize(recomputedCurrent, distance);
+            for (int i = first; i < position; i++) {
+                final BitVector[] swap = recomputedPrevious;
+                recomputedPrevious = recomputedCurrent;
+                recomputedCurrent = swap;
+                advance(recomputedPrevious, recomputedCurrent, i, distance);
+            }
+            return recomputedCurrent;
+        }
+
+        /**
+         * Returns rows before the character at the position from the segment which starts at the checkpoint,
+         * the segment is recomputed only if it wasn't recomputed yet for the same checkpoint and distance
+         */
+        private BitVector[] segmentRowsBefore(int checkpoint, int position, int distance) {
+            final int start = checkpointPositions[checkpoint];
+            if (segmentStart != start || segmentDistance < distance) {
+                segmentStart = start;
+                segmentDistance = distance;
+                for (int d = 0; d <= distance; d++) segment[0][d].setBitsFrom(checkpoints[checkpoint][d]);
+                final int last = Math.min(start + checkpointInterval - 1, index);
+                for (int i = start; i < last; i++) advance(segment[i - start], segment[i - start + 1], i, distance);
+            }
+            return segment[position - start];
+        }
+
+        @Override
+        void completeRows() {
+            final BitVector charPositions = positionMasks.get(symbolAt(index));
+            for (int d = levenshteinDistance + 1; d <= maxDistance; d++)
+                step(previous, current, charPositions, index - from(), d);
+        }
+
+        /**
+         * Restores {@link #lengthChanges} of the matching found at the current {@link #index}
+         * with the current {@link #levenshteinDistance} walking back through the recomputed bit masks.
+         */
+        private void traceback() {
+            int reverseLevensteinDistance = levenshteinDistance;
+            int reverseIndex = index;
+            // amount of characters before the reverseIndex, used by the matching anchored to the start
+            int consumed = reverseIndex - from();
+            // index of the pattern character, which is matched with the character at the reverseIndex
+            int reverseBit = RecomputingBitap.this.text().length() - 1;
+            BitVector charPositions = positionMasks.get(symbolAt(reverseIndex));
+            // rows of the scanned characters were changed since the previous traceback
+            segmentStart = -1;
+            BitVector[] previous = rowsBefore(reverseIndex, reverseLevensteinDistance);
+            do {
+                if (MatcherStats.ENABLED) stats.tracebackStep();
+                final BitVector deletion = previous[reverseLevensteinDistance - 1];
+                substitution.setBitsFrom(deletion).leftShift1()
+                        .orLowestBit(startBit(consumed, reverseLevensteinDistance - 1));
+                if (charPositions != null)
+                    matching.setBitsFrom(previous[reverseLevensteinDistance]).leftShift1().or(charPositions)
+                            .orLowestBit(startBit(consumed, reverseLevensteinDistance));
+
+                boolean inserted = false;
+                if (charPositions != null && hasZeroAt(matching, reverseBit)) {
+                    reverseBit--;
+                } else if (hasZeroAt(deletion, reverseBit)) {
+                    lengthChanges[reverseLevensteinDistance--] = -1;
+                } else if (hasZeroAt(substitution, reverseBit)) {
+                    lengthChanges[reverseLevensteinDistance--] = 0;
+                    reverseBit--;
+                } else {
+                    lengthChanges[reverseLevensteinDistance--] = 1;
+                    reverseBit--;
+                    inserted = true;
+                }
+
+                if (reverseLevensteinDistance == 0) {
+                    return;
+                }
+
+                if ((anchoredStart || wordBoundaries) && reverseBit < 0) {
+                    // the whole pattern is matched, so all remaining characters back to the allowed start are deleted
+                    while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = -1;
+                    return;
+                }
+
+                if (!inserted) {
+                    if (reverseIndex > scanStart) {
+                        charPositions = positionMasks.get(symbolAt(--reverseIndex));
+                        consumed--;
+                        previous = rowsBefore(reverseIndex, reverseLevensteinDistance);
+                    } else {
+                        // only insertions can be here
+                        while (reverseLevensteinDistance > 0) lengthChanges[reverseLevensteinDistance--] = 1;
+                        return;
+                    }
+                }
+            } while (true);
+        }
+
+        /**
+         * Same as the check of the bit selected by the shifted mask in other implementations:
+         * the mask shifted out of the pattern selects nothing, so it is treated as zero
+         */
+        private boolean hasZeroAt(BitVector vector, int bit) {
+            return bit < 0 || vector.hasZeroAt(bit);
+        }
+    }
+}
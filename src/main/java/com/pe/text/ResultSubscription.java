@@ -0,0 +1,140 @@
+package com.pe.text;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription of the {@link FuzzyResultPublisher}: requests are accumulated in the {@link #requested} counter,
+ * and the matcher is scanned by the single task on the executor at a time (see {@link #run()}),
+ * which emits not more matchings than requested.
+ */
+final class ResultSubscription implements FuzzyResultPublisher.Subscription, Runnable {
+
+    /**
+     * Subscription of the rejected subscribers, which ignores requests
+     */
+    static final FuzzyResultPublisher.Subscription REJECTED = new FuzzyResultPublisher.Subscription() {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    };
+
+    private final FuzzyMatcher matcher;
+    private final FuzzyResultPublisher.Subscriber subscriber;
+    private final Executor executor;
+    /**
+     * requested but not emitted matchings, {@link Long#MAX_VALUE} if unbounded
+     */
+    private final AtomicLong requested = new AtomicLong();
+    /**
+     * amount of requests to run the scan, which are missed by the running task, 0 if the task is not running
+     */
+    private final AtomicInteger scheduled = new AtomicInteger();
+    private volatile boolean cancelled;
+    /**
+     * error of the non-positive request, which is signalled by the running task
+     */
+    private volatile IllegalArgumentException invalidRequest;
+    /**
+     * true when the terminal signal was sent, it is accessed only by the running task
+     */
+    private boolean done;
+
+    ResultSubscription(FuzzyMatcher matcher, FuzzyResultPublisher.Subscriber subscriber, Executor executor) {
+        this.matcher = matcher;
+        this.subscriber = subscriber;
+        this.executor = executor;
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            invalidRequest = new IllegalArgumentException("Requested amount of matchings must be positive, but was " + n);
+        } else {
+            long current;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) return;
+            } while (!requested.compareAndSet(current, current + n < 0 ? Long.MAX_VALUE : current + n));
+        }
+        schedule();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        if (matcher instanceof BaseBitap.Matcher) ((BaseBitap.Matcher) matcher).cancel();
+    }
+
+    private void schedule() {
+        if (scheduled.getAndIncrement() != 0) return;
+        try {
+            executor.execute(this);
+        } catch (RuntimeException e) {
+            cancel();
+            subscriber.onError(e);
+        }
+    }
+
+    @Override
+    public void run() {
+        int missed = 1;
+        do {
+            if (!done) emit();
+            missed = scheduled.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Scans the matcher until all requested matchings are emitted or its region is completed
+     */
+    private void emit() {
+        long limit = requested.get();
+        long emitted = 0;
+        while (!done) {
+            if (cancelled) {
+                done = true;
+            } else if (invalidRequest != null) {
+                cancel();
+                done = true;
+                subscriber.onError(invalidRequest);
+            } else if (emitted == limit) {
+                // new requests since the previous check, unbounded demand is never decremented
+                limit = requested.get();
+                if (limit != Long.MAX_VALUE) limit = requested.addAndGet(-emitted);
+                emitted = 0;
+                if (limit == 0) return;
+            } else {
+                final boolean found;
+                try {
+                    found = matcher.find();
+                } catch (RuntimeException e) {
+                    done = true;
+                    subscriber.onError(e);
+                    return;
+                }
+                if (cancelled) {
+                    done = true;
+                } else if (found) {
+                    try {
+                        subscriber.onNext(new FuzzyResultRecord(matcher));
+                    } catch (RuntimeException e) {
+                        // the subscriber violates the specification, so its subscription is considered cancelled
+                        cancel();
+                        done = true;
+                        throw e;
+                    }
+                    emitted++;
+                } else {
+                    done = true;
+                    subscriber.onComplete();
+                }
+            }
+        }
+    }
+}
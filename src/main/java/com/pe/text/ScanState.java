@@ -0,0 +1,36 @@
+package com.pe.text;
+
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state buffers of the {@link BaseBitap#scanForMatch(CharSequence, int, int)},
+ * which is called by many threads concurrently without creating the matcher.
+ * Buffers taken by the {@link #get()} are returned by the {@link #release(Object)} once the scan is done.
+ *
+ * @param <T> type of the buffers
+ */
+final class ScanState<T> {
+
+    private final ThreadLocal<T> buffers;
+
+    ScanState(Supplier<T> factory) {
+        buffers = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Returns buffers of the current thread
+     *
+     * @return buffers, which are not shared with the other threads
+     */
+    T get() {
+        return buffers.get();
+    }
+
+    /**
+     * Returns buffers taken by the {@link #get()}, the thread-local buffers stay with their thread
+     *
+     * @param buffers buffers which are not used anymore
+     */
+    void release(T buffers) {
+    }
+}
@@ -0,0 +1,235 @@
+package com.pe.text;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Push-based matcher for the text which arrives in chunks, e.g. from an event-driven pipeline:
+ * <pre>{@code
+ *     StreamingFuzzyMatcher matcher = FuzzyPattern.compile("Medical Record", 2)
+ *             .streamMatcher(result -> System.out.println(result.start() + ": " + result.foundText()));
+ *     while ((read = reader.read(buffer)) >= 0) matcher.feed(buffer, 0, read);
+ *     matcher.finish();
+ * }</pre>
+ * Bit masks of the matcher are kept across chunk boundaries, so results are the same as the ones of the
+ * {@link FuzzyMatcher#find()} over the whole concatenated text, and their positions are absolute offsets in the stream.
+ * Only the minimal trailing window of the stream is retained: the last {@code m + k + 1} characters
+ * (where {@code m} is the pattern length and {@code k} is the maximal Levenshtein distance) needed for the traceback
+ * of the edit operations, and, if a matching was found near the end of the chunk,
+ * the characters after it needed to improve the matching (see {@link IterativeFuzzyMatcher#improveResult(int)}).
+ * Such matching is reported by the next {@link #feed(char[], int, int)} or by the {@link #finish()}.
+ * <p>
+ * Results passed to the listener are immutable copies, while the matcher itself is not thread-safe.
+ * The total length of the stream is limited by {@link Integer#MAX_VALUE}, use {@link #reset()} to start a new stream.
+ */
+public final class StreamingFuzzyMatcher {
+
+    private final IterativeFuzzyMatcher matcher;
+    private final Consumer<? super FuzzyResult> listener;
+    /**
+     * maximal length of the matching plus one character
+     */
+    private final int window;
+    private final Window text = new Window();
+    private char[] buffer = new char[64];
+    /**
+     * absolute offset of the first retained character in the {@link #buffer}
+     */
+    private int base;
+    /**
+     * amount of the retained characters in the {@link #buffer}
+     */
+    private int filled;
+    /**
+     * absolute position of the last tested character
+     */
+    private int index;
+    /**
+     * exclusive end of the improvement of the found but not reported matching at the {@link #index}, or -1
+     */
+    private int pendingLimit;
+
+    StreamingFuzzyMatcher(IterativeFuzzyMatcherProvider pattern, Consumer<? super FuzzyResult> listener) {
+        this.matcher = pattern.getIterativeMatcher(text, 0, 0);
+        this.listener = listener;
+        this.window = matcher.pattern().text().length() + matcher.getMaxDistance() + 1;
+        reset();
+    }
+
+    /**
+     * Drops the retained characters and not reported matching to start a new stream at the offset 0.
+     */
+    public void reset() {
+        base = 0;
+        filled = 0;
+        index = -1;
+        pendingLimit = -1;
+        // the matcher is still at the end of the previous stream, and its state is reset at its index
+        matcher.setIndex(-1);
+        matcher.resetState();
+    }
+
+    /**
+     * Returns total amount of characters fed since creation or the last {@link #reset()}.
+     *
+     * @return absolute offset of the next fed character
+     */
+    public int position() {
+        return base + filled;
+    }
+
+    /**
+     * Scans the next chunk of the stream, reporting all matchings which can be completed with the characters fed so far.
+     *
+     * @param chunk  array with characters of the chunk
+     * @param offset offset of the chunk in the array
+     * @param length length of the chunk
+     * @throws IndexOutOfBoundsException if the chunk is out of the array bounds
+     * @throws IllegalStateException     if the total length of the stream exceeds {@link Integer#MAX_VALUE}
+     */
+    public void feed(char[] chunk, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > chunk.length - length)
+            throw new IndexOutOfBoundsException("Chunk [" + offset + ", " + offset + " + " + length
+                    + ") is out of bounds of the array with length " + chunk.length);
+        reserve(length);
+        System.arraycopy(chunk, offset, buffer, filled, length);
+        filled += length;
+        scan(false);
+    }
+
+    /**
+     * Ensures the {@link #buffer} has room for the next chunk
+     *
+     * @param length length of the chunk
+     * @throws IllegalStateException if the total length of the stream exceeds {@link Integer#MAX_VALUE}
+     */
+    private void reserve(int length) {
+        if (length > Integer.MAX_VALUE - position())
+            throw new IllegalStateException("Stream length exceeded " + Integer.MAX_VALUE + " characters");
+        if (filled + length > buffer.length)
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length << 1, filled + length));
+    }
+
+    /**
+     * Same as {@code feed(chunk, 0, chunk.length)}.
+     *
+     * @param chunk characters of the chunk
+     */
+    public void feed(char[] chunk) {
+        feed(chunk, 0, chunk.length);
+    }
+
+    /**
+     * Same as {@link #feed(char[], int, int)} for the characters of the text.
+     *
+     * @param chunk text of the chunk
+     */
+    public void feed(CharSequence chunk) {
+        final int length = chunk.length();
+        reserve(length);
+        // characters are copied straight into the buffer, without intermediate String and array
+        if (chunk instanceof String) {
+            ((String) chunk).getChars(0, length, buffer, filled);
+        } else {
+            for (int i = 0; i < length; i++) buffer[filled + i] = chunk.charAt(i);
+        }
+        filled += length;
+        scan(false);
+    }
+
+    /**
+     * Marks the end of the stream, reporting the matching pending for the characters after it.
+     * Feeding can be continued afterwards, as if the stream was not finished.
+     */
+    public void finish() {
+        scan(true);
+    }
+
+    private void scan(boolean end) {
+        final int available = base + filled;
+        matcher.reset(text, base, available);
+        if (pendingLimit >= 0) {
+            if (!end && available < pendingLimit) return;
+            report(Math.min(pendingLimit, available));
+        }
+        while (index + 1 < available) {
+            matcher.setIndex(++index);
+            if (matcher.testNextSymbol()) {
+                // the same bound as in the FuzzyMatcher.find()
+                final int limit = matcher.start() + matcher.pattern().text().length() + matcher.getMaxDistance();
+                if (matcher.distance() > 0 && !end && available < limit) {
+                    pendingLimit = limit;
+                    break;
+                }
+                report(Math.min(limit, available));
+            }
+        }
+        // retain only characters needed for the traceback of the next matchings
+        final int dropped = Math.min(filled, Math.max(0, index + 1 - window - base));
+        if (dropped > 0) {
+            System.arraycopy(buffer, dropped, buffer, 0, filled - dropped);
+            base += dropped;
+            filled -= dropped;
+        }
+    }
+
+    /**
+     * Improves the matching found at the {@link #index} and passes it to the listener
+     */
+    private void report(int limit) {
+        matcher.setIndex(index);
+        final int maxDistance = matcher.getMaxDistance();
+        matcher.improveResult(limit);
+        matcher.setMaxDistance(maxDistance);
+        listener.accept(new FuzzyResultRecord(matcher));
+        index = matcher.end() - 1;
+        pendingLimit = -1;
+        matcher.resetState();
+    }
+
+    @Override
+    public String toString() {
+        return "StreamingFuzzyMatcher{pattern=" + matcher.pattern() +
+                ", position=" + position() +
+                ", retained=" + filled +
+                ", pending=" + (pendingLimit >= 0) +
+                '}';
+    }
+
+    /**
+     * Retained characters of the stream addressed by their absolute offsets.
+     * The matcher reads them straight from the {@link #buffer}, which is replaced or shifted only between scans.
+     */
+    private final class Window implements CharArrayText {
+
+        @Override
+        public char[] array() {
+            return buffer;
+        }
+
+        @Override
+        public int arrayOffset() {
+            return -base;
+        }
+
+        @Override
+        public int length() {
+            return base + filled;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return buffer[index - base];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(buffer, start - base, end - start);
+        }
+
+        @Override
+        public String toString() {
+            return new String(buffer, 0, filled);
+        }
+    }
+}
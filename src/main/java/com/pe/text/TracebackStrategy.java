@@ -0,0 +1,53 @@
+package com.pe.text;
+
+/**
+ * Strategy to restore the start and the edit operations of the matching found at its end by the Bitap algorithm,
+ * see {@link FuzzyPattern#compile(CharSequence, int, boolean, TracebackStrategy)}
+ * and {@link FuzzyPattern#compile(CharSequence, int, boolean, long)}
+ */
+public enum TracebackStrategy {
+    /**
+     * Matcher keeps bit masks of the last {@code m + k + 1} scanned characters (where {@code m} is the pattern length
+     * and {@code k} is the maximal Levenshtein distance) and walks back through them.
+     * It is the fastest strategy, but the state of the matcher takes {@code O((m + k) * k)} words.
+     */
+    HISTORY,
+    /**
+     * Matcher keeps only bit masks of the last scanned character, and the traceback recomputes bit masks
+     * of the characters where the found matching can begin (at most {@code m + k} characters before its end).
+     * Found matchings and their edit operations are the same as with the {@link #HISTORY},
+     * except that the traceback never reaches characters scanned before the previous matching. The state of the matcher
+     * takes {@code O(k)} words, which matters for long patterns and for many concurrent matchers,
+     * but the traceback of every matching takes {@code O((m + k) ^ 2)} steps.
+     * It is used only when requested explicitly, the memory limit selects the {@link #CHECKPOINTS} instead.
+     */
+    RECOMPUTE,
+    /**
+     * Same as {@link #RECOMPUTE}, but the matcher also keeps bit masks before every {@code sqrt(m + k)}-th character,
+     * and the traceback recomputes every segment between such checkpoints only once,
+     * so it takes {@code O(m + k)} steps while the state of the matcher takes {@code O(sqrt(m + k) * k)} words.
+     */
+    CHECKPOINTS;
+
+    /**
+     * Estimates amount of memory taken by the state of the matcher of the pattern compiled with this strategy.
+     *
+     * @param patternLength length of the pattern
+     * @param maxDistance   maximal allowed Levenshtein distance
+     * @return approximate amount of bytes used by the matcher
+     */
+    public long estimateMatcherMemory(int patternLength, int maxDistance) {
+        // bit vector takes its words, array and object headers
+        final long vectorBytes = 8L * (((patternLength - 1) >>> 6) + 1) + 32;
+        switch (this) {
+            case HISTORY:
+                final long rows = (long) (patternLength + maxDistance + 1) * (maxDistance + 1);
+                return rows * (patternLength <= 32 ? 4 : patternLength <= 64 ? 8 : vectorBytes);
+            case RECOMPUTE:
+                return RecomputingBitap.rowsCount(patternLength, maxDistance, 0) * vectorBytes;
+            default:
+                return RecomputingBitap.rowsCount(patternLength, maxDistance,
+                        RecomputingBitap.optimalCheckpointInterval(patternLength, maxDistance)) * vectorBytes;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.pe.text;
+
+/**
+ * Hooks emitting Java Flight Recorder events of the patterns compilation ({@link FuzzyPatternCompileEvent})
+ * and the search by their matchers ({@link FuzzySearchEvent}), which replace the no-op hooks of Java 8
+ * in the multi-release jar.
+ * <p>
+ * Events are allocated only if they are enabled in the running recording, except the event of every matcher,
+ * which is reused for all its searches, so the search doesn't allocate anything if the recording is not started.
+ */
+final class FlightRecorderEvents {
+
+    /**
+     * false if the JVM runs without the {@code jdk.jfr} module, e.g. in the custom runtime image
+     */
+    private static final boolean AVAILABLE = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    /**
+     * Event to check whether the {@link BaseBitap#scanForMatch(CharSequence, int, int)} is recorded,
+     * which doesn't have the matcher to keep its event, so it is allocated only if it's enabled.
+     * It's not thread-local to not create thread-local maps of the virtual threads, see {@link ScanState}.
+     */
+    private static final FuzzySearchEvent SCAN_PROBE = AVAILABLE ? new FuzzySearchEvent() : null;
+
+    private FlightRecorderEvents() {
+    }
+
+    static Object compileStarted() {
+        if (!AVAILABLE) return null;
+        final FuzzyPatternCompileEvent event = new FuzzyPatternCompileEvent();
+        if (!event.isEnabled()) return null;
+        event.begin();
+        return event;
+    }
+
+    static FuzzyPattern compiled(Object event, BaseBitap pattern) {
+        if (event != null) ((FuzzyPatternCompileEvent) event).commit(pattern);
+        return pattern;
+    }
+
+    static Object searchEvent() {
+        return AVAILABLE ? new FuzzySearchEvent() : null;
+    }
+
+    static void searchStarted(Object event, BaseBitap.Matcher matcher) {
+        final FuzzySearchEvent searchEvent = (FuzzySearchEvent) event;
+        // the previous text is not searched till the end, but its search is over
+        searchEvent.commit(matcher);
+        searchEvent.start();
+    }
+
+    static void finding(Object event) {
+        ((FuzzySearchEvent) event).finding();
+    }
+
+    static void searched(Object event, BaseBitap.Matcher matcher, boolean found) {
+        ((FuzzySearchEvent) event).found(matcher, found);
+    }
+
+    static boolean contains(BaseBitap pattern, CharSequence text, int fromIndex, int toIndex) {
+        if (!AVAILABLE) return pattern.scanForMatch(text, fromIndex, toIndex);
+        if (!SCAN_PROBE.isEnabled()) return pattern.scanForMatch(text, fromIndex, toIndex);
+        final FuzzySearchEvent event = new FuzzySearchEvent();
+        event.start();
+        event.finding();
+        final boolean found = pattern.scanForMatch(text, fromIndex, toIndex);
+        event.scanned(pattern, Math.max(0, toIndex - fromIndex), found);
+        return found;
+    }
+}
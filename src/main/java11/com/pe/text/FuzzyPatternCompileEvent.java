@@ -0,0 +1,45 @@
+package com.pe.text;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight Recorder event of the {@link FuzzyPattern#compile} with the engine chosen for the pattern
+ */
+@Name("com.pe.text.FuzzyPatternCompile")
+@Label("Fuzzy Pattern Compile")
+@Category("Fuzzy Search")
+@Description("Compilation of the fuzzy search pattern")
+final class FuzzyPatternCompileEvent extends Event {
+
+    @Label("Pattern Length")
+    int patternLength;
+
+    @Label("Max Levenshtein Distance")
+    int maxDistance;
+
+    @Label("Case Insensitive")
+    boolean caseInsensitive;
+
+    @Label("Engine")
+    @Description("Bitap implementation chosen for the pattern length and traceback strategy")
+    String engine;
+
+    @Label("Char Table Strategy")
+    @Description("Perfect hash of the pattern characters to their position masks")
+    String tableStrategy;
+
+    void commit(BaseBitap pattern) {
+        end();
+        if (!shouldCommit()) return;
+        patternLength = pattern.text().length();
+        maxDistance = pattern.maxLevenshteinDistance();
+        caseInsensitive = pattern.caseInsensitive();
+        engine = pattern.getClass().getSimpleName();
+        tableStrategy = pattern.tableStrategy();
+        commit();
+    }
+}
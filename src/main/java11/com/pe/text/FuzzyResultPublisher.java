@@ -0,0 +1,146 @@
+package com.pe.text;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reactive publisher of the matchings of the {@link FuzzyMatcher}, which scans the text incrementally on the executor
+ * only when the subscriber requests more results, without buffering them and blocking the subscriber's thread:
+ * <pre>{@code
+ *     pattern.matcher(document).publisher(executor).subscribe(subscriber);
+ * }</pre>
+ * Semantics of the {@link Subscriber} and {@link Subscription} are the ones of the {@code java.util.concurrent.Flow}
+ * (and the Reactive Streams specification). They are declared here as the fallback for Java 8,
+ * while on Java 11+ (the multi-release jar) this publisher also implements the {@code Flow.Publisher<FuzzyResult>}.
+ * <p>
+ * The matcher is stateful, so the publisher accepts only one subscriber. The {@link Subscription#cancel()}
+ * stops the bitap scan of the patterns compiled by this library within a few thousands of characters,
+ * other matchers stop after the current {@link FuzzyMatcher#find()}.
+ * Signals to the subscriber are serialized, but they can be delivered by different threads of the executor.
+ * <p>
+ * Java 11+ version of the multi-release jar, which implements the {@code Flow.Publisher<FuzzyResult>}.
+ */
+public final class FuzzyResultPublisher implements Flow.Publisher<FuzzyResult> {
+
+    private final FuzzyMatcher matcher;
+    private final Executor executor;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+
+    FuzzyResultPublisher(FuzzyMatcher matcher, Executor executor) {
+        this.matcher = Objects.requireNonNull(matcher, "matcher");
+        this.executor = Objects.requireNonNull(executor, "executor");
+    }
+
+    /**
+     * Subscribes to the matchings. The subscriber receives {@link Subscriber#onSubscribe(Subscription)} in the calling
+     * thread, and then found matchings as they are requested, followed by the {@link Subscriber#onComplete()}
+     * at the end of the matcher's region.
+     *
+     * @param subscriber subscriber of the matchings
+     * @throws NullPointerException if the subscriber is null
+     */
+    public void subscribe(Subscriber subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        if (!subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(ResultSubscription.REJECTED);
+            subscriber.onError(new IllegalStateException("FuzzyResultPublisher allows only one subscriber"));
+            return;
+        }
+        subscriber.onSubscribe(new ResultSubscription(matcher, subscriber, executor));
+    }
+
+    /**
+     * Subscribes to the matchings by the {@link Flow.Subscriber}, see {@link #subscribe(Subscriber)}
+     *
+     * @param subscriber subscriber of the matchings
+     * @throws NullPointerException if the subscriber is null
+     */
+    @Override
+    public void subscribe(Flow.Subscriber<? super FuzzyResult> subscriber) {
+        Objects.requireNonNull(subscriber, "subscriber");
+        subscribe(new Subscriber() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscriber.onSubscribe(new Flow.Subscription() {
+                    @Override
+                    public void request(long n) {
+                        subscription.request(n);
+                    }
+
+                    @Override
+                    public void cancel() {
+                        subscription.cancel();
+                    }
+                });
+            }
+
+            @Override
+            public void onNext(FuzzyResult result) {
+                subscriber.onNext(result);
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                subscriber.onError(throwable);
+            }
+
+            @Override
+            public void onComplete() {
+                subscriber.onComplete();
+            }
+        });
+    }
+
+    /**
+     * Receiver of the matchings, equivalent of the {@code java.util.concurrent.Flow.Subscriber<FuzzyResult>}
+     */
+    public interface Subscriber {
+
+        /**
+         * Called once before any other method with the subscription to request matchings
+         *
+         * @param subscription subscription of this subscriber
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Called with the next found matching, not more times than requested
+         *
+         * @param result immutable copy of the matching
+         */
+        void onNext(FuzzyResult result);
+
+        /**
+         * Called if the matcher throws an exception or the subscription is misused, no more signals follow
+         *
+         * @param throwable the error
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Called when there are no more matchings in the region of the matcher, no more signals follow
+         */
+        void onComplete();
+    }
+
+    /**
+     * Link between the publisher and the subscriber, equivalent of the {@code java.util.concurrent.Flow.Subscription}
+     */
+    public interface Subscription {
+
+        /**
+         * Requests the specified amount of matchings more, the scan is continued on the executor
+         *
+         * @param n amount of matchings, {@link Long#MAX_VALUE} means unbounded,
+         *          non-positive value is reported by the {@link Subscriber#onError(Throwable)}
+         */
+        void request(long n);
+
+        /**
+         * Stops the scan and signals to the subscriber, it can be called from any thread
+         */
+        void cancel();
+    }
+}
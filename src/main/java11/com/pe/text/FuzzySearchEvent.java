@@ -0,0 +1,109 @@
+package com.pe.text;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight Recorder event of the search by the pattern: from the first {@link FuzzyMatcher#find()} after the reset
+ * of the matcher to the last one, which found nothing, or to the next reset. The duration of the event is the wall-clock
+ * time of the search, which includes the work of the caller between the {@code find()} calls,
+ * while the {@link #searchTime} sums the time spent inside them only.
+ * Resets without any {@code find()} (e.g. by the {@link StreamingFuzzyMatcher}, which scans by the single characters)
+ * and searches of the matchers, which are dropped before the end of the text, are not recorded.
+ * Single event is reused by the matcher for all its searches.
+ * Only slow searches are recorded by default, to keep the continuous recording small.
+ */
+@Name("com.pe.text.FuzzySearch")
+@Label("Fuzzy Search")
+@Category("Fuzzy Search")
+@Description("Search of the fuzzy pattern in the text")
+@Threshold("10 ms")
+final class FuzzySearchEvent extends Event {
+
+    @Label("Text Length")
+    @Description("Length of the searched region of the text")
+    int textLength;
+
+    @Label("Match Count")
+    int matchCount;
+
+    @Label("Pattern Length")
+    int patternLength;
+
+    @Label("Max Levenshtein Distance")
+    int maxDistance;
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Search Time")
+    @Description("Time spent inside the find() calls, without the work of the caller between them")
+    @Timespan(Timespan.NANOSECONDS)
+    long searchTime;
+
+    /**
+     * true if the search is started while the event was enabled and is not committed yet
+     */
+    private transient boolean pending;
+    /**
+     * true if the {@link #begin()} is called by the first {@code find()} of the pending search
+     */
+    private transient boolean begun;
+    /**
+     * {@link System#nanoTime()} at the start of the current {@code find()}
+     */
+    private transient long findStarted;
+
+    void start() {
+        if (!isEnabled()) return;
+        matchCount = 0;
+        searchTime = 0;
+        pending = true;
+        begun = false;
+    }
+
+    void finding() {
+        if (!pending) return;
+        if (!begun) {
+            begun = true;
+            begin();
+        }
+        findStarted = System.nanoTime();
+    }
+
+    void found(BaseBitap.Matcher matcher, boolean found) {
+        if (!pending) return;
+        searchTime += System.nanoTime() - findStarted;
+        if (found) matchCount++;
+        else commit(matcher.pattern(), matcher.to() - matcher.from());
+    }
+
+    void scanned(FuzzyPattern pattern, int textLength, boolean found) {
+        searchTime = System.nanoTime() - findStarted;
+        if (found) matchCount = 1;
+        commit(pattern, textLength);
+    }
+
+    void commit(BaseBitap.Matcher matcher) {
+        if (!pending) return;
+        // the search without find() calls is not recorded
+        if (begun) commit(matcher.pattern(), matcher.to() - matcher.from());
+        else pending = false;
+    }
+
+    void commit(FuzzyPattern pattern, int textLength) {
+        pending = false;
+        end();
+        if (!shouldCommit()) return;
+        this.textLength = textLength;
+        patternLength = pattern.text().length();
+        maxDistance = pattern.maxLevenshteinDistance();
+        engine = pattern.getClass().getSimpleName();
+        commit();
+    }
+}
@@ -0,0 +1,214 @@
+package com.pe.text;
+
+/**
+ * Simplified implementation of the {@link java.util.BitSet}
+ * Most of the operations mutates current instance
+ * <p>
+ * Java 17+ version of the multi-release jar: bitwise operations of the long vectors use SIMD registers
+ * by the incubating Vector API, if the {@code jdk.incubator.vector} module is added to the JVM
+ * ({@code --add-modules jdk.incubator.vector}), otherwise it works as the Java 8 version.
+ */
+final class BitVector {
+    /**
+     * true if the Vector API is available, {@link BitVectorLanes} is not loaded otherwise
+     */
+    static final boolean LANES = ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    /**
+     * minimal amount of words processed by the Vector API: 8 registers (e.g. 32 words, i.e. patterns of 2K+ characters,
+     * on AVX2), shorter vectors are left to the scalar loops. The threshold is not tuned by measurements,
+     * it has to be checked on the target CPU by the {@code MultiReleaseBenchmark}
+     */
+    private static final int MIN_LANES_WORDS = LANES ? BitVectorLanes.LENGTH << 3 : Integer.MAX_VALUE;
+
+    final long[] words;
+    final long lastBitMask;
+
+    /**
+     * Creates new instance of vector which consists of 64-bit words enough to store specified amount of bits
+     *
+     * @param length - specified amount of bits to store
+     */
+    BitVector(final int length) {
+        words = new long[((length - 1) >>> 6) + 1];
+        lastBitMask = 1L << ((length - 1) & 63);
+    }
+
+    /**
+     * Sets zero at the specified bit index on this instance and returns it.
+     *
+     * @param bitIndex specified bit index to set to zero.
+     * @return this mutated instance
+     */
+    BitVector setZeroAt(final int bitIndex) {
+        words[bitIndex >>> 6] &= ~(1L << (bitIndex & 63));
+        return this;
+    }
+
+    /**
+     * Sets one at the specified bit index on this instance and returns it.
+     *
+     * @param bitIndex specified bit index to set to zero.
+     * @return this mutated instance
+     */
+    BitVector setOneAt(final int bitIndex) {
+        words[bitIndex >>> 6] |= 1L << (bitIndex & 63);
+        return this;
+    }
+
+    /**
+     * Returns true if all bits set to zero, otherwise - false
+     *
+     * @return true if all bits set to zero, otherwise - false
+     */
+    boolean isZero() {
+        for (long word : words)
+            if (word != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns true if the bit at the specified index has zero, otherwise - false
+     *
+     * @param bitIndex index of the bit to check
+     * @return true if the bit at the specified index has zero, otherwise - false
+     */
+    boolean hasZeroAt(final int bitIndex) {
+        return 0L == (words[bitIndex >>> 6] & (1L << (bitIndex & 63)));
+    }
+
+    /**
+     * Returns true if the last bit (specified at constructor) has zero, otherwise - false
+     *
+     * @return true if the last bit (specified at constructor) has zero, otherwise - false
+     */
+    boolean hasZeroAtTheLastBit() {
+        return 0L == (words[words.length - 1] & lastBitMask);
+    }
+
+
+    /**
+     * Sets all bits to 1 (one), which is analogue of -1 for signed integers
+     *
+     * @return this mutated instance where all bits are set to 1
+     */
+    BitVector resetToMinusOne() {
+        for (int i = 0, l = words.length; i < l; i++) words[i] = -1L;
+        return this;
+    }
+
+    /**
+     * Sets all bits to 0 (zero), which is analogue of 0 for signed integers
+     *
+     * @return this mutated instance where all bits are set to 1
+     */
+    BitVector resetToZero() {
+        for (int i = 0, l = words.length; i < l; i++) words[i] = 0;
+        return this;
+    }
+
+    /**
+     * Copy bits from the specified bit vector into this instance
+     *
+     * @param vector source of copy operation
+     * @return this mutated instance with bits set (copied) from the specified vector
+     */
+    BitVector setBitsFrom(final BitVector vector) {
+        for (int i = 0, l = words.length; i < l; i++) words[i] = vector.words[i];
+        return this;
+    }
+
+    /**
+     * Performs bitwise OR (|) operation on this and specified vector and stores result to this instance.
+     *
+     * @param vector 2nd vector
+     * @return this mutated instance with the result of the OR bitwise operation
+     */
+    BitVector or(final BitVector vector) {
+        if (words.length >= MIN_LANES_WORDS) {
+            BitVectorLanes.or(words, vector.words);
+            return this;
+        }
+        for (int i = 0; i < words.length; i++) words[i] |= vector.words[i];
+        return this;
+    }
+
+    /**
+     * Performs bitwise AND (&) operation on this and specified vector and stores result to this instance.
+     *
+     * @param vector 2nd vector
+     * @return this mutated instance with the result of the AND bitwise operation
+     */
+    BitVector and(final BitVector vector) {
+        if (words.length >= MIN_LANES_WORDS) {
+            BitVectorLanes.and(words, vector.words);
+            return this;
+        }
+        for (int i = 0; i < words.length; i++) words[i] &= vector.words[i];
+        return this;
+    }
+
+    /**
+     * Shifts left all bits on one {@code << 1} in this instance
+     *
+     * @return this mutated instance with result of {@code << 1}
+     */
+    BitVector leftShift1() {
+        if (words.length >= MIN_LANES_WORDS) {
+            BitVectorLanes.leftShift1(words);
+            return this;
+        }
+        long bit = 0L;
+        for (int i = 0, l = words.length; i < l; i++) {
+            final long wi = words[i];
+            words[i] = (wi << 1) | bit;
+            bit = wi >>> 63;
+        }
+        return this;
+    }
+
+    /**
+     * Performs bitwise OR (|) operation of the lowest bit of this instance with the specified bit.
+     *
+     * @param bit 0 or 1 to combine with the lowest bit
+     * @return this mutated instance
+     */
+    BitVector orLowestBit(final long bit) {
+        words[0] |= bit;
+        return this;
+    }
+
+    /**
+     * Shifts left all bits on the specified amount of bits {@code << bitsCount} in this instance
+     *
+     * @param bitsCount - specified amount of bits
+     * @return this mutated instance with result of {@code << bitsCount}
+     */
+    BitVector leftShift(final int bitsCount) {
+        final int wordsCount = bitsCount >>> 6;
+        for (int i = 0; i < wordsCount; i++) this.words[i] = 0L;
+        long bits = 0L;
+        final int reminder = 64 - (bitsCount & 63);
+        for (int i = wordsCount, l = this.words.length; i < l; i++) {
+            final long wi = this.words[i];
+            this.words[i] = (wi << bitsCount) | bits;
+            bits = wi >>> reminder;
+        }
+        return this;
+    }
+
+    /**
+     * Performs mutations as unsigned right shift (>>>) on one bit.
+     *
+     * @return the same instance, with modified bits
+     */
+    BitVector rightUnsignedShift1() {
+        long bit = 0L;
+        for (int i = words.length - 1; i >= 0; i--) {
+            final long wi = words[i];
+            words[i] = (words[i] >>> 1) | bit;
+            bit = wi << 63;
+        }
+        return this;
+    }
+}
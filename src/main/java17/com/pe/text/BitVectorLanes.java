@@ -0,0 +1,56 @@
+package com.pe.text;
+
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Operations of the {@link BitVector} on the SIMD registers by the incubating Vector API.
+ * It is loaded only if the {@code jdk.incubator.vector} module is resolved, see {@link BitVector#LANES}.
+ */
+final class BitVectorLanes {
+
+    private static final VectorSpecies<Long> SPECIES = LongVector.SPECIES_PREFERRED;
+
+    /**
+     * Amount of 64-bit words processed at once
+     */
+    static final int LENGTH = SPECIES.length();
+
+    private BitVectorLanes() {
+    }
+
+    static void or(long[] words, long[] other) {
+        final int bound = SPECIES.loopBound(words.length);
+        int i = 0;
+        for (; i < bound; i += LENGTH)
+            LongVector.fromArray(SPECIES, words, i).or(LongVector.fromArray(SPECIES, other, i)).intoArray(words, i);
+        for (; i < words.length; i++) words[i] |= other[i];
+    }
+
+    static void and(long[] words, long[] other) {
+        final int bound = SPECIES.loopBound(words.length);
+        int i = 0;
+        for (; i < bound; i += LENGTH)
+            LongVector.fromArray(SPECIES, words, i).and(LongVector.fromArray(SPECIES, other, i)).intoArray(words, i);
+        for (; i < words.length; i++) words[i] &= other[i];
+    }
+
+    /**
+     * Shifts left all bits on one in place: every word takes the highest bit of the previous one,
+     * so words are processed from the highest ones, before their previous words are shifted
+     */
+    static void leftShift1(long[] words) {
+        int i = words.length;
+        while (i > LENGTH) {
+            i -= LENGTH;
+            final LongVector previous = LongVector.fromArray(SPECIES, words, i - 1);
+            LongVector.fromArray(SPECIES, words, i)
+                    .lanewise(VectorOperators.LSHL, 1)
+                    .or(previous.lanewise(VectorOperators.LSHR, 63))
+                    .intoArray(words, i);
+        }
+        while (--i > 0) words[i] = (words[i] << 1) | (words[i - 1] >>> 63);
+        words[0] <<= 1;
+    }
+}
@@ -0,0 +1,71 @@
+package com.pe.text;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * Per-thread state buffers of the {@link BaseBitap#scanForMatch(CharSequence, int, int)},
+ * which is called by many threads concurrently without creating the matcher.
+ * Buffers taken by the {@link #get()} are returned by the {@link #release(Object)} once the scan is done.
+ * <p>
+ * Java 21+ version of the multi-release jar: virtual threads are short-lived and numerous,
+ * so the thread-local buffers of every virtual thread would be used by a few calls and keep their memory
+ * till the end of the thread. Virtual threads take buffers from the small shared pool instead:
+ * the scan doesn't block, so it is not unmounted from the carrier, and the amount of the concurrent scans
+ * is about the amount of the carrier threads. Buffers are allocated only when the pool is empty,
+ * and the ones not fitting the pool on release are left to the garbage collector.
+ *
+ * @param <T> type of the buffers
+ */
+final class ScanState<T> {
+
+    /**
+     * size of the pool of buffers for virtual threads, twice the default parallelism of their scheduler
+     */
+    private static final int POOL_SIZE = Runtime.getRuntime().availableProcessors() << 1;
+
+    private final Supplier<T> factory;
+    private final ThreadLocal<T> buffers;
+    private final AtomicReferenceArray<T> pool = new AtomicReferenceArray<>(POOL_SIZE);
+
+    ScanState(Supplier<T> factory) {
+        this.factory = factory;
+        buffers = ThreadLocal.withInitial(factory);
+    }
+
+    /**
+     * Returns buffers of the current thread, or the pooled ones for the virtual thread
+     *
+     * @return buffers, which are not shared with the other threads till the {@link #release(Object)}
+     */
+    T get() {
+        if (!Thread.currentThread().isVirtual()) return buffers.get();
+        final int first = slot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            final int slot = (first + i) % POOL_SIZE;
+            final T pooled = pool.get(slot);
+            if (pooled != null && pool.compareAndSet(slot, pooled, null)) return pooled;
+        }
+        return factory.get();
+    }
+
+    /**
+     * Returns buffers taken by the {@link #get()} to the pool, if they were taken by the virtual thread
+     *
+     * @param buffers buffers which are not used anymore
+     */
+    void release(T buffers) {
+        if (!Thread.currentThread().isVirtual()) return;
+        final int first = slot();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            if (pool.compareAndSet((first + i) % POOL_SIZE, null, buffers)) return;
+        }
+    }
+
+    /**
+     * Returns the first slot of the pool to check, so concurrent threads mostly start from different slots
+     */
+    private static int slot() {
+        return (int) (Thread.currentThread().threadId() % POOL_SIZE);
+    }
+}
@@ -0,0 +1,141 @@
+package com.pe.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyDictionaryTest {
+
+    static int levenshtein(CharSequence a, CharSequence b, boolean caseInsensitive) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final char ca = a.charAt(i - 1);
+                final char cb = b.charAt(j - 1);
+                final boolean same = caseInsensitive ? Character.toLowerCase(ca) == Character.toLowerCase(cb) : ca == cb;
+                current[j] = Math.min(previous[j - 1] + (same ? 0 : 1), Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    static List<String> vocabulary(Random random, int size) {
+        List<String> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = 1 + random.nextInt(9); j > 0; j--) sb.append("abcdeABC".charAt(random.nextInt(8)));
+            result.add(sb.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Expected lookup result as distance to the sorted entries
+     */
+    private static Map<Integer, List<String>> bruteForce(List<String> vocabulary, String query, int k, boolean caseInsensitive) {
+        return vocabulary.stream().distinct()
+                .filter(entry -> levenshtein(query, entry, caseInsensitive) <= k)
+                .collect(Collectors.groupingBy(entry -> levenshtein(query, entry, caseInsensitive), TreeMap::new,
+                        Collectors.collectingAndThen(Collectors.toList(), list -> {
+                            Collections.sort(list);
+                            return list;
+                        })));
+    }
+
+    private static Map<Integer, List<String>> grouped(List<DictionaryMatch> matches) {
+        return matches.stream().collect(Collectors.groupingBy(DictionaryMatch::distance, TreeMap::new,
+                Collectors.collectingAndThen(Collectors.mapping(match -> match.entry().toString(), Collectors.toList()), list -> {
+                    Collections.sort(list);
+                    return list;
+                })));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0,false",
+            "1,false",
+            "2,false",
+            "2,true",
+            "3,false",
+    })
+    void findsSameEntriesAsBruteForce(int maxDistance, boolean caseInsensitive) {
+        Random random = new Random(maxDistance * 31 + (caseInsensitive ? 1 : 0));
+        List<String> vocabulary = vocabulary(random, 2000);
+        FuzzyDictionary dictionary = FuzzyDictionary.build(vocabulary.stream(), maxDistance, caseInsensitive);
+        if (!caseInsensitive) assertEquals(vocabulary.stream().distinct().count(), dictionary.size());
+        for (String query : vocabulary(random, 100)) {
+            for (int k = 0; k <= maxDistance; k++) {
+                List<DictionaryMatch> matches = dictionary.lookup(query, k);
+                if (!caseInsensitive)
+                    assertEquals(bruteForce(vocabulary, query, k, false), grouped(matches), query + " within " + k);
+                else
+                    for (DictionaryMatch match : matches)
+                        assertEquals(levenshtein(query, match.entry(), true), match.distance(), match.toString());
+                for (int i = 1; i < matches.size(); i++)
+                    assertTrue(matches.get(i - 1).distance() <= matches.get(i).distance());
+            }
+        }
+    }
+
+    @Test
+    void caseInsensitiveLookup() {
+        FuzzyDictionary dictionary = FuzzyDictionary.build(Stream.of("Receive", "recipe", "deceive", "RECEIVER", ""), 2, true);
+        assertEquals(4, dictionary.size());
+        assertEquals(Arrays.asList(new DictionaryMatch("Receive", 2), new DictionaryMatch("recipe", 2), new DictionaryMatch("deceive", 3)),
+                FuzzyDictionary.build(Stream.of("Receive", "recipe", "deceive"), 3, true).lookup("recieve"));
+        assertEquals(Arrays.asList("RECEIVER", "Receive", "deceive"),
+                dictionary.lookup("receive", 1).stream().map(m -> m.entry().toString()).sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void longEntries() {
+        String lorem = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt";
+        FuzzyDictionary dictionary = FuzzyDictionary.build(
+                Stream.of(lorem, lorem.substring(1), lorem.replace('o', '0'), "Lorem", "ipsum"), 3);
+        assertEquals(Arrays.asList(new DictionaryMatch(lorem, 1), new DictionaryMatch(lorem.substring(1), 2)),
+                dictionary.lookup("L" + lorem.replace("Lorem", "orem").replace("elit", "elitt")));
+    }
+
+    @Test
+    void concurrentLookups() {
+        Random random = new Random(7);
+        List<String> vocabulary = vocabulary(random, 5000);
+        List<String> queries = vocabulary(random, 500);
+        FuzzyDictionary dictionary = FuzzyDictionary.build(vocabulary.parallelStream(), 2);
+        List<List<DictionaryMatch>> sequential = queries.stream().map(dictionary::lookup).collect(Collectors.toList());
+        List<List<DictionaryMatch>> parallel = IntStream.range(0, queries.size()).parallel()
+                .mapToObj(i -> dictionary.lookup(queries.get(i))).collect(Collectors.toList());
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    void emptyDictionaryAndInvalidArguments() {
+        FuzzyDictionary empty = FuzzyDictionary.build(Stream.empty(), 1);
+        assertEquals(0, empty.size());
+        assertTrue(empty.lookup("test").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> empty.lookup(""));
+        assertThrows(IllegalArgumentException.class, () -> empty.lookup("test", 2));
+        assertThrows(IllegalArgumentException.class, () -> FuzzyDictionary.build(Stream.of("a"), -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> FuzzyDictionary.build(Stream.of("a"), FuzzyDictionary.MAX_DISTANCE + 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.pe.index;
+
+import com.pe.text.FuzzyPattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LevenshteinAutomatonTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "a,0,false",
+            "a,2,false",
+            "test,1,false",
+            "tEsT,2,true",
+            "abcab,2,false",
+            "aabaa,3,true",
+            "abcdeabcde,2,false",
+    })
+    void acceptsSameTermsAsLevenshteinDistance(String text, int maxDistance, boolean caseInsensitive) {
+        LevenshteinAutomaton automaton = LevenshteinAutomaton.compile(FuzzyPattern.compile(text, maxDistance, caseInsensitive));
+        Random random = new Random(text.hashCode() + maxDistance);
+        List<String> terms = FuzzyDictionaryTest.vocabulary(random, 3000);
+        terms.add("");
+        for (String term : terms) {
+            int distance = FuzzyDictionaryTest.levenshtein(text, term, caseInsensitive);
+            assertEquals(distance <= maxDistance ? distance : -1, automaton.distance(term), term);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,1,false",
+            "abcab,2,false",
+            "aBcDe,2,true",
+            "ab,1,false",
+    })
+    void intersectsSortedTerms(String text, int maxDistance, boolean caseInsensitive) {
+        LevenshteinAutomaton automaton = LevenshteinAutomaton.compile(FuzzyPattern.compile(text, maxDistance, caseInsensitive));
+        List<String> terms = FuzzyDictionaryTest.vocabulary(new Random(text.hashCode()), 5000);
+        terms.add("");
+        terms.add(text);
+        Collections.sort(terms);
+        List<DictionaryMatch> expected = new ArrayList<>();
+        for (String term : terms) {
+            int distance = FuzzyDictionaryTest.levenshtein(text, term, caseInsensitive);
+            if (distance <= maxDistance) expected.add(new DictionaryMatch(term, distance));
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, automaton.intersect(terms));
+    }
+
+    @Test
+    void deadStateSkipsPrefixes() {
+        LevenshteinAutomaton automaton = LevenshteinAutomaton.compile(FuzzyPattern.compile("normalize", 1));
+        int state = automaton.initialState();
+        for (char c : "xy".toCharArray()) state = automaton.step(state, c);
+        assertTrue(automaton.isDead(state));
+        assertEquals(LevenshteinAutomaton.DEAD, automaton.step(state, 'n'));
+        assertEquals(Arrays.asList("normalise", "normalize", "normalizer"),
+                automaton.intersect(Arrays.asList("abnormal", "normal", "normalise", "normalize", "normalizer",
+                                "normalizers", "xylophone", "xyz"))
+                        .stream().map(match -> match.entry().toString()).collect(Collectors.toList()));
+        assertThrows(IllegalArgumentException.class, () -> LevenshteinAutomaton.compile(
+                FuzzyPattern.compile(String.join("", Collections.nCopies(64, "a")), 1)));
+    }
+}
@@ -0,0 +1,186 @@
+package com.pe.index;
+
+import com.pe.text.DocumentFuzzyResult;
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QGramIndexTest {
+
+    private static final String[] NOISY = {"Medical Record", "Medica1 Record", "Medical Recrod", "MEDICAL RECORD",
+            "Medcal Recor", "Medical  Record", "Mdical Rec0rd"};
+
+    private static List<String> corpus(Random random, int size) {
+        List<String> documents = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            StringBuilder document = new StringBuilder();
+            for (int j = random.nextInt(400); j > 0; j--) {
+                document.append((char) ('a' + random.nextInt(26)));
+                if (random.nextInt(10) == 0) document.append(' ');
+                if (random.nextInt(150) == 0) document.append(NOISY[random.nextInt(NOISY.length)]);
+            }
+            documents.add(document.toString());
+        }
+        return documents;
+    }
+
+    private static List<DocumentFuzzyResult> fullScan(List<String> documents, FuzzyPattern pattern) {
+        List<DocumentFuzzyResult> results = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            FuzzyMatcher matcher = pattern.matcher(documents.get(i));
+            while (matcher.find()) results.add(new DocumentFuzzyResult(i, matcher));
+        }
+        return results;
+    }
+
+    private static List<String> describe(List<DocumentFuzzyResult> results) {
+        return results.stream()
+                .map(r -> r.documentIndex() + ":" + r.start() + "-" + r.end() + "/" + r.distance() + " " + r.foundText())
+                .collect(Collectors.toList());
+    }
+
+    private static void assertFindsSame(List<String> documents, QGramIndex index, FuzzyPattern pattern) {
+        List<DocumentFuzzyResult> expected = fullScan(documents, pattern);
+        List<DocumentFuzzyResult> actual = index.findAll(pattern);
+        for (DocumentFuzzyResult result : actual) {
+            assertTrue(result.distance() <= pattern.maxLevenshteinDistance(), result.toString());
+            assertEquals(documents.get(result.documentIndex()).substring(result.start(), result.end()),
+                    result.foundText().toString());
+        }
+        // regions around the candidate windows are wide enough for the traceback and the improvement of every matching
+        assertEquals(describe(expected), describe(actual));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "Medical Record,0,false,3",
+            "Medical Record,2,false,3",
+            "Medical Record,2,true,3",
+            "Medical Record,3,true,2",
+            "Record,1,false,2",
+            "Rec,1,false,3",
+    })
+    void findsAllMatchingsOfFullScan(String text, int maxDistance, boolean caseInsensitive, int q) {
+        Random random = new Random(text.hashCode() + maxDistance);
+        List<String> documents = corpus(random, 300);
+        QGramIndex index = QGramIndex.inMemory(q);
+        index.append(documents.subList(0, 100));
+        index.append(documents.subList(100, 300));
+        assertEquals(300, index.documentsCount());
+        assertFindsSame(documents, index, FuzzyPattern.compile(text, maxDistance, caseInsensitive));
+    }
+
+    @Test
+    void documentsAreKeptInSegments() {
+        QGramIndex index = QGramIndex.inMemory();
+        index.append(Arrays.asList("first", "", "second"));
+        index.append(Arrays.asList("third"));
+        assertEquals(4, index.documentsCount());
+        assertEquals(Arrays.asList("first", "", "second", "third"),
+                Stream.of(0, 1, 2, 3).map(i -> index.document(i).toString()).collect(Collectors.toList()));
+        assertThrows(IndexOutOfBoundsException.class, () -> index.document(4));
+        List<DocumentFuzzyResult> results = index.findAll(FuzzyPattern.compile("thirb", 1));
+        assertEquals(1, results.size());
+        assertEquals(3, results.get(0).documentIndex());
+        assertEquals("third", results.get(0).foundText().toString());
+    }
+
+    @Test
+    void memoryMappedSegments(@TempDir Path directory) throws IOException {
+        Random random = new Random(11);
+        List<String> documents = corpus(random, 200);
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2, true);
+
+        QGramIndex index = QGramIndex.open(directory);
+        index.append(documents.subList(0, 50));
+        index.append(documents.subList(50, 200));
+        assertEquals(2, Files.list(directory).filter(file -> file.toString().endsWith(".qgi")).count());
+        assertFindsSame(documents, index, pattern);
+
+        QGramIndex reopened = QGramIndex.open(directory);
+        assertEquals(200, reopened.documentsCount());
+        assertEquals(documents.get(123), reopened.document(123).toString());
+        assertEquals(describe(index.findAll(pattern)), describe(reopened.findAll(pattern)));
+
+        QGramIndex inMemory = QGramIndex.inMemory();
+        inMemory.append(documents);
+        assertEquals(describe(inMemory.findAll(pattern)), describe(reopened.findAll(pattern)));
+
+        assertThrows(IllegalArgumentException.class, () -> QGramIndex.open(directory, 2));
+        index.close();
+        reopened.close();
+    }
+
+    @Test
+    void closedIndexReleasesSegments(@TempDir Path directory) throws IOException {
+        List<String> documents = corpus(new Random(13), 50);
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        List<String> expected;
+        try (QGramIndex index = QGramIndex.open(directory)) {
+            index.append(documents);
+            expected = describe(index.findAll(pattern));
+        }
+        QGramIndex index = QGramIndex.open(directory);
+        assertEquals(expected, describe(index.findAll(pattern)));
+        index.close();
+        index.close();
+        assertThrows(IllegalStateException.class, () -> index.findAll(pattern));
+        assertThrows(IllegalStateException.class, () -> index.document(0));
+        assertThrows(IllegalStateException.class, () -> index.append(documents));
+        assertTrue(index.toString().contains("closed"));
+    }
+
+    @Test
+    void resultsAreReadableAfterClose(@TempDir Path directory) throws IOException {
+        List<String> documents = corpus(new Random(17), 50);
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        QGramIndex index = QGramIndex.open(directory);
+        index.append(documents);
+        List<DocumentFuzzyResult> results = index.findAll(pattern);
+        CharSequence document = index.document(7);
+        List<String> expected = describe(results);
+        assertFalse(expected.isEmpty());
+        index.close();
+        // the mappings are released, but the results and the document are copies
+        assertEquals(expected, describe(results));
+        assertEquals(documents.get(7), document.toString());
+    }
+
+    @Test
+    void closeWaitsForRunningSearches(@TempDir Path directory) throws Exception {
+        List<String> documents = corpus(new Random(19), 200);
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        QGramIndex index = QGramIndex.open(directory);
+        index.append(documents);
+        List<String> expected = describe(index.findAll(pattern));
+        List<List<String>> found = new ArrayList<>();
+        Thread searcher = new Thread(() -> {
+            try {
+                while (true) found.add(describe(index.findAll(pattern)));
+            } catch (IllegalStateException closed) {
+                // the index is closed between searches
+            }
+        });
+        searcher.start();
+        Thread.sleep(50);
+        index.close();
+        searcher.join();
+        assertFalse(found.isEmpty());
+        for (List<String> results : found) assertEquals(expected, results);
+    }
+}
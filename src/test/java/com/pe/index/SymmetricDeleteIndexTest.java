@@ -0,0 +1,99 @@
+package com.pe.index;
+
+import com.pe.text.DocumentFuzzyResult;
+import com.pe.text.FuzzyMatcher;
+import com.pe.text.FuzzyPattern;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SymmetricDeleteIndexTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "1,2,false,1",
+            "1,7,false,1",
+            "2,3,false,2",
+            "2,7,false,1",
+            "2,7,true,2",
+            "3,5,true,3",
+    })
+    void findsSameEntriesAsBruteForce(int maxDeleteDepth, int prefixLength, boolean caseInsensitive, int k) {
+        Random random = new Random(maxDeleteDepth * 31 + prefixLength);
+        List<String> vocabulary = FuzzyDictionaryTest.vocabulary(random, 3000);
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(vocabulary.stream(), maxDeleteDepth, prefixLength, caseInsensitive);
+        assertEquals(vocabulary.stream().distinct().count(), index.size());
+        for (String query : FuzzyDictionaryTest.vocabulary(random, 200)) {
+            List<String> expected = new ArrayList<>();
+            for (int i = 0; i < index.size(); i++)
+                if (FuzzyDictionaryTest.levenshtein(query, index.entry(i), caseInsensitive) <= k)
+                    expected.add(index.entry(i));
+            List<DocumentFuzzyResult> actual = index.lookup(query, k);
+            assertEquals(expected.stream().sorted().collect(Collectors.toList()),
+                    actual.stream().map(r -> r.foundText().toString()).sorted().collect(Collectors.toList()), query);
+            for (int i = 0; i < actual.size(); i++) {
+                DocumentFuzzyResult result = actual.get(i);
+                assertEquals(index.entry(result.documentIndex()), result.foundText().toString());
+                assertEquals(FuzzyDictionaryTest.levenshtein(query, result.foundText(), caseInsensitive), result.distance());
+                if (i > 0) assertTrue(actual.get(i - 1).distance() <= result.distance());
+            }
+        }
+    }
+
+    @Test
+    void reportsSameOperationsAsFuzzyPattern() {
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(
+                Arrays.asList("receive", "recipe", "deceive", "relieve", "receiver", "", "receive").stream(), 2, 7, false);
+        assertEquals(5, index.size());
+        List<DocumentFuzzyResult> results = index.lookup("recieve", 2);
+        assertEquals(Arrays.asList("relieve", "receive", "recipe"),
+                results.stream().map(r -> r.foundText().toString()).collect(Collectors.toList()));
+        FuzzyMatcher matcher = FuzzyPattern.compile("recieve", 2).matcher("");
+        for (DocumentFuzzyResult result : results) {
+            matcher.reset(result.foundText());
+            assertTrue(matcher.matches());
+            assertEquals(matcher.distance(), result.distance());
+            assertEquals(matcher.streamEditTypes().collect(Collectors.toList()),
+                    result.streamEditTypes().collect(Collectors.toList()));
+        }
+        assertTrue(index.lookup("recieve", 0).isEmpty());
+    }
+
+    @Test
+    void reusesPatternOfRepeatedQuery() {
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(
+                Arrays.asList("receive", "recipe", "relieve", "rec").stream(), 2, 7, false);
+        StringBuilder query = new StringBuilder("recieve");
+        FuzzyPattern pattern = index.lookup(query, 2).get(0).pattern();
+        query.setLength(0);
+        query.append("recieve");
+        List<DocumentFuzzyResult> repeated = index.lookup(query, 2);
+        assertEquals(3, repeated.size());
+        for (DocumentFuzzyResult result : repeated)
+            assertSame(pattern, result.pattern());
+        query.setCharAt(0, 'd');
+        assertEquals("recieve", pattern.text().toString());
+        assertNotSame(pattern, index.lookup("recieve", 1).get(0).pattern());
+        // "rec" shares the prefix variants, but it is rejected by the length
+        assertTrue(index.lookup("recxxxx", 2).isEmpty());
+    }
+
+    @Test
+    void validatesArguments() {
+        assertThrows(IllegalArgumentException.class, () -> SymmetricDeleteIndex.build(Arrays.asList("a").stream(), -1, 3, false));
+        assertThrows(IllegalArgumentException.class, () -> SymmetricDeleteIndex.build(Arrays.asList("a").stream(), 2, 2, false));
+        SymmetricDeleteIndex index = SymmetricDeleteIndex.build(Arrays.asList("a", "ab").stream(), 1, 4, false);
+        assertThrows(IllegalArgumentException.class, () -> index.lookup("a", 2));
+        assertThrows(IllegalArgumentException.class, () -> index.lookup("", 1));
+        assertEquals(Arrays.asList("a", "ab"),
+                index.lookup("b", 1).stream().map(r -> r.foundText().toString()).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,172 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks that the steady-state scanning doesn't allocate, measuring bytes allocated by the current thread
+ * with the HotSpot-specific {@link com.sun.management.ThreadMXBean}. Tests are skipped on JVMs without it.
+ */
+class AllocationTest {
+
+    private static final int WARM_UP = 1_000;
+    private static final int OPERATIONS = 200;
+    private static final int ROUNDS = 3;
+    /**
+     * bytes allowed for all {@link #OPERATIONS} of the round together, for one-off allocations of the JVM itself
+     * (e.g. by the JIT deoptimization), so even 8 bytes allocated by every operation exceed it
+     */
+    private static final long BUDGET = 1_024;
+
+    private static final String TEXT = repeat("Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300; "
+            + "vaccination record, medical history and medicaid records. ", 8);
+
+    private static com.sun.management.ThreadMXBean threads;
+
+    @BeforeAll
+    static void checkThreadAllocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "thread allocated bytes are not supported");
+        threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "thread allocated bytes are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+    }
+
+    private static String repeat(String text, int times) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < times; i++) sb.append(text);
+        return sb.toString();
+    }
+
+    /**
+     * Returns total amount of bytes allocated by the {@link #OPERATIONS} runs of the operation after warming it up.
+     * The round is repeated (up to {@link #ROUNDS} times) only while it exceeds the expected amount,
+     * to skip one-off allocations of the JVM itself
+     *
+     * @param operation operation to measure
+     * @param expected  amount of bytes the operations are expected to allocate, without the {@link #BUDGET}
+     */
+    private static long allocatedBytes(IntSupplier operation, long expected) {
+        final long threadId = Thread.currentThread().getId();
+        int sink = 0;
+        for (int i = 0; i < WARM_UP; i++) sink += operation.getAsInt();
+        long result = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS && result > expected + BUDGET; round++) {
+            final long before = threads.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < OPERATIONS; i++) sink += operation.getAsInt();
+            final long after = threads.getThreadAllocatedBytes(threadId);
+            result = Math.min(result, after - before);
+        }
+        assertTrue(sink > 0, "operation has to find something");
+        return result;
+    }
+
+    private static void assertDoesNotAllocate(IntSupplier operation, String message) {
+        final long bytes = allocatedBytes(operation, 0);
+        assertTrue(bytes <= BUDGET, message + " allocated " + bytes + " bytes by " + OPERATIONS + " operations");
+    }
+
+    static List<FuzzyPattern> engines() {
+        return Arrays.asList(
+                new Bitap32("Medical Record", 2, true),
+                new Bitap64("Medical Record #100, Medical Record #200", 4),
+                new Bitap65Plus("Medical Record #100, Medical Record #200, Medical Record #300", 6, true),
+                FuzzyPattern.compile("Medical Record", 2, true, TracebackStrategy.RECOMPUTE),
+                FuzzyPattern.compile("Medical Record #100, Medical Record #200", 4, false, TracebackStrategy.CHECKPOINTS));
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void findDoesNotAllocate(FuzzyPattern pattern) {
+        final FuzzyMatcher matcher = pattern.matcher(TEXT);
+        assertDoesNotAllocate(() -> {
+            matcher.reset(TEXT);
+            int count = 0;
+            while (matcher.find()) count += matcher.end() - matcher.start() + matcher.distance();
+            return count;
+        }, pattern.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void overlappingFindDoesNotAllocate(FuzzyPattern pattern) {
+        final FuzzyMatcher matcher = pattern.matcher(TEXT).useOverlapping(true);
+        assertDoesNotAllocate(() -> {
+            matcher.reset(TEXT);
+            int count = 0;
+            while (matcher.find()) count += matcher.start();
+            return count;
+        }, pattern.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void containsDoesNotAllocate(FuzzyPattern pattern) {
+        assertDoesNotAllocate(() -> pattern.contains(TEXT) ? 1 : 0, pattern.toString());
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void findTheBestAllocatesOnlyResult(FuzzyPattern pattern) {
+        final FuzzyMatcher matcher = pattern.matcher(TEXT);
+        final String longText = repeat(TEXT, 4);
+        // copies of the improved results with their edits and found texts, and the optional wrapper,
+        // which don't depend on the amount of scanned matchings
+        final long expected = 512L * OPERATIONS;
+        final long bytes = allocatedBytes(() -> {
+            matcher.reset(TEXT);
+            return matcher.findTheBest().map(r -> r.end() + 1).orElse(0);
+        }, expected);
+        assertTrue(bytes <= expected + BUDGET, pattern + " allocated " + bytes);
+        final long longTextBytes = allocatedBytes(() -> {
+            matcher.reset(longText);
+            return matcher.findTheBest().map(r -> r.end() + 1).orElse(0);
+        }, bytes);
+        assertTrue(Math.abs(longTextBytes - bytes) <= BUDGET, pattern + " allocated " + longTextBytes + " instead of " + bytes);
+    }
+
+    @ParameterizedTest
+    @MethodSource("engines")
+    void operationsCursorDoesNotAllocate(FuzzyPattern pattern) {
+        final FuzzyMatcher matcher = pattern.matcher(TEXT);
+        final OperationsCursor cursor = new OperationsCursor();
+        assertDoesNotAllocate(() -> {
+            matcher.reset(TEXT);
+            int count = 0;
+            while (matcher.find()) {
+                cursor.reset(matcher);
+                while (cursor.next()) count += cursor.type().ordinal() + 1;
+            }
+            return count;
+        }, pattern.toString());
+    }
+
+    @Test
+    void combinedPatternsDoNotAllocate() {
+        final FuzzyPattern record = FuzzyPattern.compile("Medical Record", 2, true);
+        final FuzzyPattern history = FuzzyPattern.compile("medical history", 2);
+        final FuzzyPattern vaccination = FuzzyPattern.compile("Vaccination Record", 3, true);
+        final FuzzyMatcherProvider custom = record::matcher;
+        for (FuzzyPatterns patterns : Arrays.asList(
+                FuzzyPatterns.combine(record, history, vaccination),
+                FuzzyPatterns.combine(custom, history, vaccination))) {
+            final FuzzyMatcher matcher = patterns.matcher(TEXT);
+            assertDoesNotAllocate(() -> {
+                matcher.reset(TEXT);
+                int count = 0;
+                while (matcher.find()) count += matcher.end() - matcher.start();
+                return count;
+            }, patterns.toString());
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnchoredMatchingTest {
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static int levenshtein(CharSequence a, CharSequence b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final int replacement = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replacement, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    private static List<FuzzyPattern> engines(String pattern, int maxDistance) {
+        return Arrays.asList(
+                new Bitap32(pattern, maxDistance),
+                new Bitap64(pattern, maxDistance),
+                new Bitap65Plus(pattern, maxDistance));
+    }
+
+    /**
+     * Checks that edit operations of the found result transform the pattern into the found text with the found distance
+     */
+    private static void assertConsistentOperations(FuzzyMatcher matcher, String message) {
+        OperationsCursor cursor = new OperationsCursor().reset(matcher);
+        int patternIndex = 0;
+        int textIndex = 0;
+        int edits = 0;
+        while (cursor.next()) {
+            if (cursor.type() != OperationType.DELETION) assertEquals(patternIndex++, cursor.patternIndex(), message);
+            if (cursor.type() != OperationType.INSERTION) assertEquals(textIndex++, cursor.textIndex(), message);
+            if (cursor.type() == OperationType.MATCHING) assertEquals(cursor.patternChar(), cursor.textChar(), message);
+            else edits++;
+        }
+        assertEquals(matcher.pattern().text().length(), patternIndex, message);
+        assertEquals(matcher.end() - matcher.start(), textIndex, message);
+        assertEquals(matcher.distance(), edits, message);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,0",
+            "test,1",
+            "test,2",
+            "abcab,2",
+            "aabaa,3",
+            "ab,2",
+            "a,1",
+    })
+    void matchesRegion(String pattern, int maxDistance) {
+        Random random = new Random(pattern.hashCode() + maxDistance);
+        for (FuzzyPattern engine : engines(pattern, maxDistance)) {
+            for (int i = 0; i < 500; i++) {
+                String text = randomText(random, "abcest", random.nextInt(12));
+                int from = text.isEmpty() ? 0 : random.nextInt(text.length());
+                int to = from + random.nextInt(text.length() - from + 1);
+                String region = text.substring(from, to);
+                String message = engine + " matches " + region;
+                int expected = levenshtein(pattern, region);
+                FuzzyMatcher matcher = engine.matcher(text, from, to);
+                boolean matched = !region.isEmpty() && expected <= maxDistance;
+                assertEquals(matched, matcher.matches(), message);
+                if (matched) {
+                    assertEquals(expected, matcher.distance(), message);
+                    assertEquals(from, matcher.start(), message);
+                    assertEquals(to, matcher.end(), message);
+                    assertConsistentOperations(matcher, message);
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,0",
+            "test,1",
+            "test,2",
+            "abcab,2",
+            "aabaa,3",
+            "ab,2",
+    })
+    void lookingAtRegion(String pattern, int maxDistance) {
+        Random random = new Random(pattern.hashCode() - maxDistance);
+        for (FuzzyPattern engine : engines(pattern, maxDistance)) {
+            for (int i = 0; i < 500; i++) {
+                String text = randomText(random, "abcest", random.nextInt(14));
+                int from = text.isEmpty() ? 0 : random.nextInt(text.length());
+                String message = engine + " looking at " + text.substring(from);
+                int expected = Integer.MAX_VALUE;
+                for (int end = from + 1; end <= text.length(); end++)
+                    expected = Math.min(expected, levenshtein(pattern, text.substring(from, end)));
+                FuzzyMatcher matcher = engine.matcher(text, from);
+                boolean matched = expected <= maxDistance;
+                assertEquals(matched, matcher.lookingAt(), message);
+                if (matched) {
+                    assertEquals(expected, matcher.distance(), message);
+                    assertEquals(from, matcher.start(), message);
+                    assertEquals(expected, levenshtein(pattern, matcher.foundText()), message);
+                    assertConsistentOperations(matcher, message);
+                }
+            }
+        }
+    }
+
+    @Test
+    void longPattern() {
+        String pattern = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt";
+        FuzzyPattern fuzzy = FuzzyPattern.compile(pattern, 5);
+        String text = "Lorem ipsun dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore";
+        FuzzyMatcher matcher = fuzzy.matcher(text);
+        assertTrue(matcher.lookingAt());
+        assertEquals(1, matcher.distance());
+        assertEquals(pattern.length(), matcher.end());
+        assertFalse(fuzzy.matcher(text).matches());
+        assertTrue(fuzzy.matcher(text, 0, pattern.length() + 2).matches());
+        assertFalse(fuzzy.matcher("....." + text).lookingAt());
+    }
+
+    @Test
+    void matcherCanBeResetAfterAnchoredMatching() {
+        FuzzyPattern pattern = FuzzyPattern.compile("test", 1);
+        FuzzyMatcher matcher = pattern.matcher("tent and test");
+        assertFalse(matcher.matches());
+        matcher.reset("tent and test");
+        assertTrue(matcher.find());
+        assertEquals("tent", matcher.foundText());
+        assertTrue(matcher.find());
+        assertEquals("test", matcher.foundText());
+        matcher.reset("tent and test", 9);
+        assertTrue(matcher.matches());
+        assertEquals(0, matcher.distance());
+    }
+
+    @Test
+    void multiplePatterns() {
+        FuzzyPattern cornSyrup = FuzzyPattern.compile("Corn Syrup", 3, true);
+        FuzzyPattern cornStarch = FuzzyPattern.compile("Corn Starch", 3, true);
+        for (FuzzyPatterns patterns : Arrays.asList(
+                FuzzyPatterns.combine(cornSyrup, cornStarch),
+                new MultiplePatterns(new FuzzyPattern[]{cornSyrup, cornStarch}))) {
+            FuzzyMatcher matcher = patterns.matcher("corn starh, salt");
+            assertTrue(matcher.lookingAt());
+            assertSame(cornStarch, matcher.pattern());
+            assertEquals(1, matcher.distance());
+            assertEquals("corn starh", matcher.foundText());
+
+            matcher = patterns.matcher("corn syrop");
+            assertTrue(matcher.matches());
+            assertSame(cornSyrup, matcher.pattern());
+            assertEquals(1, matcher.distance());
+
+            assertFalse(patterns.matcher("salt, corn syrup").lookingAt());
+        }
+    }
+}
@@ -7,6 +7,8 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.converter.ConvertWith;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -743,5 +745,24 @@ class Bitap32Test {
         assertEquals(expected, matcher.foundText());
     }
 
-
-}
\ No newline at end of file
+    @Test
+    void testTopK() {
+        String text = "Lorem ipsum dolor sit amet, dolore magna aliqua, dolxre eu, dolore fugiat";
+        FuzzyPattern pattern = FuzzyPattern.compile("dolore", 2);
+        List<FuzzyResult> top = pattern.matcher(text).findTopK(3);
+        assertEquals(Arrays.asList("dolore", "dolore", "dolor "),
+                top.stream().map(r -> r.foundText().toString()).collect(Collectors.toList()));
+        assertEquals(Arrays.asList(0, 0, 1), top.stream().map(FuzzyResult::distance).collect(Collectors.toList()));
+        assertTrue(top.get(0).start() < top.get(1).start());
+
+        List<FuzzyResult> all = pattern.matcher(text).findTopK(100);
+        assertEquals(pattern.matcher(text).stream()
+                        .sorted(Comparator.comparingInt(FuzzyResult::distance))
+                        .map(FuzzyResult::start)
+                        .collect(Collectors.toList()),
+                all.stream().map(FuzzyResult::start).collect(Collectors.toList()));
+
+        assertTrue(pattern.matcher("nothing to see here").findTopK(5).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> pattern.matcher(text).findTopK(0));
+    }
+}
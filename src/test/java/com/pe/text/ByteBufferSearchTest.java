@@ -0,0 +1,130 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteBufferSearchTest {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300, café";
+
+    private static List<String> describe(FuzzyMatcher matcher) {
+        return matcher.stream()
+                .map(r -> r.start() + "-" + r.end() + "/" + r.distance() + ":" + r.foundText())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Puts the text into the direct buffer after the prefix and before the suffix, which must not be scanned
+     */
+    private static ByteBuffer buffer(String text, Charset charset) {
+        return buffer(text, charset, ByteBuffer.allocateDirect(bufferLength(text, charset)));
+    }
+
+    private static int bufferLength(String text, Charset charset) {
+        return "Medical Record".getBytes(charset).length * 2 + text.getBytes(charset).length;
+    }
+
+    /**
+     * Buffers of all kinds read by the matchers: direct, heap, read-only heap (without the accessible array)
+     * and the heap slice with the offset in the array
+     */
+    private static List<ByteBuffer> buffers(String text, Charset charset) {
+        final int length = bufferLength(text, charset);
+        final ByteBuffer slice = ByteBuffer.allocate(length + 3);
+        ((Buffer) slice).position(3);
+        return Arrays.asList(
+                buffer(text, charset),
+                buffer(text, charset, ByteBuffer.allocate(length)),
+                buffer(text, charset, ByteBuffer.allocate(length)).asReadOnlyBuffer(),
+                buffer(text, charset, slice.slice()));
+    }
+
+    private static ByteBuffer buffer(String text, Charset charset, ByteBuffer buffer) {
+        final byte[] prefix = "Medical Record".getBytes(charset);
+        final byte[] bytes = text.getBytes(charset);
+        buffer.put(prefix).put(bytes).put(prefix);
+        // Buffer methods, since their ByteBuffer overrides are missing at Java 8 runtime
+        ((Buffer) buffer).position(prefix.length);
+        ((Buffer) buffer).limit(prefix.length + bytes.length);
+        return buffer;
+    }
+
+    @Test
+    void findsSameMatchingsAsInString() {
+        for (Charset charset : Arrays.asList(StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16LE)) {
+            for (FuzzyMatcherProvider pattern : Arrays.asList(
+                    FuzzyPattern.compile("Medical Record", 2),
+                    FuzzyPattern.compile("medical record", 2, true),
+                    FuzzyPattern.compile("Cafe", 1).combineWith(FuzzyPattern.compile("Patient", 1)))) {
+                for (ByteBuffer buffer : buffers(TEXT, charset)) {
+                    final int position = buffer.position();
+                    assertEquals(describe(pattern.matcher(TEXT)), describe(pattern.matcher(buffer, charset)),
+                            charset + " " + buffer + " " + pattern);
+                    assertTrue(pattern.contains(buffer, charset));
+                    for (int end = 12; end < 40; end += 3) {
+                        assertEquals(pattern.contains(TEXT.substring(0, end)),
+                                pattern.contains(ByteBufferText.of(buffer, charset).subSequence(0, end)));
+                    }
+                    assertEquals(position, buffer.position());
+                }
+            }
+        }
+    }
+
+    @Test
+    void malformedAsciiIsReplaced() {
+        final byte[] bytes = "Medcal Record, caf\u00e9".getBytes(StandardCharsets.ISO_8859_1);
+        for (ByteBuffer buffer : Arrays.asList(ByteBuffer.wrap(bytes), (ByteBuffer) ByteBuffer.allocateDirect(bytes.length).put(bytes).flip())) {
+            final CharSequence text = ByteBufferText.of(buffer, StandardCharsets.US_ASCII);
+            // the same characters as decoded by the JDK
+            assertEquals(new String(bytes, StandardCharsets.US_ASCII), text.toString());
+            assertEquals('\uFFFD', text.charAt(18));
+            final FuzzyMatcher matcher = FuzzyPattern.compile("Medical Record", 1).matcher(buffer, StandardCharsets.US_ASCII);
+            assertTrue(matcher.find());
+            assertEquals(0, matcher.start());
+            assertEquals(13, matcher.end());
+            assertEquals("Medcal Record", matcher.foundText().toString());
+            // the Latin-1 character of the pattern doesn't match the malformed byte
+            assertFalse(FuzzyPattern.compile("caf\u00e9", 0).contains(buffer, StandardCharsets.US_ASCII));
+            assertTrue(FuzzyPattern.compile("caf\u00e9", 0).contains(buffer, StandardCharsets.ISO_8859_1));
+            assertTrue(FuzzyPattern.compile("caf\u00e9", 0).matcher(buffer, StandardCharsets.ISO_8859_1).find());
+        }
+    }
+
+    @Test
+    void byteOrderOfBufferIsKept() {
+        final ByteBuffer buffer = ByteBuffer.wrap("Medical Record".getBytes(StandardCharsets.UTF_16LE));
+        assertTrue(FuzzyPattern.compile("Medical Record", 0).contains(buffer, StandardCharsets.UTF_16LE));
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+    }
+
+    @Test
+    void viewIsBounded() {
+        final CharSequence text = ByteBufferText.of(buffer("Medical", StandardCharsets.UTF_16LE), StandardCharsets.UTF_16LE);
+        assertEquals(7, text.length());
+        assertEquals("dic", text.subSequence(2, 5).toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> text.charAt(7));
+        assertThrows(IndexOutOfBoundsException.class, () -> text.subSequence(2, 5).charAt(3));
+        assertThrows(IndexOutOfBoundsException.class, () -> text.subSequence(5, 8));
+    }
+
+    @Test
+    void unsupportedEncodingsAreRejected() {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        final ByteBuffer buffer = ByteBuffer.wrap(new byte[3]);
+        assertThrows(IllegalArgumentException.class, () -> pattern.matcher(buffer, StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> pattern.matcher(buffer, StandardCharsets.UTF_16));
+        assertThrows(IllegalArgumentException.class, () -> pattern.matcher(buffer, StandardCharsets.UTF_16LE));
+        assertThrows(NullPointerException.class, () -> pattern.matcher(buffer, null));
+    }
+}
@@ -0,0 +1,169 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CancellationTest {
+
+    private static final int BLOCK = BaseBitap.Matcher.CHECK_INTERVAL;
+
+    private static List<FuzzyMatcherProvider> engines() {
+        final Bitap32 other = new Bitap32("Patient Name", 1, false);
+        return Arrays.asList(
+                new Bitap32("Medical Record", 2, false),
+                new Bitap64("Medical Record", 2, false),
+                new Bitap65Plus("Medical Record", 2, false),
+                new IterativeMultiplePatterns(new IterativeFuzzyMatcherProvider[]{other, new Bitap32("Medical Record", 2, false)}),
+                new MultiplePatterns(new FuzzyMatcherProvider[]{other, new Bitap32("Medical Record", 2, false)}));
+    }
+
+    private static String noise(int length) {
+        final char[] chars = new char[length];
+        Arrays.fill(chars, '.');
+        return new String(chars);
+    }
+
+    /**
+     * Text which cancels the token when the scan reaches the specified position
+     */
+    private static final class CancellingText implements CharSequence {
+        private final String text;
+        private final int position;
+        private final CancellationToken token;
+
+        CancellingText(String text, int position, CancellationToken token) {
+            this.text = text;
+            this.position = position;
+            this.token = token;
+        }
+
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public char charAt(int index) {
+            if (index == position) token.cancel();
+            return text.charAt(index);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return text.subSequence(start, end);
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    // the first matching has the distance 1, the exact one is after the cancellation
+    private static final String TEXT = "Medical Recrd" + noise(3 * BLOCK) + "Medical Record" + noise(3 * BLOCK);
+
+    @Test
+    void returnsTheBestMatchingFoundBeforeCancellation() {
+        for (FuzzyMatcherProvider engine : engines()) {
+            final CancellationToken token = CancellationToken.create();
+            final FuzzyMatcher matcher = engine.matcher(new CancellingText(TEXT, 2 * BLOCK, token)).useCancellation(token);
+            final Optional<FuzzyResult> best = matcher.findTheBest();
+            assertTrue(best.isPresent(), engine.toString());
+            assertEquals(0, best.get().start());
+            assertEquals(1, best.get().distance());
+            assertTrue(matcher.partial(), engine.toString());
+            if (engine instanceof FuzzyPattern) assertFalse(matcher.completed(), engine.toString());
+
+            final FuzzyMatcher notCancelled = engine.matcher(TEXT).useCancellation(CancellationToken.create());
+            assertEquals(0, notCancelled.findTheBest().map(FuzzyResult::distance).orElse(-1));
+            assertFalse(notCancelled.partial());
+        }
+    }
+
+    @Test
+    void streamEndsAtCancellation() {
+        for (FuzzyMatcherProvider engine : engines()) {
+            final CancellationToken token = CancellationToken.create();
+            final FuzzyMatcher matcher = engine.matcher(new CancellingText(TEXT, 2 * BLOCK, token)).useCancellation(token);
+            assertEquals(1, matcher.stream().count(), engine.toString());
+            assertTrue(matcher.partial());
+            assertEquals(2, engine.matcher(TEXT).stream().count(), engine.toString());
+        }
+    }
+
+    @Test
+    void findTopKReturnsMatchingsFoundBeforeCancellation() {
+        for (FuzzyMatcherProvider engine : engines()) {
+            final CancellationToken token = CancellationToken.create();
+            final FuzzyMatcher matcher = engine.matcher(new CancellingText(TEXT, 2 * BLOCK, token)).useCancellation(token);
+            final List<FuzzyResult> top = matcher.findTopK(2);
+            assertEquals(1, top.size(), engine.toString());
+            assertEquals(0, top.get(0).start());
+            assertTrue(matcher.partial());
+        }
+    }
+
+    @Test
+    void expiredDeadlineStopsTheScanAfterTheFirstBlock() {
+        final String text = noise(10 * BLOCK) + "Medical Record";
+        for (FuzzyMatcherProvider engine : engines()) {
+            final FuzzyMatcher matcher = engine.matcher(text).useCancellation(CancellationToken.withTimeout(Duration.ZERO));
+            assertFalse(matcher.find(), engine.toString());
+            assertTrue(matcher.partial(), engine.toString());
+            // reset keeps the token, so the scan is stopped again
+            matcher.reset();
+            assertFalse(matcher.partial());
+            assertFalse(matcher.find());
+            assertTrue(matcher.partial());
+            // the token is dropped
+            matcher.useCancellation(null).reset();
+            assertTrue(matcher.find());
+            assertFalse(matcher.partial());
+        }
+    }
+
+    @Test
+    void denseMatchingsDoNotPostponeTheCheck() {
+        final String word = "Medical Record ";
+        final StringBuilder text = new StringBuilder();
+        while (text.length() < 10 * BLOCK) text.append(word);
+        final int total = text.length() / word.length();
+        for (FuzzyMatcherProvider engine : engines()) {
+            assertEquals(total, engine.matcher(text).stream().count(), engine.toString());
+            final CancellationToken token = CancellationToken.create();
+            token.cancel();
+            final FuzzyMatcher matcher = engine.matcher(text).useCancellation(token);
+            // the first block is scanned before the first check
+            assertTrue(matcher.stream().count() <= BLOCK / word.length() + 1, engine.toString());
+            assertTrue(matcher.partial(), engine.toString());
+        }
+    }
+
+    @Test
+    void shortRegionIsScannedWithoutChecks() {
+        for (FuzzyMatcherProvider engine : engines()) {
+            final FuzzyMatcher matcher = engine.matcher(noise(BLOCK / 2) + "Medical Record")
+                    .useCancellation(CancellationToken.withTimeout(Duration.ZERO));
+            assertTrue(matcher.find(), engine.toString());
+            assertFalse(matcher.partial());
+        }
+    }
+
+    @Test
+    void timeoutIsChecked() {
+        final CancellationToken token = CancellationToken.withTimeout(Duration.ofDays(1));
+        assertFalse(token.isCancelled());
+        token.cancel();
+        assertTrue(token.isCancelled());
+        assertTrue(CancellationToken.withTimeout(Duration.ZERO).isCancelled());
+        assertFalse(CancellationToken.withTimeout(Duration.ofSeconds(Long.MAX_VALUE)).isCancelled());
+        assertThrows(IllegalArgumentException.class, () -> CancellationToken.withTimeout(Duration.ofMillis(-1)));
+        assertThrows(NullPointerException.class, () -> CancellationToken.withTimeout(null));
+    }
+}
@@ -0,0 +1,75 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContainsTest {
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static List<FuzzyPattern> engines(String pattern, int maxDistance, boolean caseInsensitive) {
+        return Arrays.asList(
+                new Bitap32(pattern, maxDistance, caseInsensitive),
+                new Bitap64(pattern, maxDistance, caseInsensitive),
+                new Bitap65Plus(pattern, maxDistance, caseInsensitive));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,0,false",
+            "test,1,false",
+            "tEsT,1,true",
+            "abcab,2,false",
+            "aabaa,3,true",
+            "ab,2,false",
+    })
+    void sameAsFind(String pattern, int maxDistance, boolean caseInsensitive) {
+        Random random = new Random(pattern.hashCode());
+        for (FuzzyPattern engine : engines(pattern, maxDistance, caseInsensitive)) {
+            for (int i = 0; i < 300; i++) {
+                String text = randomText(random, "abcestABCEST", random.nextInt(12));
+                int from = text.isEmpty() ? 0 : random.nextInt(text.length());
+                assertEquals(engine.matcher(text).find(), engine.contains(text), engine + " in " + text);
+                assertEquals(engine.matcher(text, from).find(), engine.contains(text, from, text.length()),
+                        engine + " in " + text + " from " + from);
+            }
+        }
+    }
+
+    @Test
+    void longPattern() {
+        String pattern = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt";
+        FuzzyPattern fuzzy = FuzzyPattern.compile(pattern, 5);
+        assertTrue(fuzzy.contains("...Lorem ipsun dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor incididunt ut labore"));
+        assertFalse(fuzzy.contains("...Lorem ipsun dolor sit amet, consectetur adipiscing elit, sed do eiusmod tempor"));
+        assertFalse(fuzzy.contains("", 0, 0));
+    }
+
+    @Test
+    void multiplePatterns() {
+        FuzzyPattern cornSyrup = FuzzyPattern.compile("Corn Syrup", 3, true);
+        FuzzyPattern concentrate = FuzzyPattern.compile("Tomato Concentrate", 4, true);
+        List<String> rows = Arrays.asList(
+                "tomatoes, vinegar, high fructose com syrup, salt",
+                "tomatoes, vinegar, sugar, salt",
+                "tomato concentrat, vinegar, salt");
+        for (FuzzyPatterns patterns : Arrays.asList(
+                FuzzyPatterns.combine(cornSyrup, concentrate),
+                new MultiplePatterns(new FuzzyPattern[]{cornSyrup, concentrate}))) {
+            assertEquals(Arrays.asList(rows.get(0), rows.get(2)),
+                    rows.stream().filter(patterns.asPredicate()).collect(Collectors.toList()));
+        }
+    }
+}
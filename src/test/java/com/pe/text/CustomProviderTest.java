@@ -0,0 +1,176 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomProviderTest {
+
+    /**
+     * Custom provider which implements the mandatory operations of the matcher only
+     */
+    private static final class Plain implements FuzzyMatcherProvider {
+        private final FuzzyPattern pattern;
+
+        Plain(String pattern, int maxDistance) {
+            this.pattern = FuzzyPattern.compile(pattern, maxDistance);
+        }
+
+        @Override
+        public FuzzyMatcher matcher(CharSequence text, int fromIndex, int toIndex) {
+            final FuzzyMatcher matcher = pattern.matcher(text, fromIndex, toIndex);
+            return new FuzzyMatcher() {
+                @Override
+                public void reset(CharSequence text, int fromIndex, int toIndex) {
+                    matcher.reset(text, fromIndex, toIndex);
+                }
+
+                @Override
+                public CharSequence text() {
+                    return matcher.text();
+                }
+
+                @Override
+                public boolean find() {
+                    return matcher.find();
+                }
+
+                @Override
+                public int to() {
+                    return matcher.to();
+                }
+
+                @Override
+                public boolean started() {
+                    return matcher.started();
+                }
+
+                @Override
+                public boolean completed() {
+                    return matcher.completed();
+                }
+
+                @Override
+                public int from() {
+                    return matcher.from();
+                }
+
+                @Override
+                public int start() {
+                    return matcher.start();
+                }
+
+                @Override
+                public int end() {
+                    return matcher.end();
+                }
+
+                @Override
+                public CharSequence foundText() {
+                    return matcher.foundText();
+                }
+
+                @Override
+                public FuzzyPattern pattern() {
+                    return matcher.pattern();
+                }
+
+                @Override
+                public int distance() {
+                    return matcher.distance();
+                }
+
+                @Override
+                public Stream<OperationType> streamEditTypes() {
+                    return matcher.streamEditTypes();
+                }
+            };
+        }
+    }
+
+    private static FuzzyPatterns combined() {
+        return new MultiplePatterns(new FuzzyMatcherProvider[]{
+                new Plain("Corn Syrup", 2),
+                new Plain("Corn Starch", 2)});
+    }
+
+    @Test
+    void optionalOperationsThrowForCustomMatcher() {
+        final FuzzyMatcher matcher = new Plain("Corn Syrup", 2).matcher("Corn Syrup");
+        assertThrows(UnsupportedOperationException.class, matcher::matches);
+        assertThrows(UnsupportedOperationException.class, matcher::lookingAt);
+        assertThrows(UnsupportedOperationException.class, () -> matcher.useWordBoundaries(true));
+        assertThrows(UnsupportedOperationException.class, () -> matcher.useOverlapping(true));
+        assertThrows(UnsupportedOperationException.class, () -> matcher.useCancellation(CancellationToken.create()));
+    }
+
+    @Test
+    void anchoredMatchingIsEmulated() {
+        final FuzzyPatterns patterns = combined();
+        FuzzyMatcher matcher = patterns.matcher("Corn Starh");
+        assertTrue(matcher.matches());
+        assertEquals("Corn Starch", matcher.pattern().text());
+        assertEquals(0, matcher.start());
+        assertEquals(10, matcher.end());
+        assertEquals(1, matcher.distance());
+
+        matcher = patterns.matcher("Corn Syrup, Sugar");
+        assertFalse(matcher.matches());
+        assertTrue(matcher.lookingAt());
+        assertEquals("Corn Syrup", matcher.pattern().text());
+        assertEquals(10, matcher.end());
+
+        matcher = patterns.matcher("Sugar, Corn Syrup", 7);
+        assertTrue(matcher.matches());
+        assertEquals(7, matcher.start());
+        matcher = patterns.matcher("Sugar, Corn Syrup");
+        assertFalse(matcher.lookingAt());
+        assertFalse(matcher.matches());
+    }
+
+    @Test
+    void matchingsSplittingWordsAreSkipped() {
+        final FuzzyPatterns patterns = combined();
+        final FuzzyMatcher matcher = patterns.matcher("Corn Syrups, Corn Starch, Popcorn Syrup 5").useWordBoundaries(true);
+        assertTrue(matcher.hasWordBoundaries());
+        assertEquals("Corn Starch", matcher.stream().map(FuzzyResult::foundText).map(CharSequence::toString)
+                .reduce((a, b) -> a + "," + b).orElse(""));
+        matcher.useWordBoundaries(false).reset();
+        assertFalse(matcher.hasWordBoundaries());
+        assertEquals(3, matcher.stream().count());
+    }
+
+    @Test
+    void overlappingModeIsEmulated() {
+        final FuzzyPatterns patterns = new MultiplePatterns(new FuzzyMatcherProvider[]{
+                new Plain("|||", 1),
+                new Plain("||", 0)});
+        final FuzzyMatcher matcher = patterns.matcher("||||").useOverlapping(true);
+        assertTrue(matcher.isOverlapping());
+        final List<String> found = new ArrayList<>();
+        while (matcher.find()) found.add(matcher.pattern().text() + " " + matcher.start() + "-" + matcher.end());
+        assertEquals(Arrays.asList("|| 0-2", "||| 0-3", "|| 1-3", "||| 1-4", "||| 2-4", "|| 2-4"), found);
+    }
+
+    @Test
+    void cancellationIsCheckedBetweenSearches() {
+        final CancellationToken token = CancellationToken.create();
+        final FuzzyMatcher matcher = new MultiplePatterns(new FuzzyMatcherProvider[]{
+                new Plain("Corn Syrup", 2),
+                FuzzyPattern.compile("Corn Starch", 2)})
+                .matcher("Corn Syrup, Corn Starch, Corn Syrup").useCancellation(token);
+        assertTrue(matcher.find());
+        assertFalse(matcher.partial());
+        token.cancel();
+        assertFalse(matcher.find());
+        assertTrue(matcher.partial());
+        matcher.useCancellation(null).reset();
+        assertFalse(matcher.partial());
+        assertEquals(3, matcher.stream().count());
+    }
+}
@@ -0,0 +1,302 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FuzzyResultPublisherTest {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300; "
+            + "medical history, Medical Record #400 and medicaid records.";
+
+    private static String describe(FuzzyResult result) {
+        return result.start() + "-" + result.end() + "/" + result.distance();
+    }
+
+    /**
+     * Executor which runs tasks only when the test asks
+     */
+    private static final class ManualExecutor implements java.util.concurrent.Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable task;
+            while ((task = tasks.poll()) != null) task.run();
+        }
+    }
+
+    private static class RecordingSubscriber implements FuzzyResultPublisher.Subscriber {
+        final List<String> results = new ArrayList<>();
+        FuzzyResultPublisher.Subscription subscription;
+        Throwable error;
+        boolean completed;
+
+        @Override
+        public void onSubscribe(FuzzyResultPublisher.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(FuzzyResult result) {
+            results.add(describe(result));
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            assertNull(error);
+            error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            assertFalse(completed);
+            completed = true;
+        }
+    }
+
+    private static List<String> expected(FuzzyPattern pattern) {
+        return pattern.matcher(TEXT).stream().map(FuzzyResultPublisherTest::describe).collect(Collectors.toList());
+    }
+
+    @Test
+    void emitsOnlyRequestedMatchings() {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        final List<String> expected = expected(pattern);
+        assertEquals(3, expected.size());
+        final ManualExecutor executor = new ManualExecutor();
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        pattern.matcher(TEXT).publisher(executor).subscribe(subscriber);
+        executor.runAll();
+        assertTrue(subscriber.results.isEmpty());
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.request(1);
+        executor.runAll();
+        assertEquals(expected.subList(0, 2), subscriber.results);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(1);
+        executor.runAll();
+        assertEquals(expected, subscriber.results);
+        // the end of the text is found by the next request only
+        assertFalse(subscriber.completed);
+        subscriber.subscription.request(1);
+        executor.runAll();
+        assertTrue(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void unboundedRequestEmitsAllMatchings() {
+        final FuzzyPatterns patterns = FuzzyPatterns.combine(
+                FuzzyPattern.compile("Medical Record", 2), FuzzyPattern.compile("medical history", 1));
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        patterns.matcher(TEXT).publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        subscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(patterns.matcher(TEXT).stream().map(FuzzyResultPublisherTest::describe).collect(Collectors.toList()),
+                subscriber.results);
+        assertTrue(subscriber.completed);
+    }
+
+    @Test
+    void requestsFromOnNextAreNotRecursive() {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        final int[] depth = {0, 0};
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(FuzzyResult result) {
+                super.onNext(result);
+                depth[1] = Math.max(depth[1], ++depth[0]);
+                subscription.request(1);
+                depth[0]--;
+            }
+        };
+        pattern.matcher(TEXT).publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals(expected(pattern), subscriber.results);
+        assertTrue(subscriber.completed);
+        assertEquals(1, depth[1]);
+    }
+
+    @Test
+    void cancelStopsEmitting() {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onNext(FuzzyResult result) {
+                super.onNext(result);
+                subscription.cancel();
+            }
+        };
+        pattern.matcher(TEXT).publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(10);
+        subscriber.subscription.request(10);
+        assertEquals(expected(pattern).subList(0, 1), subscriber.results);
+        assertFalse(subscriber.completed);
+        assertNull(subscriber.error);
+    }
+
+    @Test
+    void cancelStopsScanInTheMiddleOfText() throws InterruptedException {
+        final char[] noise = new char[20_000_000];
+        Arrays.fill(noise, 'x');
+        final String text = new String(noise) + "Medical Record";
+        final FuzzyMatcher matcher = FuzzyPattern.compile("Medical Record", 2).matcher(text);
+        final CountDownLatch done = new CountDownLatch(1);
+        final RecordingSubscriber subscriber = new RecordingSubscriber() {
+            @Override
+            public void onComplete() {
+                super.onComplete();
+                done.countDown();
+            }
+        };
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            matcher.publisher(executor).subscribe(subscriber);
+            subscriber.subscription.request(1);
+            subscriber.subscription.cancel();
+            executor.execute(done::countDown);
+            assertTrue(done.await(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+        assertTrue(subscriber.results.isEmpty());
+        assertFalse(subscriber.completed);
+        assertFalse(matcher.completed(), "scan has to be stopped before the end of the text");
+    }
+
+    @Test
+    void cancelledBitapMatcherStopsFind() {
+        final char[] noise = new char[3 * BaseBitap.Matcher.CHECK_INTERVAL + 10];
+        Arrays.fill(noise, 'x');
+        final String text = new String(noise) + "Medical Record";
+        for (boolean overlapping : new boolean[]{false, true}) {
+            final BaseBitap.Matcher matcher = (BaseBitap.Matcher) FuzzyPattern.compile("Medical Record", 2).matcher(text);
+            matcher.useOverlapping(overlapping);
+            matcher.cancel();
+            assertFalse(matcher.find());
+            assertFalse(matcher.completed());
+            assertEquals(BaseBitap.Matcher.CHECK_INTERVAL - 1, matcher.index);
+            // the matcher is reused after the cancelled subscription
+            matcher.reset();
+            assertTrue(matcher.find());
+            assertFalse(matcher.partial());
+        }
+    }
+
+    @Test
+    void invalidRequestIsSignalled() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        FuzzyPattern.compile("Medical Record", 2).matcher(TEXT).publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(0);
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        subscriber.subscription.request(1);
+        assertTrue(subscriber.results.isEmpty());
+        assertFalse(subscriber.completed);
+    }
+
+    @Test
+    void acceptsOnlyOneSubscriber() {
+        final FuzzyResultPublisher publisher = FuzzyPattern.compile("Medical Record", 2).matcher(TEXT).publisher(Runnable::run);
+        final RecordingSubscriber first = new RecordingSubscriber();
+        final RecordingSubscriber second = new RecordingSubscriber();
+        publisher.subscribe(first);
+        publisher.subscribe(second);
+        assertNotNull(second.subscription);
+        assertTrue(second.error instanceof IllegalStateException);
+        first.subscription.request(Long.MAX_VALUE);
+        assertEquals(3, first.results.size());
+        assertTrue(first.completed);
+    }
+
+    @Test
+    void matcherErrorsAreSignalled() {
+        final RecordingSubscriber subscriber = new RecordingSubscriber();
+        final FuzzyMatcherProvider failing = (text, from, to) -> new FuzzyMatcher() {
+            // only the methods used by the publisher
+            @Override
+            public boolean find() {
+                throw new IllegalStateException("broken");
+            }
+
+            @Override
+            public void reset(CharSequence text, int fromIndex, int toIndex) {
+            }
+
+            @Override
+            public CharSequence text() {
+                return text;
+            }
+
+            @Override
+            public int to() {
+                return to;
+            }
+
+            @Override
+            public boolean started() {
+                return false;
+            }
+
+            @Override
+            public boolean completed() {
+                return false;
+            }
+
+            @Override
+            public int from() {
+                return from;
+            }
+
+            @Override
+            public FuzzyPattern pattern() {
+                return null;
+            }
+
+            @Override
+            public int start() {
+                return 0;
+            }
+
+            @Override
+            public int end() {
+                return 0;
+            }
+
+            @Override
+            public int distance() {
+                return 0;
+            }
+
+            @Override
+            public CharSequence foundText() {
+                return null;
+            }
+
+            @Override
+            public java.util.stream.Stream<OperationType> streamEditTypes() {
+                return java.util.stream.Stream.empty();
+            }
+        };
+        failing.matcher(TEXT).publisher(Runnable::run).subscribe(subscriber);
+        subscriber.subscription.request(1);
+        assertEquals("broken", subscriber.error.getMessage());
+    }
+}
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -214,4 +215,20 @@ class IterativeMultiplePatternsTest {
         assertFalse(matcher.find());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testTopKWithDifferentMaxDistances() {
+        FuzzyPatterns patterns = FuzzyPatterns.combine(
+                FuzzyPattern.compile("Corn Syrup", 1),
+                FuzzyPattern.compile("Tomato Concentrate", 6)
+        );
+        FuzzyMatcher matcher = patterns.matcher("Tomat0 Conc3ntrate, Corn Syrop, Tomato Concentrate, Corn Syrup");
+        List<FuzzyResult> top = matcher.findTopK(2);
+        assertEquals(2, top.size());
+        assertEquals("Tomato Concentrate", top.get(0).foundText());
+        assertEquals("Corn Syrup", top.get(1).foundText());
+        assertEquals(0, top.get(1).distance());
+
+        matcher.reset();
+        assertEquals("Tomato Concentrate", matcher.findTheBest().map(FuzzyResult::foundText).orElse(null));
+    }
+}
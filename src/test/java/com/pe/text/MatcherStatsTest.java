@@ -0,0 +1,66 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The counting is enabled by the separate surefire execution with the {@code com.pe.text.stats} system property
+ */
+class MatcherStatsTest {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300";
+
+    @Test
+    @DisabledIfSystemProperty(named = "com.pe.text.stats", matches = "true")
+    void isDisabledByDefault() {
+        assertFalse(MatcherStats.ENABLED);
+        assertThrows(IllegalStateException.class, () -> MatcherStats.of(FuzzyPattern.compile("Medical Record", 2)));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "com.pe.text.stats", matches = "true")
+    void countsWorkOfMatchers() {
+        assertTrue(MatcherStats.ENABLED);
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        MatcherStats stats = MatcherStats.of(pattern);
+        assertEquals(0, stats.charactersScanned());
+
+        FuzzyMatcher matcher = pattern.matcher(TEXT);
+        int found = 0;
+        while (matcher.find()) found++;
+        assertEquals(2, found);
+        assertEquals(1, stats.resets());
+        // every find() starts from the initial bit masks, including the last unsuccessful one
+        assertEquals(found + 1, stats.stateResets());
+        assertTrue(stats.charactersScanned() >= TEXT.length(), stats.toString());
+        assertTrue(stats.hits() >= found, stats.toString());
+        assertTrue(stats.improveIterations() > 0, stats.toString());
+        assertTrue(stats.tracebackSteps() >= "Medical Record".length(), stats.toString());
+        assertTrue(stats.rowUpdates() >= stats.charactersScanned(), stats.toString());
+        assertTrue(stats.rowUpdates() <= stats.charactersScanned() * 3, stats.toString());
+
+        matcher.reset();
+        assertEquals(2, stats.resets());
+        stats.clear();
+        assertEquals("MatcherStats{charactersScanned=0, rowUpdates=0, hits=0, improveIterations=0, tracebackSteps=0, "
+                + "resets=0, stateResets=0}", stats.toString());
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "com.pe.text.stats", matches = "true")
+    void countsRecomputedRows() {
+        FuzzyPattern history = FuzzyPattern.compile("Medical Record", 2, false, TracebackStrategy.HISTORY);
+        FuzzyPattern recompute = FuzzyPattern.compile("Medical Record", 2, false, TracebackStrategy.RECOMPUTE);
+        assertEquals(2, history.matcher(TEXT).stream().count());
+        assertEquals(2, recompute.matcher(TEXT).stream().count());
+        MatcherStats historyStats = MatcherStats.of(history);
+        MatcherStats recomputeStats = MatcherStats.of(recompute);
+        assertEquals(historyStats.charactersScanned(), recomputeStats.charactersScanned());
+        assertEquals(historyStats.tracebackSteps(), recomputeStats.tracebackSteps());
+        assertTrue(recomputeStats.rowUpdates() > historyStats.rowUpdates(), recomputeStats + " " + historyStats);
+        assertNotSame(historyStats, recomputeStats);
+    }
+}
@@ -4,6 +4,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -174,4 +178,74 @@ class MultiplePatternsTest {
         assertFalse(matcher.find());
     }
 
-}
\ No newline at end of file
+    @Test
+    void testTopK() {
+        FuzzyPatterns patterns = new MultiplePatterns(new FuzzyPattern[]{
+                FuzzyPattern.compile("Corn Syrup", 1),
+                FuzzyPattern.compile("Tomato Concentrate", 6)
+        });
+        List<FuzzyResult> top = patterns.matcher("Tomat0 Conc3ntrate, Corn Syrop, Tomato Concentrate").findTopK(2);
+        assertEquals(2, top.size());
+        assertEquals("Tomato Concentrate", top.get(0).foundText());
+        assertEquals("Corn Syrop", top.get(1).foundText());
+    }
+
+    @Test
+    void mergesCustomProvidersInPositionOrder() {
+        String[] words = {"lorem", "ipsum", "dolor", "amet", "elit", "tempor", "magna"};
+        FuzzyPattern[] compiled = new FuzzyPattern[words.length];
+        FuzzyMatcherProvider[] providers = new FuzzyMatcherProvider[words.length];
+        for (int i = 0; i < words.length; i++) {
+            final FuzzyPattern pattern = compiled[i] = FuzzyPattern.compile(words[i], 1);
+            // custom provider, so the fallback implementation is used
+            providers[i] = (text, fromIndex, toIndex) -> pattern.matcher(text, fromIndex, toIndex);
+        }
+        FuzzyPatterns patterns = new MultiplePatterns(providers);
+        Random random = new Random(7);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            StringBuilder sb = new StringBuilder();
+            while (sb.length() < 300) {
+                String word = words[random.nextInt(words.length)];
+                int typo = random.nextInt(word.length() * 2);
+                if (typo < word.length()) word = word.substring(0, typo) + word.substring(typo + 1);
+                sb.append(word).append(random.nextBoolean() ? " " : "");
+            }
+            String text = sb.toString();
+            // the first matching of every pattern after the previous one, the leftmost is taken
+            List<String> expected = new ArrayList<>();
+            for (int position = 0; ; ) {
+                FuzzyMatcher first = null;
+                for (FuzzyPattern pattern : compiled) {
+                    FuzzyMatcher matcher = pattern.matcher(text, position);
+                    if (matcher.find() && (first == null || matcher.start() < first.start()
+                            || matcher.start() == first.start() && matcher.end() < first.end()))
+                        first = matcher;
+                }
+                if (first == null) break;
+                expected.add(first.start() + "-" + first.end() + " " + first.foundText());
+                position = first.end();
+            }
+            FuzzyMatcher matcher = patterns.matcher(text);
+            for (int pass = 0; pass < 2; pass++) {
+                assertEquals(expected, matcher.stream().map(r -> r.start() + "-" + r.end() + " " + r.foundText())
+                        .collect(Collectors.toList()), text);
+                assertTrue(matcher.completed());
+                matcher.reset();
+            }
+        }
+    }
+
+    @Test
+    void losingMatchersContinueTheirScan() {
+        FuzzyPattern syrup = FuzzyPattern.compile("Corn Syrup", 2);
+        FuzzyPatterns patterns = new MultiplePatterns(new FuzzyMatcherProvider[]{
+                (text, fromIndex, toIndex) -> FuzzyPattern.compile("Corn", 0).matcher(text, fromIndex, toIndex),
+                syrup});
+        MultiplePatterns.Matcher matcher = (MultiplePatterns.Matcher) patterns.matcher("Corn Syrup, Corn Syrup");
+        assertEquals(Arrays.asList("0-4 Corn", "12-16 Corn"),
+                matcher.stream().map(r -> r.start() + "-" + r.end() + " " + r.foundText()).collect(Collectors.toList()));
+        // the matcher of the pattern is not reset to the end of the overlapping matching
+        assertEquals(0, matcher.matchers[1].from());
+        assertTrue(matcher.completed());
+    }
+}
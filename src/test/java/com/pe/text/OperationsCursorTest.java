@@ -0,0 +1,101 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OperationsCursorTest {
+
+    private static List<Operation> drain(OperationsCursor cursor) {
+        List<Operation> operations = new ArrayList<>();
+        while (cursor.next()) operations.add(cursor.toOperation());
+        return operations;
+    }
+
+    private static void assertSameOperations(List<Operation> expected, List<Operation> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).type(), actual.get(i).type(), "type at " + i);
+            assertEquals(expected.get(i).patternChar(), actual.get(i).patternChar(), "pattern char at " + i);
+            assertEquals(expected.get(i).textChar(), actual.get(i).textChar(), "text char at " + i);
+        }
+    }
+
+    @Test
+    void testEdgeCase() {
+        FuzzyMatcher m = FuzzyPattern.compile("aabaa", 2).matcher("aaa");
+        assertTrue(m.find());
+        OperationsCursor cursor = new OperationsCursor().reset(m);
+        assertEquals(5, cursor.size());
+        OperationType[] types = {OperationType.MATCHING, OperationType.MATCHING, OperationType.INSERTION,
+                OperationType.MATCHING, OperationType.INSERTION};
+        int[] textIndices = {0, 1, -1, 2, -1};
+        for (int i = 0; i < types.length; i++) {
+            assertTrue(cursor.next());
+            assertEquals(types[i], cursor.type());
+            assertEquals(i, cursor.patternIndex());
+            assertEquals("aabaa".charAt(i), cursor.patternChar());
+            assertEquals(textIndices[i], cursor.textIndex());
+        }
+        assertFalse(cursor.next());
+        assertThrows(IllegalStateException.class, cursor::type);
+    }
+
+    @Test
+    void testNotPositioned() {
+        FuzzyMatcher m = FuzzyPattern.compile("test", 1).matcher("tost");
+        assertTrue(m.find());
+        OperationsCursor cursor = new OperationsCursor(false).reset(m);
+        assertThrows(IllegalStateException.class, cursor::textChar);
+        assertTrue(cursor.next());
+        assertEquals(OperationType.REPLACEMENT, cursor.type());
+        assertEquals('e', cursor.patternChar());
+        assertEquals('o', cursor.textChar());
+        assertEquals(1, cursor.textIndex());
+        assertFalse(cursor.next());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "insert replace delete,nsert rrplace ddelete,3,false",
+            "33. Missing Teeth Information,33. Missing xxx Teeth Information,10,false",
+            "Tomato Concentrate,tomatoe conCentrat,5,true",
+            "aabaa,aaa,2,false",
+    })
+    void sameAsStreams(String pattern, String text, int maxDistance, boolean caseInsensitive) {
+        FuzzyMatcher matcher = FuzzyPattern.compile(pattern, maxDistance, caseInsensitive).matcher(text);
+        OperationsCursor all = new OperationsCursor();
+        OperationsCursor edits = new OperationsCursor(false);
+        while (matcher.find()) {
+            assertSameOperations(matcher.streamCharByCharOperations().collect(Collectors.toList()),
+                    drain(all.reset(matcher)));
+            assertSameOperations(matcher.streamEditOperations().collect(Collectors.toList()),
+                    drain(edits.reset(matcher)));
+            FuzzyResultRecord record = new FuzzyResultRecord(matcher);
+            assertSameOperations(record.streamCharByCharOperations().collect(Collectors.toList()),
+                    drain(all.reset(record)));
+        }
+    }
+
+    @Test
+    void multiplePatterns() {
+        FuzzyPatterns patterns = FuzzyPatterns.combine(
+                FuzzyPattern.compile("Corn Syrup", 3),
+                FuzzyPattern.compile("Tomato Concentrate", 5, true));
+        FuzzyMatcher matcher = patterns.matcher("tomato concentrat, high fructose corn syrup, corm Syrup");
+        OperationsCursor cursor = new OperationsCursor();
+        int found = 0;
+        while (matcher.find()) {
+            found++;
+            assertSameOperations(matcher.streamCharByCharOperations().collect(Collectors.toList()),
+                    drain(cursor.reset(matcher)));
+        }
+        assertEquals(3, found);
+    }
+}
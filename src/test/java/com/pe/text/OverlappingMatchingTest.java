@@ -0,0 +1,194 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OverlappingMatchingTest {
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static int levenshtein(CharSequence a, CharSequence b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final int replacement = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replacement, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Minimal Levenshtein distance of the pattern to any substring of the text which ends at the every position
+     * of the range, i.e. the last row of the approximate string matching table (Sellers algorithm)
+     */
+    private static int[] endDistances(String pattern, String text, int from, int to) {
+        int[] previous = new int[to - from + 1];
+        int[] current = new int[to - from + 1];
+        for (int i = 1; i <= pattern.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= to - from; j++) {
+                final int replacement = previous[j - 1] + (pattern.charAt(i - 1) == text.charAt(from + j - 1) ? 0 : 1);
+                current[j] = Math.min(replacement, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous;
+    }
+
+    private static List<FuzzyPattern> engines(String pattern, int maxDistance) {
+        List<FuzzyPattern> engines = new ArrayList<>(Arrays.asList(
+                new Bitap65Plus(pattern, maxDistance),
+                new RecomputingBitap(pattern, maxDistance, false, 0),
+                new RecomputingBitap(pattern, maxDistance, false,
+                        RecomputingBitap.optimalCheckpointInterval(pattern.length(), maxDistance))));
+        if (pattern.length() <= 64) engines.add(new Bitap64(pattern, maxDistance));
+        if (pattern.length() <= 32) engines.add(new Bitap32(pattern, maxDistance));
+        return engines;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "abcab,1,ab",
+            "abcab,2,abc",
+            "aaaa,1,ab",
+            "abcdefgh,3,abcdefgh",
+            "abracadabra,3,abcdr",
+            "abababababababababababababababababababab,6,ab",
+            "abcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyzabcdefghijklmnopqrstuvwxyz,9,abcdefghijklmnopqrstuvwxyz",
+    })
+    void reportsEveryEndWithMinimalDistance(String pattern, int maxDistance, String alphabet) {
+        Random random = new Random(pattern.hashCode() * 31L + maxDistance);
+        for (FuzzyPattern engine : engines(pattern, maxDistance)) {
+            for (int attempt = 0; attempt < 30; attempt++) {
+                final String text = randomText(random, alphabet, 20 + random.nextInt(200));
+                final int from = random.nextInt(10);
+                final int[] expected = endDistances(pattern, text, from, text.length());
+                final FuzzyMatcher matcher = engine.matcher(text, from).useOverlapping(true);
+                assertTrue(matcher.isOverlapping());
+                int end = from;
+                while (matcher.find()) {
+                    final String message = engine.getClass().getSimpleName() + " " + text + " from " + from + ": " + matcher;
+                    for (end++; end < matcher.end(); end++)
+                        assertTrue(expected[end - from] > maxDistance, message + " skipped " + end);
+                    assertEquals(expected[end - from], matcher.distance(), message);
+                    assertTrue(matcher.start() >= from, message);
+                    assertEquals(matcher.distance(), levenshtein(pattern, matcher.foundText()), message);
+                }
+                for (end++; end <= text.length(); end++)
+                    assertTrue(expected[end - from] > maxDistance, engine + " " + text + " skipped " + end);
+                assertFalse(matcher.find());
+            }
+        }
+    }
+
+    @Test
+    void scansRepeatedCharactersOnce() {
+        FuzzyMatcher matcher = FuzzyPattern.compile("|||", 1).matcher("||||||").useOverlapping(true);
+        List<String> found = new ArrayList<>();
+        while (matcher.find()) found.add(matcher.start() + "-" + matcher.end() + "/" + matcher.distance());
+        assertEquals(Arrays.asList("0-2/1", "0-3/0", "1-4/0", "2-5/0", "3-6/0"), found);
+
+        matcher.reset("a||b");
+        assertTrue(matcher.isOverlapping());
+        found.clear();
+        while (matcher.find()) found.add(matcher.foundText() + "/" + matcher.distance());
+        assertEquals(Arrays.asList("a||/1", "||b/1"), found);
+
+        matcher.useOverlapping(false).reset("||||||");
+        found.clear();
+        while (matcher.find()) found.add(matcher.start() + "-" + matcher.end());
+        assertEquals(Arrays.asList("0-3", "3-6"), found);
+    }
+
+    @Test
+    void keepsWordBoundaries() {
+        FuzzyMatcher matcher = FuzzyPattern.compile("Suite", 1).matcher("Suite Suitesmith Suit")
+                .useWordBoundaries(true).useOverlapping(true);
+        List<String> found = new ArrayList<>();
+        while (matcher.find()) found.add(matcher.foundText().toString());
+        // "Suite " ends before the next word and "Suitesmith" is skipped entirely
+        assertEquals(Arrays.asList("Suite", "Suite ", "Suit"), found);
+    }
+
+    @Test
+    void findsTheBestAmongOverlappedMatchings() {
+        Random random = new Random(42);
+        for (int attempt = 0; attempt < 200; attempt++) {
+            final String pattern = randomText(random, "ab", 3 + random.nextInt(8));
+            final String text = randomText(random, "ab", 5 + random.nextInt(60));
+            final int maxDistance = random.nextInt(4);
+            final int[] distances = endDistances(pattern, text, 0, text.length());
+            final int expected = Arrays.stream(distances).min().getAsInt();
+            for (FuzzyPattern engine : engines(pattern, maxDistance)) {
+                final FuzzyMatcher matcher = engine.matcher(text);
+                final FuzzyResult best = matcher.findTheBest(true).orElse(null);
+                if (expected > maxDistance) {
+                    assertNull(best, engine + " " + text);
+                    continue;
+                }
+                assertNotNull(best, engine + " " + text);
+                assertEquals(expected, best.distance(), engine + " " + text);
+                assertEquals(expected, levenshtein(pattern, best.foundText()), engine + " " + text);
+                for (int end = 0; end < best.end(); end++) assertTrue(distances[end] > expected, engine + " " + text);
+                assertFalse(matcher.isOverlapping());
+                matcher.reset();
+                assertTrue(matcher.findTheBest(false).map(FuzzyResult::distance).orElse(-1) >= expected, engine + " " + text);
+            }
+        }
+    }
+
+    @Test
+    void combinedPatternsMergeMatchingsByEnds() {
+        final Bitap32 first = new Bitap32("aba", 1);
+        final Bitap32 second = new Bitap32("bb", 1);
+        Random random = new Random(11);
+        for (int attempt = 0; attempt < 50; attempt++) {
+            final String text = randomText(random, "ab", 5 + random.nextInt(60));
+            final List<String> expected = new ArrayList<>();
+            for (FuzzyPattern pattern : Arrays.asList(first, second)) {
+                final FuzzyMatcher matcher = pattern.matcher(text).useOverlapping(true);
+                while (matcher.find()) expected.add(matcher.pattern().text() + " " + matcher.start() + "-" + matcher.end());
+            }
+            expected.sort(null);
+            for (FuzzyPatterns patterns : Arrays.asList(
+                    new IterativeMultiplePatterns(new IterativeFuzzyMatcherProvider[]{first, second}),
+                    new MultiplePatterns(new FuzzyMatcherProvider[]{first, second}))) {
+                final FuzzyMatcher matcher = patterns.matcher(text).useOverlapping(true);
+                assertTrue(matcher.isOverlapping());
+                for (int pass = 0; pass < 2; pass++) {
+                    final List<String> found = new ArrayList<>();
+                    int end = 0;
+                    while (matcher.find()) {
+                        assertTrue(matcher.end() >= end, patterns + " " + text);
+                        end = matcher.end();
+                        found.add(matcher.pattern().text() + " " + matcher.start() + "-" + matcher.end());
+                    }
+                    found.sort(null);
+                    assertEquals(expected, found, patterns + " " + text);
+                    matcher.reset();
+                }
+            }
+        }
+    }
+}
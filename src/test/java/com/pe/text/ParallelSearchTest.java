@@ -0,0 +1,99 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParallelSearchTest {
+
+    private static List<String> documents() {
+        Random random = new Random(42);
+        List<String> documents = new ArrayList<>();
+        String[] noisy = {"Medicai?", "Med1cal?", "Mediacl?", "Medical", "Medial?", "Medical?"};
+        for (int i = 0; i < 500; i++) {
+            StringBuilder document = new StringBuilder();
+            for (int j = 0; j < 20; j++) {
+                document.append((char) ('a' + random.nextInt(26)));
+                if (random.nextInt(40) == 0) document.append(' ').append(noisy[random.nextInt(noisy.length - 1)]).append(' ');
+            }
+            documents.add(document.toString());
+        }
+        return documents;
+    }
+
+    private static List<DocumentFuzzyResult> sequentialTopK(FuzzyMatcherProvider pattern, List<String> documents, int k) {
+        List<DocumentFuzzyResult> all = new ArrayList<>();
+        for (int i = 0; i < documents.size(); i++) {
+            FuzzyMatcher matcher = pattern.matcher(documents.get(i));
+            while (matcher.find()) all.add(new DocumentFuzzyResult(i, matcher));
+        }
+        all.sort(DocumentFuzzyResult.BEST_FIRST);
+        return all.subList(0, Math.min(k, all.size()));
+    }
+
+    private static List<String> describe(List<DocumentFuzzyResult> results) {
+        return results.stream()
+                .map(r -> r.distance() + "@" + r.documentIndex() + ":" + r.start() + "-" + r.end())
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void testTheBest() {
+        List<String> documents = documents();
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical?", 3);
+        Optional<DocumentFuzzyResult> best = pattern.findTheBestIn(documents);
+        assertTrue(best.isPresent());
+        assertEquals(describe(sequentialTopK(pattern, documents, 1)), describe(Collections.singletonList(best.get())));
+
+        documents.set(documents.size() - 1, "exact Medical? at the end");
+        best = pattern.findTheBestIn(documents);
+        assertTrue(best.isPresent());
+        assertEquals(0, best.get().distance());
+        assertEquals(documents.size() - 1, best.get().documentIndex());
+        assertEquals("Medical?", best.get().foundText());
+    }
+
+    @Test
+    void testTopK() {
+        List<String> documents = documents();
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical?", 2);
+        for (int k : new int[]{1, 5, 50}) {
+            List<DocumentFuzzyResult> top = pattern.findTopKIn(documents, k);
+            assertEquals(k, top.size());
+            assertEquals(
+                    sequentialTopK(pattern, documents, k).stream().map(DocumentFuzzyResult::distance).collect(Collectors.toList()),
+                    top.stream().map(DocumentFuzzyResult::distance).collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void testMultiplePatterns() {
+        FuzzyPatterns patterns = new MultiplePatterns(new FuzzyPattern[]{
+                FuzzyPattern.compile("Dental?", 2),
+                FuzzyPattern.compile("Medical?", 2)
+        });
+        List<String> documents = Arrays.asList("4. Dentai? [ ! Medicai? ]", "nothing", "4. Dental [ ! Medical? ]");
+        Optional<DocumentFuzzyResult> best = patterns.findTheBestIn(documents);
+        assertTrue(best.isPresent());
+        assertEquals(2, best.get().documentIndex());
+        assertEquals("Medical?", best.get().foundText());
+        assertEquals(Arrays.asList(2, 0, 0), patterns.findTopKIn(documents, 3).stream()
+                .map(DocumentFuzzyResult::documentIndex).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testNoMatches() {
+        FuzzyPattern pattern = FuzzyPattern.compile("Medical?", 1);
+        assertFalse(pattern.findTheBestIn(Arrays.asList("abc", "def")).isPresent());
+        assertTrue(pattern.findTopKIn(Collections.emptyList(), 3).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> pattern.findTopKIn(Collections.emptyList(), 0));
+    }
+}
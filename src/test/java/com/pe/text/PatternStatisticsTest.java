@@ -0,0 +1,122 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatternStatisticsTest {
+
+    private static final String[] KEYWORDS = {"Provider", "Speciality Code", "Phone", "NPI", "License Number", "Street", "Suite"};
+
+    private static FuzzyPatterns combine(boolean iterative) {
+        FuzzyMatcherProvider[] providers = new FuzzyMatcherProvider[KEYWORDS.length];
+        for (int i = 0; i < KEYWORDS.length; i++) {
+            final FuzzyPattern pattern = FuzzyPattern.compile(KEYWORDS[i], KEYWORDS[i].length() / 4, true);
+            // custom provider, so the fallback implementation is used
+            providers[i] = iterative ? pattern : (text, fromIndex, toIndex) -> pattern.matcher(text, fromIndex, toIndex);
+        }
+        FuzzyPatterns patterns = FuzzyPatterns.combine(providers[0], providers[1],
+                Arrays.copyOfRange(providers, 2, providers.length));
+        assertEquals(iterative, patterns instanceof IterativeMultiplePatterns);
+        return patterns;
+    }
+
+    private static String text(Random random) {
+        StringBuilder sb = new StringBuilder();
+        while (sb.length() < 2000) {
+            String word = KEYWORDS[random.nextInt(KEYWORDS.length)];
+            int typo = random.nextInt(word.length() * 3);
+            if (typo < word.length()) word = word.substring(0, typo) + word.substring(typo + 1);
+            sb.append(word).append(random.nextBoolean() ? " 12 " : ", ");
+        }
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void aggregatesSameMatchingsAsStream(boolean iterative) {
+        FuzzyPatterns patterns = combine(iterative);
+        assertEquals(KEYWORDS.length, patterns.patternsCount());
+        Random random = new Random(11);
+        PatternStatistics total = new PatternStatistics(KEYWORDS.length);
+        int expectedTotal = 0;
+        for (int attempt = 0; attempt < 10; attempt++) {
+            String text = text(random);
+            int from = random.nextInt(100);
+            List<FuzzyResult> results = patterns.matcher(text, from).stream().collect(Collectors.toList());
+            PatternStatistics statistics = new PatternStatistics(KEYWORDS.length);
+            patterns.aggregate(text, from, text.length(), statistics);
+            patterns.aggregate(text, from, text.length(), total);
+            expectedTotal += results.size();
+            assertEquals(results.size(), statistics.totalCount());
+            for (int i = 0; i < KEYWORDS.length; i++) {
+                final String keyword = KEYWORDS[i];
+                List<FuzzyResult> found = results.stream()
+                        .filter(r -> r.pattern().text().equals(keyword)).collect(Collectors.toList());
+                assertEquals(found.size(), statistics.count(i), keyword);
+                assertEquals(found.stream().mapToInt(FuzzyResult::distance).min().orElse(-1), statistics.minDistance(i), keyword);
+                assertEquals(found.isEmpty() ? -1 : found.get(0).start(), statistics.firstStart(i), keyword);
+                assertEquals(found.isEmpty() ? -1 : found.get(found.size() - 1).end(), statistics.lastEnd(i), keyword);
+            }
+        }
+        assertEquals(expectedTotal, total.totalCount());
+        total.clear();
+        assertEquals(0, total.totalCount());
+        assertEquals(-1, total.minDistance(0));
+    }
+
+    @Test
+    void validatesPatternsCount() {
+        FuzzyPatterns patterns = combine(true);
+        assertThrows(IllegalArgumentException.class, () -> patterns.aggregate("Suite", 0, 5, new PatternStatistics(2)));
+        assertThrows(IllegalArgumentException.class, () -> combine(false).aggregate("Suite", 0, 5, new PatternStatistics(2)));
+        assertThrows(IllegalArgumentException.class, () -> new PatternStatistics(-1));
+        PatternStatistics statistics = patterns.aggregate("Suite 100, Stret");
+        assertEquals(1, statistics.count(6));
+        assertEquals(0, statistics.minDistance(6));
+        assertEquals(1, statistics.count(5));
+        assertEquals(1, statistics.minDistance(5));
+        assertEquals("PatternStatistics{5={count=1, minDistance=1, range=[11-16]}, 6={count=1, minDistance=0, range=[0-5]}}",
+                statistics.toString());
+    }
+
+    @Test
+    void customCombinationIsAggregatedByFoundPatterns() {
+        final FuzzyPattern[] patterns = {FuzzyPattern.compile("Street", 1), FuzzyPattern.compile("Suite", 1)};
+        final FuzzyPatterns combined = FuzzyPatterns.combine(patterns[0], patterns[1]);
+        final FuzzyPatterns custom = new FuzzyPatterns() {
+            @Override
+            public FuzzyMatcher matcher(CharSequence text, int fromIndex, int toIndex) {
+                return combined.matcher(text, fromIndex, toIndex);
+            }
+
+            @Override
+            public Iterable<? extends FuzzyMatcherProvider> patterns() {
+                return Arrays.asList(patterns);
+            }
+        };
+        final String text = "Suite 100, Stret, Suit 5";
+        assertEquals(combined.aggregate(text).toString(), custom.aggregate(text).toString());
+        assertEquals(2, custom.aggregate(text).count(1));
+
+        final FuzzyPatterns foreign = new FuzzyPatterns() {
+            @Override
+            public FuzzyMatcher matcher(CharSequence text, int fromIndex, int toIndex) {
+                return combined.matcher(text, fromIndex, toIndex);
+            }
+
+            @Override
+            public Iterable<? extends FuzzyMatcherProvider> patterns() {
+                return Arrays.asList(FuzzyPattern.compile("Street", 1), FuzzyPattern.compile("Suite", 1));
+            }
+        };
+        assertThrows(UnsupportedOperationException.class, () -> foreign.aggregate(text));
+    }
+}
@@ -0,0 +1,153 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecomputingBitapTest {
+
+    private static String randomText(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        return sb.toString();
+    }
+
+    private static int levenshtein(CharSequence a, CharSequence b, boolean caseInsensitive) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final char ca = a.charAt(i - 1);
+                final char cb = b.charAt(j - 1);
+                final boolean same = caseInsensitive ? Character.toLowerCase(ca) == Character.toLowerCase(cb) : ca == cb;
+                current[j] = Math.min(previous[j - 1] + (same ? 0 : 1), Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Checks that edit operations of the found result transform the pattern into the found text with the found distance
+     */
+    private static void assertConsistentOperations(FuzzyMatcher matcher, boolean caseInsensitive, String message) {
+        OperationsCursor cursor = new OperationsCursor().reset(matcher);
+        int patternIndex = 0;
+        int textIndex = 0;
+        int edits = 0;
+        while (cursor.next()) {
+            if (cursor.type() != OperationType.DELETION) assertEquals(patternIndex++, cursor.patternIndex(), message);
+            if (cursor.type() != OperationType.INSERTION) assertEquals(textIndex++, cursor.textIndex(), message);
+            if (cursor.type() == OperationType.MATCHING)
+                assertEquals(Character.toLowerCase(cursor.patternChar()), Character.toLowerCase(cursor.textChar()), message);
+            else edits++;
+        }
+        assertEquals(matcher.pattern().text().length(), patternIndex, message);
+        assertEquals(matcher.end() - matcher.start(), textIndex, message);
+        assertEquals(matcher.distance(), edits, message);
+        assertEquals(levenshtein(matcher.pattern().text(), matcher.foundText(), caseInsensitive), matcher.distance(), message);
+    }
+
+    private static List<String> describe(FuzzyMatcher matcher, int limit) {
+        List<String> result = new ArrayList<>();
+        while (result.size() < limit && matcher.find())
+            result.add(matcher.start() + "-" + matcher.end() + "/" + matcher.distance() + " "
+                    + matcher.streamEditTypes().collect(Collectors.toList()));
+        return result;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,0,false,RECOMPUTE",
+            "test,1,false,RECOMPUTE",
+            "tEst,2,true,RECOMPUTE",
+            "abcab,2,false,RECOMPUTE",
+            "aabaa,3,false,RECOMPUTE",
+            "abcabcabcabcabcabcabcabcabcabcabcabcabc,4,false,RECOMPUTE",
+            "abcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabca,6,true,RECOMPUTE",
+            "test,1,false,CHECKPOINTS",
+            "tEst,2,true,CHECKPOINTS",
+            "aabaa,3,false,CHECKPOINTS",
+            "abcabcabcabcabcabcabcabcabcabcabcabcabc,4,false,CHECKPOINTS",
+            "abcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabca,6,true,CHECKPOINTS",
+            "abcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabcabca,20,false,CHECKPOINTS",
+    })
+    void findsSameMatchingsAsHistory(String pattern, int maxDistance, boolean caseInsensitive, TracebackStrategy strategy) {
+        FuzzyPattern history = FuzzyPattern.compile(pattern, maxDistance, caseInsensitive, TracebackStrategy.HISTORY);
+        FuzzyPattern recomputing = FuzzyPattern.compile(pattern, maxDistance, caseInsensitive, strategy);
+        assertTrue(recomputing instanceof RecomputingBitap);
+        Random random = new Random(pattern.hashCode() + maxDistance);
+        for (int i = 0; i < 300; i++) {
+            String text = randomText(random, "abcestABT", random.nextInt(3 * pattern.length()));
+            int from = text.isEmpty() ? 0 : random.nextInt(text.length());
+            FuzzyMatcher expected = history.matcher(text, from);
+            FuzzyMatcher actual = recomputing.matcher(text, from);
+            // the next matchings of the history are restored through the masks of the characters before the previous one
+            assertEquals(describe(expected, 1), describe(actual, 1), text);
+            assertEquals(history.contains(text), recomputing.contains(text), text);
+            FuzzyMatcher matcher = recomputing.matcher(text);
+            while (matcher.find()) assertConsistentOperations(matcher, caseInsensitive, text);
+        }
+    }
+
+    @Test
+    void findsSameTopMatchings() {
+        String text = "Patient Medcal Recrd: none, Medical Record, Medica1 Rec0rd";
+        for (int k = 0; k <= 3; k++) {
+            FuzzyPattern history = FuzzyPattern.compile("Medical Record", k);
+            FuzzyPattern recomputing = FuzzyPattern.compile("Medical Record", k, false, TracebackStrategy.RECOMPUTE);
+            assertEquals(describe(history.matcher(text), 10), describe(recomputing.matcher(text), 10));
+            assertEquals(history.matcher(text).findTopK(2).stream().map(FuzzyResult::foundText).map(CharSequence::toString)
+                            .collect(Collectors.toList()),
+                    recomputing.matcher(text).findTopK(2).stream().map(FuzzyResult::foundText).map(CharSequence::toString)
+                            .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void choosesStrategyByMemoryLimit() {
+        String longPattern = String.join("", Collections.nCopies(100, "Medical Re"));
+        assertTrue(TracebackStrategy.HISTORY.estimateMatcherMemory(1000, 100) > 10_000_000);
+        assertTrue(TracebackStrategy.CHECKPOINTS.estimateMatcherMemory(1000, 100) < FuzzyPattern.DEFAULT_MATCHER_MEMORY_LIMIT);
+        assertTrue(TracebackStrategy.RECOMPUTE.estimateMatcherMemory(1000, 100)
+                < TracebackStrategy.CHECKPOINTS.estimateMatcherMemory(1000, 100));
+        assertTrue(FuzzyPattern.compile("Medical Record", 2) instanceof Bitap32);
+        assertTrue(FuzzyPattern.compile(longPattern.substring(0, 500), 10) instanceof Bitap65Plus);
+        FuzzyPattern pattern = FuzzyPattern.compile(longPattern, 100);
+        assertTrue(pattern instanceof RecomputingBitap);
+        assertTrue(FuzzyPattern.compile(longPattern, 100, false, 0L) instanceof RecomputingBitap);
+        assertTrue(FuzzyPattern.compile(longPattern, 100, false, Long.MAX_VALUE) instanceof Bitap65Plus);
+
+        String text = "noise " + longPattern.substring(0, 600).replace('M', 'N') + longPattern.substring(600, 990) + " noise";
+        FuzzyMatcher expected = new Bitap65Plus(longPattern, 100).matcher(text);
+        FuzzyMatcher actual = pattern.matcher(text);
+        assertEquals(describe(expected, 1), describe(actual, 1));
+        actual.reset();
+        assertEquals(1, describe(actual, 10).size());
+    }
+
+    @Test
+    void supportsAnchoredMatchingAndWordBoundaries() {
+        FuzzyPattern pattern = FuzzyPattern.compile("Suite", 1, false, TracebackStrategy.RECOMPUTE);
+        assertTrue(pattern.matcher("Suit").matches());
+        assertFalse(pattern.matcher("Suite 1").matches());
+        FuzzyMatcher matcher = pattern.matcher("Suite 1");
+        assertTrue(matcher.lookingAt());
+        assertEquals("Suite", matcher.foundText());
+        assertEquals(Arrays.asList("Suite", "Suit "), pattern.matcher("Suitesmith, Suite 100, Suit 12, Asuite")
+                .useWordBoundaries(true).stream().map(result -> result.foundText().toString()).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,146 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.CharBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScanPathTest {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300";
+
+    private static List<FuzzyPattern> engines(String pattern, int maxDistance) {
+        return Arrays.asList(
+                new Bitap32(pattern, maxDistance, true),
+                new Bitap64(pattern, maxDistance, true),
+                new Bitap65Plus(pattern, maxDistance, true),
+                new RecomputingBitap(pattern, maxDistance, true, 0));
+    }
+
+    private static List<String> describe(FuzzyMatcher matcher) {
+        return matcher.stream()
+                .map(r -> r.start() + "-" + r.end() + "/" + r.distance() + ":" + r.foundText())
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Custom text which is not a String, StringBuilder or array-backed buffer
+     */
+    private static CharSequence custom(String text) {
+        return new CharSequence() {
+            @Override
+            public int length() {
+                return text.length();
+            }
+
+            @Override
+            public char charAt(int index) {
+                return text.charAt(index);
+            }
+
+            @Override
+            public CharSequence subSequence(int start, int end) {
+                return text.subSequence(start, end);
+            }
+
+            @Override
+            public String toString() {
+                return text;
+            }
+        };
+    }
+
+    @Test
+    void allScanPathsFindSameMatchings() {
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            final List<String> expected = describe(pattern.matcher(TEXT));
+            assertEquals(3, expected.size(), pattern.toString());
+            assertEquals(expected, describe(pattern.matcher(new StringBuilder(TEXT))), pattern.toString());
+            assertEquals(expected, describe(pattern.matcher(new StringBuffer(TEXT))), pattern.toString());
+            assertEquals(expected, describe(pattern.matcher(custom(TEXT))), pattern.toString());
+            assertEquals(expected, describe(pattern.matcher(TEXT.toCharArray(), 0, TEXT.length())), pattern.toString());
+            assertEquals(expected, describe(pattern.matcher(CharBuffer.wrap(TEXT.toCharArray()).asReadOnlyBuffer())));
+        }
+    }
+
+    @Test
+    void arrayPositionsAreIndicesInArray() {
+        final char[] chars = ("Medical Record " + TEXT + " Medical Record").toCharArray();
+        final int from = 15;
+        final int to = from + TEXT.length();
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            final List<String> expected = describe(pattern.matcher(TEXT)).stream()
+                    .map(s -> {
+                        final String[] parts = s.split("[-/]", 3);
+                        return (Integer.parseInt(parts[0]) + from) + "-" + (Integer.parseInt(parts[1]) + from) + "/" + parts[2];
+                    })
+                    .collect(Collectors.toList());
+            assertEquals(expected, describe(pattern.matcher(chars, from, to)), pattern.toString());
+        }
+    }
+
+    @Test
+    void bufferWithOffsetIsReadFromItsPosition() {
+        final char[] chars = ("xxxx" + TEXT + "yyyy").toCharArray();
+        // array offset of the slice is 2, and its position is 2
+        final CharBuffer slice = CharBuffer.wrap(chars, 2, chars.length - 2).slice();
+        final CharBuffer text = (CharBuffer) slice.subSequence(2, 2 + TEXT.length());
+        assertEquals(TEXT, text.toString());
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            assertEquals(describe(pattern.matcher(TEXT)), describe(pattern.matcher(text)), pattern.toString());
+        }
+    }
+
+    @Test
+    void scanPathIsSelectedOnReset() {
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            final FuzzyMatcher matcher = pattern.matcher(TEXT.toCharArray(), 0, TEXT.length());
+            final List<String> expected = describe(matcher);
+            matcher.reset(custom(TEXT));
+            assertEquals(expected, describe(matcher));
+            matcher.reset(TEXT);
+            assertEquals(expected, describe(matcher));
+            matcher.reset(CharBuffer.wrap(TEXT.toCharArray()));
+            assertEquals(expected, describe(matcher));
+            matcher.reset(new StringBuilder(TEXT));
+            assertEquals(expected, describe(matcher));
+        }
+    }
+
+    @Test
+    void containsChecksAllTextKinds() {
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            for (String text : Arrays.asList(TEXT, "Patient: Jane Doe. Medical")) {
+                final boolean expected = text.equals(TEXT);
+                assertEquals(expected, pattern.contains(text), pattern.toString());
+                assertEquals(expected, pattern.contains(new StringBuilder(text)), pattern.toString());
+                assertEquals(expected, pattern.contains(custom(text)), pattern.toString());
+                assertEquals(expected, pattern.contains(CharBuffer.wrap(text.toCharArray())), pattern.toString());
+                assertEquals(expected, pattern.contains(CharBuffer.wrap(text)), pattern.toString());
+            }
+            final CharBuffer slice = (CharBuffer) CharBuffer.wrap(("xxxx" + TEXT).toCharArray()).subSequence(4, 4 + TEXT.length());
+            assertTrue(pattern.contains(slice, 19, 34), pattern.toString());
+            assertFalse(pattern.contains(slice, 0, 28), pattern.toString());
+        }
+    }
+
+    @Test
+    void containsFindsMatchingAcrossCopiedBlocks() {
+        final char[] filler = new char[20_000];
+        Arrays.fill(filler, '.');
+        for (FuzzyPattern pattern : engines("Medical Record", 2)) {
+            // the matching crosses the boundary of the blocks at every offset around it
+            for (int start = 4080; start < 4100; start++) {
+                final StringBuilder text = new StringBuilder().append(filler).replace(start, start + 13, "Medcal Record");
+                assertTrue(pattern.contains(text), pattern + " " + start);
+                assertTrue(pattern.contains(custom(text.toString())), pattern + " " + start);
+                assertFalse(pattern.contains(text, start + 3, text.length()), pattern + " " + start);
+                assertFalse(pattern.contains(text, 0, start + 10), pattern + " " + start);
+            }
+        }
+    }
+}
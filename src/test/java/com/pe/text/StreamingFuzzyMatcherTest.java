@@ -0,0 +1,127 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StreamingFuzzyMatcherTest {
+
+    private static String describe(FuzzyResult result) {
+        return result.start() + "-" + result.end() + "/" + result.distance() + " " + result.foundText()
+                + " " + result.streamEditTypes().collect(Collectors.toList());
+    }
+
+    private static String text(Random random, int length) {
+        StringBuilder sb = new StringBuilder(length);
+        while (sb.length() < length) {
+            if (random.nextInt(20) == 0) sb.append(random.nextBoolean() ? "medical record" : "Medcal Recrd");
+            else sb.append("abcdelmor ".charAt(random.nextInt(10)));
+        }
+        return sb.toString();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "record,1,false",
+            "medical record,2,false",
+            "medical record,3,true",
+            "lorem,2,false",
+            "medical record medical record medical record medical record,5,false",
+            "medical record medical record medical record medical record medical record,6,true",
+    })
+    void findsSameMatchingsAsWholeText(String pattern, int maxDistance, boolean caseInsensitive) {
+        FuzzyPattern fuzzyPattern = FuzzyPattern.compile(pattern, maxDistance, caseInsensitive);
+        Random random = new Random(pattern.hashCode());
+        for (int attempt = 0; attempt < 20; attempt++) {
+            String text = text(random, 2000);
+            List<String> expected = fuzzyPattern.matcher(text).stream()
+                    .map(StreamingFuzzyMatcherTest::describe).collect(Collectors.toList());
+            List<String> actual = new ArrayList<>();
+            StreamingFuzzyMatcher matcher = fuzzyPattern.streamMatcher(result -> actual.add(describe(result)));
+            char[] chars = text.toCharArray();
+            for (int offset = 0; offset < chars.length; ) {
+                int length = Math.min(chars.length - offset, random.nextInt(attempt < 10 ? 4 : 100));
+                matcher.feed(chars, offset, length);
+                offset += length;
+            }
+            matcher.finish();
+            assertEquals(text.length(), matcher.position());
+            assertEquals(expected, actual);
+        }
+    }
+
+    @Test
+    void reportsPendingMatchingWhenImprovementIsPossible() {
+        List<FuzzyResult> results = new ArrayList<>();
+        StreamingFuzzyMatcher matcher = FuzzyPattern.compile("Medical", 1).streamMatcher(results::add);
+        matcher.feed("Patient: Medica");
+        assertTrue(results.isEmpty());
+        matcher.feed(new StringBuilder("l and "));
+        assertEquals(1, results.size());
+        assertEquals(9, results.get(0).start());
+        assertEquals(16, results.get(0).end());
+        assertEquals("Medical", results.get(0).foundText());
+        assertEquals(0, results.get(0).distance());
+
+        matcher.feed("Medicat");
+        assertEquals(1, results.size());
+        matcher.finish();
+        assertEquals(2, results.size());
+        assertEquals("Medicat", results.get(1).foundText());
+        assertEquals(21, results.get(1).start());
+        assertEquals(1, results.get(1).distance());
+    }
+
+    @Test
+    void retainsOnlyTrailingWindow() {
+        List<FuzzyResult> results = new ArrayList<>();
+        StreamingFuzzyMatcher matcher = FuzzyPattern.compile("needle", 1).streamMatcher(results::add);
+        char[] hay = new char[10_000];
+        Arrays.fill(hay, 'x');
+        for (int i = 0; i < 100; i++) matcher.feed(hay);
+        matcher.feed("needle");
+        matcher.finish();
+        assertEquals(1, results.size());
+        assertEquals(1_000_000, results.get(0).start());
+        assertEquals("needle", results.get(0).foundText());
+        assertTrue(matcher.toString().contains("retained=8,"), matcher.toString());
+
+        matcher.reset();
+        assertEquals(0, matcher.position());
+        matcher.feed("a nedle");
+        matcher.finish();
+        assertEquals(2, results.size());
+        assertEquals(2, results.get(1).start());
+        assertThrows(IndexOutOfBoundsException.class, () -> matcher.feed(hay, 5, hay.length));
+    }
+
+    @Test
+    void streamAfterResetFindsSameMatchingsAsWholeText() {
+        final FuzzyPattern pattern = FuzzyPattern.compile("hello", 1);
+        final List<String> results = new ArrayList<>();
+        final StreamingFuzzyMatcher matcher = pattern.streamMatcher(result -> results.add(describe(result)));
+        final char[] hay = new char[56];
+        Arrays.fill(hay, 'x');
+        matcher.feed(hay);
+        matcher.feed(" hello");
+        matcher.finish();
+        assertEquals(Arrays.asList("57-62/0 hello []"), results);
+
+        results.clear();
+        matcher.reset();
+        matcher.feed("ab hallo xx");
+        matcher.finish();
+        final List<String> expected = pattern.matcher("ab hallo xx").stream()
+                .map(StreamingFuzzyMatcherTest::describe).collect(Collectors.toList());
+        assertEquals(Arrays.asList("3-8/1 hallo [REPLACEMENT]"), expected);
+        assertEquals(expected, results);
+    }
+}
@@ -0,0 +1,211 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WordBoundariesTest {
+
+    private static List<FuzzyPattern> engines(String pattern, int maxDistance, boolean caseInsensitive) {
+        return Arrays.asList(
+                new Bitap32(pattern, maxDistance, caseInsensitive),
+                new Bitap64(pattern, maxDistance, caseInsensitive),
+                new Bitap65Plus(pattern, maxDistance, caseInsensitive));
+    }
+
+    private static boolean isWordChar(char c) {
+        return c == '_' || Character.isLetterOrDigit(c);
+    }
+
+    private static boolean splitsWord(String text, int position) {
+        return position > 0 && position < text.length()
+                && isWordChar(text.charAt(position - 1)) && isWordChar(text.charAt(position));
+    }
+
+    @Test
+    void skipsMatchingsInsideWords() {
+        for (FuzzyPattern pattern : engines("Suite", 1, false)) {
+            FuzzyMatcher matcher = pattern.matcher("Suitesmith, Suite 100, Suit 12, Asuite").useWordBoundaries(true);
+            assertTrue(matcher.hasWordBoundaries());
+            assertEquals(Arrays.asList("Suite", "Suit "),
+                    matcher.stream().map(FuzzyResult::foundText).map(CharSequence::toString).collect(Collectors.toList()));
+            assertFalse(pattern.matcher("Suitesmith").useWordBoundaries(true).find());
+            assertTrue(pattern.matcher("Suitesmith").find());
+        }
+    }
+
+    @Test
+    void choosesAlignmentWithoutSplittingWords() {
+        FuzzyMatcher matcher = FuzzyPattern.compile("test", 1).matcher("a tests b").useWordBoundaries(true);
+        assertTrue(matcher.find());
+        assertEquals("tests", matcher.foundText());
+        assertEquals(1, matcher.distance());
+        matcher.reset("a testing, tes.");
+        assertTrue(matcher.find());
+        assertEquals("tes.", matcher.foundText());
+        assertEquals(11, matcher.start());
+    }
+
+    @Test
+    void keepsModeAfterReset() {
+        FuzzyMatcher matcher = FuzzyPattern.compile("cat", 0).matcher("concatenate").useWordBoundaries(true);
+        assertFalse(matcher.find());
+        matcher.reset("a cat");
+        assertTrue(matcher.find());
+        assertEquals(2, matcher.start());
+        matcher.useWordBoundaries(false).reset("concatenate");
+        assertFalse(matcher.hasWordBoundaries());
+        assertTrue(matcher.find());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "test,1,false",
+            "tEsT,2,true",
+            "ab,1,false",
+            "abcab,2,false",
+    })
+    void foundMatchingsDoNotSplitWords(String pattern, int maxDistance, boolean caseInsensitive) {
+        Random random = new Random(pattern.hashCode());
+        String alphabet = "abcest ,.";
+        for (FuzzyPattern engine : engines(pattern, maxDistance, caseInsensitive)) {
+            for (int i = 0; i < 300; i++) {
+                StringBuilder sb = new StringBuilder();
+                for (int j = random.nextInt(30); j > 0; j--) sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+                String text = sb.toString();
+                FuzzyMatcher matcher = engine.matcher(text).useWordBoundaries(true);
+                while (matcher.find()) {
+                    String message = engine + " in \"" + text + "\" found " + matcher;
+                    assertFalse(splitsWord(text, matcher.start()), message);
+                    assertFalse(splitsWord(text, matcher.end()), message);
+                    assertTrue(matcher.distance() <= maxDistance, message);
+                    assertEquals(matcher.distance(), matcher.streamEditTypes().count(), message);
+                }
+                // every whole word equal to the pattern is found
+                FuzzyMatcher exact = engine.matcher(text).useWordBoundaries(true);
+                for (String word : text.split("[ ,.]+")) {
+                    if (word.equalsIgnoreCase(pattern) && (caseInsensitive || word.equals(pattern)))
+                        assertTrue(exact.find(), engine + " in \"" + text + "\"");
+                }
+            }
+        }
+    }
+
+    private static int levenshtein(CharSequence a, CharSequence b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                final int replacement = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(replacement, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            final int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ab,1,aab aab ,0,3",
+            "bb,1,' abb',1,4",
+            "aba,1,baba b  ,0,4",
+    })
+    void findsWholeWordAlignedByDeletionAtStart(String pattern, int maxDistance, String text, int start, int end) {
+        for (FuzzyPattern engine : engines(pattern, maxDistance, false)) {
+            FuzzyMatcher matcher = engine.matcher(text).useWordBoundaries(true);
+            assertTrue(matcher.find(), engine.toString());
+            assertEquals(start, matcher.start(), engine.toString());
+            assertEquals(end, matcher.end(), engine.toString());
+            assertEquals(1, matcher.distance(), engine.toString());
+        }
+    }
+
+    /**
+     * Brute force: checks whether any substring of the text after the position, which doesn't split words at its ends,
+     * matches the pattern within the distance
+     */
+    private static boolean wholeWordMatchingExists(String pattern, int maxDistance, String text, int from) {
+        for (int start = from; start <= text.length(); start++) {
+            if (splitsWord(text, start)) continue;
+            for (int end = start + Math.max(1, pattern.length() - maxDistance);
+                 end <= Math.min(text.length(), start + pattern.length() + maxDistance); end++) {
+                if (!splitsWord(text, end) && levenshtein(pattern, text.substring(start, end)) <= maxDistance)
+                    return true;
+            }
+        }
+        return false;
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "ab,1",
+            "bb,1",
+            "aba,1",
+            "abab,2",
+            "abba,2",
+            "abaab,3",
+            "ba,0",
+    })
+    void findsMatchingWheneverOneExists(String pattern, int maxDistance) {
+        Random random = new Random(pattern.hashCode() * 31L + maxDistance);
+        List<FuzzyPattern> engines = Arrays.asList(
+                new Bitap32(pattern, maxDistance, false),
+                new Bitap64(pattern, maxDistance, false),
+                new Bitap65Plus(pattern, maxDistance, false),
+                new RecomputingBitap(pattern, maxDistance, false, 0),
+                new RecomputingBitap(pattern, maxDistance, false, 1));
+        for (int i = 0; i < 1000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(24); j > 0; j--) sb.append("ab  ".charAt(random.nextInt(4)));
+            String text = sb.toString();
+            for (FuzzyPattern engine : engines) {
+                FuzzyMatcher matcher = engine.matcher(text).useWordBoundaries(true);
+                int position = 0;
+                do {
+                    String message = engine + " in \"" + text + "\" from " + position;
+                    boolean exists = wholeWordMatchingExists(pattern, maxDistance, text, position);
+                    assertEquals(exists, matcher.find(), message);
+                    if (!exists) break;
+                    message += " found " + matcher;
+                    assertTrue(matcher.start() >= position, message);
+                    assertFalse(splitsWord(text, matcher.start()), message);
+                    assertFalse(splitsWord(text, matcher.end()), message);
+                    assertEquals(levenshtein(pattern, matcher.foundText()), matcher.distance(), message);
+                    assertTrue(matcher.distance() <= maxDistance, message);
+                    position = matcher.end();
+                } while (true);
+            }
+        }
+    }
+
+    @Test
+    void multiplePatterns() {
+        FuzzyPattern cornSyrup = FuzzyPattern.compile("Corn Syrup", 2, true);
+        FuzzyPattern salt = FuzzyPattern.compile("salt", 1, true);
+        String text = "cornsyrup salty, corn syrup, salt";
+        for (FuzzyPatterns patterns : Arrays.asList(
+                FuzzyPatterns.combine(cornSyrup, salt),
+                new MultiplePatterns(new FuzzyPattern[]{cornSyrup, salt}))) {
+            FuzzyMatcher matcher = patterns.matcher(text).useWordBoundaries(true);
+            assertTrue(matcher.hasWordBoundaries());
+            matcher.stream().forEach(result -> {
+                assertFalse(splitsWord(text, result.start()), result.toString());
+                assertFalse(splitsWord(text, result.end()), result.toString());
+            });
+            assertEquals(Arrays.asList("salty", "corn syrup", "salt"),
+                    patterns.matcher(text, 10).useWordBoundaries(true).stream()
+                            .map(FuzzyResult::foundText).map(CharSequence::toString).collect(Collectors.toList()));
+        }
+    }
+}
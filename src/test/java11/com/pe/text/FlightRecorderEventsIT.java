@@ -0,0 +1,126 @@
+package com.pe.text;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks events emitted by the Java 11 classes of the multi-release jar, so it runs by the failsafe against the jar.
+ */
+class FlightRecorderEventsIT {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300";
+
+    private static List<RecordedEvent> record(Runnable action) throws IOException {
+        final Path file = Files.createTempFile("fuzzy-search", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.pe.text.FuzzyPatternCompile");
+            recording.enable("com.pe.text.FuzzySearch").withoutThreshold();
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+            return RecordingFile.readAllEvents(file);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static List<RecordedEvent> events(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name))
+                .sorted(Comparator.comparing(RecordedEvent::getEndTime))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void compileEventDescribesChosenEngine() throws IOException {
+        final List<RecordedEvent> events = events(record(() -> {
+            FuzzyPattern.compile("Medical Record", 2, true);
+            FuzzyPattern.compile("Medical Record #100, Medical Record #200, Medical Record #300, Medical Record #400", 8);
+            FuzzyPattern.compile("Medical Record", 2, false, TracebackStrategy.CHECKPOINTS);
+        }), "com.pe.text.FuzzyPatternCompile");
+        assertEquals(3, events.size());
+        assertEquals(14, events.get(0).getInt("patternLength"));
+        assertEquals(2, events.get(0).getInt("maxDistance"));
+        assertTrue(events.get(0).getBoolean("caseInsensitive"));
+        assertEquals("Bitap32", events.get(0).getString("engine"));
+        assertTrue(events.get(0).getString("tableStrategy").startsWith("FCT"));
+        assertEquals("Bitap65Plus", events.get(1).getString("engine"));
+        assertEquals("RecomputingBitap", events.get(2).getString("engine"));
+    }
+
+    @Test
+    void searchEventCountsMatchings() throws IOException {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2, true);
+        final List<RecordedEvent> events = events(record(() -> {
+            final FuzzyMatcher matcher = pattern.matcher(TEXT);
+            while (matcher.find()) ; // committed by the last find
+            matcher.reset(TEXT, 0, 32);
+            assertTrue(matcher.find());
+            matcher.reset("nothing"); // committed by the reset
+            assertTrue(pattern.contains(TEXT));
+        }), "com.pe.text.FuzzySearch");
+        assertEquals(3, events.size());
+        assertEquals(TEXT.length(), events.get(0).getInt("textLength"));
+        assertEquals(3, events.get(0).getInt("matchCount"));
+        assertEquals("Bitap32", events.get(0).getString("engine"));
+        assertEquals(32, events.get(1).getInt("textLength"));
+        assertEquals(1, events.get(1).getInt("matchCount"));
+        assertEquals(1, events.get(2).getInt("matchCount"));
+        assertEquals(14, events.get(2).getInt("patternLength"));
+    }
+
+    @Test
+    void searchTimeExcludesWorkOfCaller() throws IOException {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2, true);
+        final List<RecordedEvent> events = events(record(() -> {
+            final FuzzyMatcher matcher = pattern.matcher(TEXT);
+            try {
+                Thread.sleep(50); // before the first find
+                while (matcher.find()) Thread.sleep(50);
+            } catch (InterruptedException e) {
+                throw new AssertionError(e);
+            }
+        }), "com.pe.text.FuzzySearch");
+        assertEquals(1, events.size());
+        assertEquals(3, events.get(0).getInt("matchCount"));
+        final Duration searchTime = events.get(0).getDuration("searchTime");
+        assertTrue(searchTime.compareTo(Duration.ZERO) > 0, searchTime::toString);
+        assertTrue(searchTime.compareTo(Duration.ofMillis(50)) < 0, searchTime::toString);
+        // sleeps after the finds, but not before the first one
+        assertTrue(events.get(0).getDuration().compareTo(Duration.ofMillis(150)) >= 0);
+        assertTrue(events.get(0).getDuration().compareTo(Duration.ofMillis(200)) < 0);
+    }
+
+    @Test
+    void streamingResetsAreNotRecorded() throws IOException {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2, true);
+        final List<FuzzyResult> results = new ArrayList<>();
+        final List<RecordedEvent> events = events(record(() -> {
+            final StreamingFuzzyMatcher matcher = pattern.streamMatcher(results::add);
+            for (int i = 0; i < TEXT.length(); i += 5) matcher.feed(TEXT.substring(i, Math.min(TEXT.length(), i + 5)));
+            matcher.finish();
+        }), "com.pe.text.FuzzySearch");
+        assertEquals(3, results.size());
+        assertTrue(events.isEmpty(), events::toString);
+    }
+
+    @Test
+    void searchIsNotRecordedWithoutRecording() throws IOException {
+        final FuzzyMatcher matcher = FuzzyPattern.compile("Medical Record", 2).matcher(TEXT);
+        // the search started before the recording is not committed by the next reset within it
+        assertTrue(events(record(() -> matcher.reset(TEXT)), "com.pe.text.FuzzySearch").isEmpty());
+    }
+}
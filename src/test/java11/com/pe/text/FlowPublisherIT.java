@@ -0,0 +1,95 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the {@link Flow.Publisher} of the Java 11 version of the {@link FuzzyResultPublisher},
+ * so it runs by the failsafe against the multi-release jar.
+ */
+class FlowPublisherIT {
+
+    private static final String TEXT = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, MEDICAL RECORD #300";
+
+    /**
+     * Requests matchings one by one and completes the future with all of them
+     */
+    private static class CollectingSubscriber implements Flow.Subscriber<FuzzyResult> {
+        final CompletableFuture<List<String>> results = new CompletableFuture<>();
+        private final List<String> collected = new ArrayList<>();
+        private Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(FuzzyResult item) {
+            collected.add(item.foundText().toString());
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            results.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            results.complete(collected);
+        }
+    }
+
+    /**
+     * Test sources are compiled against the Java 8 classes, so the Java 11 interface is checked at runtime
+     */
+    @SuppressWarnings("unchecked")
+    private static Flow.Publisher<FuzzyResult> flow(FuzzyResultPublisher publisher) {
+        final Object object = publisher;
+        assertTrue(object instanceof Flow.Publisher);
+        return (Flow.Publisher<FuzzyResult>) object;
+    }
+
+    @Test
+    void publisherImplementsFlow() throws InterruptedException, ExecutionException, TimeoutException {
+        final FuzzyPattern pattern = FuzzyPattern.compile("Medical Record", 2);
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Flow.Publisher<FuzzyResult> publisher = flow(pattern.matcher(TEXT).publisher(executor));
+            final CollectingSubscriber subscriber = new CollectingSubscriber();
+            publisher.subscribe(subscriber);
+            assertEquals(pattern.matcher(TEXT).stream().map(r -> r.foundText().toString()).collect(Collectors.toList()),
+                    subscriber.results.get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void invalidRequestIsSignalledToFlowSubscriber() {
+        final CollectingSubscriber subscriber = new CollectingSubscriber() {
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(-1);
+            }
+        };
+        final Flow.Publisher<FuzzyResult> publisher = flow(FuzzyPattern.compile("Medical Record", 2).matcher(TEXT).publisher(Runnable::run));
+        publisher.subscribe(subscriber);
+        final ExecutionException e = assertThrows(ExecutionException.class, () -> subscriber.results.get(0, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof IllegalArgumentException);
+    }
+}
@@ -0,0 +1,67 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the Java 17 {@link BitVector} of the multi-release jar, which uses the Vector API
+ * added to the failsafe JVM, against the scalar operations.
+ */
+class BitVectorLanesIT {
+
+    private static BitVector random(Random random, int length) {
+        final BitVector vector = new BitVector(length);
+        for (int i = 0; i < vector.words.length; i++) vector.words[i] = random.nextLong();
+        return vector;
+    }
+
+    private static long[] leftShift1(long[] words) {
+        final long[] result = new long[words.length];
+        for (int i = 0; i < words.length; i++) result[i] = (words[i] << 1) | (i == 0 ? 0 : words[i - 1] >>> 63);
+        return result;
+    }
+
+    @Test
+    void vectorApiIsUsed() throws ReflectiveOperationException {
+        assertTrue(BitVector.class.getDeclaredField("LANES").getBoolean(null));
+    }
+
+    @Test
+    void operationsMatchScalarOnes() {
+        final Random random = new Random(17);
+        for (int length = 1; length <= 64 * 70; length += 63) {
+            final BitVector a = random(random, length);
+            final BitVector b = random(random, length);
+            final long[] or = a.words.clone();
+            final long[] and = a.words.clone();
+            for (int i = 0; i < or.length; i++) {
+                or[i] |= b.words[i];
+                and[i] &= b.words[i];
+            }
+            final long[] shifted = leftShift1(a.words);
+            assertArrayEquals(shifted, new BitVector(length).setBitsFrom(a).leftShift1().words, "<< 1 of " + length);
+            assertArrayEquals(or, new BitVector(length).setBitsFrom(a).or(b).words, "| of " + length);
+            assertArrayEquals(and, new BitVector(length).setBitsFrom(a).and(b).words, "& of " + length);
+        }
+    }
+
+    @Test
+    void longPatternsAreMatched() {
+        final StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 40; i++) sb.append("Medical Record #").append(100 + i).append(", ");
+        final String pattern = sb.toString();
+        final String text = "prefix " + pattern.replace("Record #120", "Recrd #120").replace("#131", "#13") + " suffix";
+        for (FuzzyPattern fuzzy : new FuzzyPattern[]{
+                FuzzyPattern.compile(pattern, 3),
+                FuzzyPattern.compile(pattern, 3, false, TracebackStrategy.CHECKPOINTS)}) {
+            final FuzzyMatcher matcher = fuzzy.matcher(text);
+            assertTrue(matcher.find(), fuzzy.toString());
+            assertEquals(7, matcher.start());
+            assertEquals(2, matcher.distance());
+            assertTrue(fuzzy.contains(text));
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pe.text;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Checks the Java 21 {@link ScanState} of the multi-release jar.
+ */
+class ScanStateIT {
+
+    @Test
+    void virtualThreadsReuseBuffersOfPool() throws InterruptedException {
+        final AtomicInteger created = new AtomicInteger();
+        final ScanState<int[]> state = new ScanState<>(() -> {
+            created.incrementAndGet();
+            return new int[1];
+        });
+        assertSame(state.get(), state.get());
+        final AtomicReference<Boolean> same = new AtomicReference<>();
+        Thread.ofVirtual().start(() -> {
+            final int[] first = state.get();
+            state.release(first);
+            final int[] second = state.get();
+            state.release(second);
+            same.set(first == second);
+        }).join();
+        assertTrue(same.get());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 10_000; i++) {
+                executor.submit(() -> {
+                    final int[] buffers = state.get();
+                    buffers[0]++;
+                    state.release(buffers);
+                });
+            }
+        }
+        // buffers are created only for the concurrent scans, not for every virtual thread
+        assertTrue(created.get() < 100, "created " + created.get());
+    }
+
+    @Test
+    void containsOnVirtualThreadDoesNotAllocate() throws InterruptedException {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        assumeTrue(bean instanceof com.sun.management.ThreadMXBean, "allocated bytes are not supported");
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        assumeTrue(threads.isThreadAllocatedMemorySupported(), "allocated bytes are not supported");
+        threads.setThreadAllocatedMemoryEnabled(true);
+        final int calls = 10_000;
+        final String text = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, Medical Record #300.";
+        final List<FuzzyPattern> patterns = List.of(
+                FuzzyPattern.compile("Medical Record", 2),
+                FuzzyPattern.compile("Medical Record #100, Medical Record #200", 4),
+                FuzzyPattern.compile("Medical Record #100, Medical Record #200, Medical Record #300, Medical Record #400", 8));
+        for (FuzzyPattern pattern : patterns) {
+            final long[] allocated = new long[1];
+            Thread.ofVirtual().start(() -> {
+                for (int i = 0; i < calls; i++) pattern.contains("nothing to find here");
+                // allocation of the current virtual thread is not measured, the total one is
+                long best = Long.MAX_VALUE;
+                for (int round = 0; round < 3; round++) {
+                    final long before = threads.getTotalThreadAllocatedBytes();
+                    for (int i = 0; i < calls; i++) pattern.contains(text);
+                    best = Math.min(best, threads.getTotalThreadAllocatedBytes() - before);
+                }
+                allocated[0] = best;
+            }).join();
+            // scan buffers of the pattern are at least 4 KB, so allocation per call is far above the bound
+            assertTrue(allocated[0] / calls < 64, pattern + ": " + allocated[0] / calls + " bytes per call");
+        }
+    }
+
+    @Test
+    void containsOnVirtualThreads() throws Exception {
+        final String text = "Patient: Jane Doe. Medical Recrd #100, Medcal Record #200, Medical Record #300, Medical Recod #400.";
+        final List<FuzzyPattern> patterns = List.of(
+                FuzzyPattern.compile("Medical Record", 2),
+                FuzzyPattern.compile("Medical Record #100, Medical Record #200", 4),
+                FuzzyPattern.compile("Medical Record #100, Medical Record #200, Medical Record #300, Medical Record #400", 8),
+                FuzzyPattern.compile("Medical Record", 2, false, TracebackStrategy.RECOMPUTE));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            final List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                final FuzzyPattern pattern = patterns.get(i % patterns.size());
+                results.add(executor.submit(() -> pattern.contains(text) && !pattern.contains("nothing to find here")));
+            }
+            for (Future<Boolean> result : results) assertTrue(result.get());
+        }
+    }
+}